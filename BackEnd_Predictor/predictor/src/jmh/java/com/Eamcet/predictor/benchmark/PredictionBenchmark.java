@@ -0,0 +1,174 @@
+package com.Eamcet.predictor.benchmark;
+
+import com.Eamcet.predictor.controller.CollegePredictorController;
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.data.CutoffHistory;
+import com.Eamcet.predictor.data.DatabaseGate;
+import com.Eamcet.predictor.data.SnapshotData;
+import com.Eamcet.predictor.data.SnapshotFile;
+import com.Eamcet.predictor.dto.RecommendationDto;
+import com.Eamcet.predictor.dto.RecommendationRequestDto;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.repository.CollegeRepository;
+import com.Eamcet.predictor.service.CollegePredictorService;
+import com.Eamcet.predictor.service.CollegePredictorService.CollegeResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JMH benchmarks for the prediction pipeline.
+ * Each benchmark runs against a synthetic dataset of {@link #rows} rows loaded into the
+ * in-memory snapshot, for every filter {@link #shape}. Run with the gc profiler (the default
+ * in the benchmarks Maven profile) to track allocation per operation alongside throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredictionBenchmark {
+
+    /**
+     * Filter shapes exercised by the benchmarks.
+     */
+    public enum Shape {
+        /**
+         * No category or gender: every cutoff column is searched.
+         */
+        NO_CATEGORY(null, null, null, "oc_boys"),
+
+        /**
+         * A single category and gender.
+         */
+        SINGLE_CATEGORY("bca", "girls", null, "bca_girls"),
+
+        /**
+         * A single category across several branches.
+         */
+        MULTI_BRANCH("oc", "boys", List.of("CSE", "ECE", "EEE", "CSM"), "oc_boys");
+
+        final String category;
+        final String gender;
+        final List<String> branches;
+        final String cutoffKey;
+
+        Shape(String category, String gender, List<String> branches, String cutoffKey) {
+            this.category = category;
+            this.gender = gender;
+            this.branches = branches;
+            this.cutoffKey = cutoffKey;
+        }
+    }
+
+    /**
+     * Number of rows in the synthetic dataset.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    /**
+     * Filter shape of the queries.
+     */
+    @Param({"NO_CATEGORY", "SINGLE_CATEGORY", "MULTI_BRANCH"})
+    public Shape shape;
+
+    /**
+     * Rank used by the rank-based queries.
+     */
+    @Param({"25000"})
+    public int rank;
+
+    private List<College> colleges;
+    private CollegePredictorService service;
+    private CollegePredictorController controller;
+    private RecommendationRequestDto recommendationRequest;
+
+    /**
+     * Index of the next college used by the single-row benchmarks.
+     */
+    private int cursor;
+
+    /**
+     * Generates the dataset and loads it into the snapshot once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        colleges = SyntheticColleges.generate(rows, 42L);
+        CollegeRepository repo = mock(CollegeRepository.class);
+        when(repo.loadSnapshotData()).thenReturn(new SnapshotData(null, colleges, CutoffHistory.EMPTY));
+        CollegeDataStore store = new CollegeDataStore(repo, new DatabaseGate(5, Duration.ofSeconds(30), new SimpleMeterRegistry()), new SnapshotFile(""));
+        store.reload();
+        service = new CollegePredictorService(store, new SimpleMeterRegistry());
+        controller = new CollegePredictorController(service, store, new ObjectMapper());
+
+        recommendationRequest = new RecommendationRequestDto();
+        recommendationRequest.setRank(rank);
+        recommendationRequest.setCategory(shape.category);
+        recommendationRequest.setGender(shape.gender);
+        recommendationRequest.setBranch(shape.branches != null ? shape.branches.get(0) : null);
+    }
+
+    /**
+     * Rank-based prediction: nearest cutoffs to the rank.
+     */
+    @Benchmark
+    public List<CollegeResult> findCollegesByRank() {
+        return service.findColleges(rank, shape.branches, shape.category, null, null, null, null, shape.gender);
+    }
+
+    /**
+     * Prediction without a rank: highest cutoffs first.
+     */
+    @Benchmark
+    public List<CollegeResult> findCollegesWithoutRank() {
+        return service.findColleges(null, shape.branches, shape.category, null, null, null, null, shape.gender);
+    }
+
+    /**
+     * Resolution of the category and gender parameters to cutoff columns.
+     */
+    @Benchmark
+    public Set<String> getEffectiveCategories() {
+        return service.getEffectiveCategories(shape.category, shape.gender);
+    }
+
+    /**
+     * Cutoff lookup of one row, cycling through the dataset.
+     */
+    @Benchmark
+    public Integer getCutoffForCategory() {
+        College college = colleges.get(cursor);
+        cursor = cursor + 1 == colleges.size() ? 0 : cursor + 1;
+        return service.getCutoffForCategory(college, shape.cutoffKey);
+    }
+
+    /**
+     * Full recommendation endpoint: prediction followed by scoring and top-20 selection.
+     */
+    @Benchmark
+    public ResponseEntity<List<RecommendationDto>> getRecommendations() {
+        return controller.getRecommendations(recommendationRequest);
+    }
+}
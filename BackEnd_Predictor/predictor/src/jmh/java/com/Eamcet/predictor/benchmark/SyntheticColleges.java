@@ -0,0 +1,109 @@
+package com.Eamcet.predictor.benchmark;
+
+import com.Eamcet.predictor.model.College;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+/**
+ * Generator of synthetic college datasets for the benchmarks.
+ * Rows are spread over realistic branch, district, region, tier and placement quality
+ * values, and every cutoff column is populated with a small share of missing values,
+ * so that filters and rank searches have a distribution similar to raw_table.
+ *
+ * Generation is deterministic for a given seed so runs are comparable across releases.
+ */
+public final class SyntheticColleges {
+
+    /**
+     * Branch codes assigned to the rows, one college offers each of them in turn.
+     */
+    static final String[] BRANCHES = {
+        "CSE", "ECE", "EEE", "MEC", "CIV", "CSM", "CSD", "INF", "AID", "CHE",
+        "CSC", "CSO", "ECM", "EIE", "AUT", "MIN", "BIO", "AGR", "PHM", "CAI"
+    };
+
+    /**
+     * District names assigned to the colleges.
+     */
+    private static final String[] DISTRICTS = {
+        "Guntur", "Krishna", "Visakhapatnam", "Chittoor", "Nellore", "Kurnool", "Anantapur",
+        "East Godavari", "West Godavari", "Prakasam", "Srikakulam", "Vizianagaram", "Kadapa"
+    };
+
+    /**
+     * Region codes assigned to the colleges.
+     */
+    private static final String[] REGIONS = {"AU", "SVU", "SW"};
+
+    /**
+     * Tier classifications assigned to the colleges.
+     */
+    private static final String[] TIERS = {"Tier 1", "Tier 2", "Tier 3"};
+
+    /**
+     * Placement drive qualities assigned to the colleges.
+     */
+    private static final String[] QUALITIES = {"Excellent", "Very Good", "Good", "Bad"};
+
+    /**
+     * Setters of the cutoff columns, in column order.
+     */
+    private static final List<BiConsumer<College, Integer>> CUTOFF_SETTERS = List.of(
+        College::setOcBoys, College::setOcGirls, College::setScBoys, College::setScGirls,
+        College::setStBoys, College::setStGirls, College::setBcaBoys, College::setBcaGirls,
+        College::setBcbBoys, College::setBcbGirls, College::setBccBoys, College::setBccGirls,
+        College::setBcdBoys, College::setBcdGirls, College::setBceBoys, College::setBceGirls,
+        College::setOcEwsBoys, College::setOcEwsGirls
+    );
+
+    private SyntheticColleges() {}
+
+    /**
+     * Generates a dataset of the given size.
+     *
+     * @param rows The number of rows to generate
+     * @param seed The random seed
+     * @return The generated colleges
+     */
+    public static List<College> generate(int rows, long seed) {
+        Random random = new Random(seed);
+        List<College> colleges = new ArrayList<>(rows);
+        College institution = null;
+        for (int row = 0; row < rows; row++) {
+            int branch = row % BRANCHES.length;
+            College college = new College();
+            college.setSno(row + 1);
+            college.setInstcode("INST" + (row / BRANCHES.length));
+            college.setInstitution_name("Institution " + (row / BRANCHES.length));
+            college.setBranchCode(BRANCHES[branch]);
+
+            // Location and placement attributes are shared by all branches of a college
+            if (branch == 0) {
+                institution = new College();
+                institution.setDistrict(DISTRICTS[random.nextInt(DISTRICTS.length)]);
+                institution.setRegion(REGIONS[random.nextInt(REGIONS.length)]);
+                institution.setTier(TIERS[random.nextInt(TIERS.length)]);
+                institution.setPlacementDriveQuality(QUALITIES[random.nextInt(QUALITIES.length)]);
+                institution.setAveragePackage(random.nextInt(10) == 0 ? null : 2.5 + random.nextDouble() * 10);
+            }
+            college.setDistrict(institution.getDistrict());
+            college.setRegion(institution.getRegion());
+            college.setTier(institution.getTier());
+            college.setPlacementDriveQuality(institution.getPlacementDriveQuality());
+            college.setAveragePackage(institution.getAveragePackage());
+
+            // Reserved categories close later, roughly 5% of cutoffs are missing
+            for (int column = 0; column < CUTOFF_SETTERS.size(); column++) {
+                Integer cutoff = random.nextInt(20) == 0
+                    ? null
+                    : 1 + random.nextInt(column < 2 ? 150_000 : 200_000);
+                CUTOFF_SETTERS.get(column).accept(college, cutoff);
+            }
+            colleges.add(college);
+        }
+        return colleges;
+    }
+}
@@ -1,9 +1,12 @@
 package com.Eamcet.predictor;
 
+import com.Eamcet.predictor.service.CutoffImportRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -17,6 +20,7 @@ import org.springframework.beans.factory.annotation.Value;
  * This application is designed for cloud deployment only and does not support local development environments.
  */
 @SpringBootApplication
+@EnableScheduling
 public class PredictorApplication {
     
     private static final Logger log = LoggerFactory.getLogger(PredictorApplication.class);
@@ -31,12 +35,17 @@ public class PredictorApplication {
     
     /**
      * Main entry point for the Spring Boot application.
-     * Initializes and starts the Spring application context.
+     * Initializes and starts the Spring application context; a cutoff import from the
+     * command line (see CutoffImportRunner) runs without the web server.
      * 
      * @param args Command line arguments passed to the application
      */
     public static void main(String[] args) {
-        SpringApplication.run(PredictorApplication.class, args);
+        SpringApplication application = new SpringApplication(PredictorApplication.class);
+        if (CutoffImportRunner.isRequested(args)) {
+            application.setWebApplicationType(WebApplicationType.NONE);
+        }
+        application.run(args);
     }
     
     /**
@@ -0,0 +1,179 @@
+package com.Eamcet.predictor.controller;
+
+import com.Eamcet.predictor.data.CollegeDataRefresher;
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.data.CutoffCsvImporter;
+import com.Eamcet.predictor.data.RawTableImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Operator endpoints of the College Predictor application.
+ * Requests must carry the configured admin token in the X-Admin-Token header; while no token
+ * is configured (predictor.admin.token, set from ADMIN_TOKEN), every request is rejected.
+ *
+ * These endpoints are not meant for the browser front-end, so no CORS access is granted.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+    private final CollegeDataRefresher refresher;
+    private final RawTableImporter importer;
+    private final CutoffCsvImporter csvImporter;
+
+    /**
+     * The admin token, or an empty string if admin endpoints are disabled.
+     */
+    private final String adminToken;
+
+    /**
+     * Constructor for dependency injection of the refresher, the importers and the admin token.
+     *
+     * @param refresher The college data refresher
+     * @param importer The raw_table importer
+     * @param csvImporter The CSV cutoff file importer
+     * @param adminToken The admin token (empty to disable admin endpoints)
+     */
+    public AdminController(CollegeDataRefresher refresher, RawTableImporter importer, CutoffCsvImporter csvImporter,
+                           @Value("${predictor.admin.token:}") String adminToken) {
+        this.refresher = refresher;
+        this.importer = importer;
+        this.csvImporter = csvImporter;
+        this.adminToken = adminToken;
+    }
+
+    /**
+     * Reloads the college data from the database immediately.
+     *
+     * @param token The admin token sent by the caller
+     * @return ResponseEntity with the version, size and load time of the published snapshot,
+     *         or 403 if the token is missing or wrong
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reload(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        if (!authorized(token)) {
+            log.warn("Rejected admin reload request");
+            return forbidden();
+        }
+
+        return ResponseEntity.ok(describe(refresher.forceReload()));
+    }
+
+    /**
+     * Imports raw_table into the normalized college schema and reloads the college data.
+     *
+     * @param token The admin token sent by the caller
+     * @param year Admission year of the cutoffs in raw_table (defaults to predictor.data.raw-table-year)
+     * @return ResponseEntity with the import counts and the published snapshot, or 403 if the
+     *         token is missing or wrong
+     */
+    @PostMapping("/import/raw-table")
+    public ResponseEntity<Map<String, Object>> importRawTable(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @RequestParam(required = false) Integer year) {
+        if (!authorized(token)) {
+            log.warn("Rejected admin import request");
+            return forbidden();
+        }
+
+        RawTableImporter.Result result = year != null ? importer.importRawTable(year) : importer.importRawTable();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("year", result.year());
+        body.put("offerings", result.offerings());
+        body.put("removedOfferings", result.removedOfferings());
+        body.put("cutoffs", result.cutoffs());
+        body.put("snapshot", describe(refresher.forceReload()));
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Imports a CSV cutoff file, streamed as the request body, and reloads the college data.
+     * The file is validated as a whole: if any row is invalid, nothing is imported and the
+     * response lists the problems found. Offerings not in the file are kept unless replace is set.
+     *
+     * @param token The admin token sent by the caller
+     * @param year Admission year of the cutoffs in the file
+     * @param replace Whether the file replaces all data, removing the offerings not in it
+     * @param body The file content (text/csv, UTF-8)
+     * @return ResponseEntity with the import counts and the published snapshot, or 403 if the
+     *         token is missing or wrong
+     * @throws IOException If reading the request body fails
+     */
+    @PostMapping("/import/cutoffs")
+    public ResponseEntity<Map<String, Object>> importCutoffs(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @RequestParam int year, @RequestParam(defaultValue = "false") boolean replace,
+            InputStream body) throws IOException {
+        if (!authorized(token)) {
+            log.warn("Rejected admin cutoff import request");
+            return forbidden();
+        }
+
+        CutoffCsvImporter.Report report = csvImporter.importCsv(body, year, replace);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("year", report.year());
+        response.put("rows", report.rows());
+        response.put("batches", report.batches());
+        response.put("offerings", report.normalized().offerings());
+        response.put("removedOfferings", report.normalized().removedOfferings());
+        response.put("cutoffs", report.normalized().cutoffs());
+        response.put("millis", report.millis());
+        response.put("snapshot", describe(refresher.forceReload()));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Describes a published snapshot.
+     *
+     * @param snapshot The snapshot
+     * @return The version, size, content hash and load time of the snapshot
+     */
+    private Map<String, Object> describe(CollegeSnapshot snapshot) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", snapshot.getVersion());
+        body.put("rows", snapshot.size());
+        body.put("contentHash", snapshot.getContentHash());
+        body.put("loadedAt", snapshot.getLoadedAt().toString());
+        return body;
+    }
+
+    /**
+     * Builds the response to a request without a valid token.
+     *
+     * @return ResponseEntity with status 403
+     */
+    private ResponseEntity<Map<String, Object>> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("error", "Forbidden", "details", "A valid X-Admin-Token header is required"));
+    }
+
+    /**
+     * Checks a token against the configured admin token in constant time.
+     *
+     * @param token The token sent by the caller (may be null)
+     * @return true if admin endpoints are enabled and the token matches
+     */
+    private boolean authorized(String token) {
+        return !adminToken.isBlank() && token != null
+                && MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8),
+                        token.getBytes(StandardCharsets.UTF_8));
+    }
+}
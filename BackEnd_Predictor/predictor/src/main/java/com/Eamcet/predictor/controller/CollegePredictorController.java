@@ -1,20 +1,32 @@
 package com.Eamcet.predictor.controller;
 
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.data.SimilarityGraph;
 import com.Eamcet.predictor.dto.*;
 import com.Eamcet.predictor.exception.InvalidRequestException;
 import com.Eamcet.predictor.model.College;
-import com.Eamcet.predictor.repository.CollegeRepository;
 import com.Eamcet.predictor.service.CollegePredictorService;
 import com.Eamcet.predictor.service.CollegePredictorService.CollegeResult;
+import com.Eamcet.predictor.util.TopK;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * REST controller for the College Predictor application.
@@ -32,18 +44,33 @@ import java.util.stream.Stream;
 public class CollegePredictorController {
 
     private static final Logger log = LoggerFactory.getLogger(CollegePredictorController.class);
+
+    /**
+     * Maximum number of profiles accepted by the batch prediction endpoint.
+     */
+    private static final int MAX_BATCH_PROFILES = 500;
     private final CollegePredictorService service;
-    private final CollegeRepository repo;
+    private final CollegeDataStore store;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Serialized and gzip-compressed bodies of the responses that only change with the data.
+     */
+    private final EncodedResponseCache responseCache;
 
     /**
      * Constructor for dependency injection of required services.
      * 
      * @param service The college predictor service for business logic
-     * @param repo The college repository for database operations
+     * @param store The in-memory college data store
+     * @param objectMapper The JSON mapper used for streamed (NDJSON) responses
      */
-    public CollegePredictorController(CollegePredictorService service, CollegeRepository repo) {
+    public CollegePredictorController(CollegePredictorService service, CollegeDataStore store,
+                                      ObjectMapper objectMapper) {
         this.service = service;
-        this.repo = repo;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.responseCache = new EncodedResponseCache(objectMapper);
     }
 
     /**
@@ -55,6 +82,107 @@ public class CollegePredictorController {
      */
     @PostMapping("/predict-colleges")
     public ResponseEntity<?> predict(@RequestBody Map<String, Object> payload) {
+        PredictionQuery query = parsePredictionQuery(payload);
+        logQuery(query);
+
+        // If no rank and no filters, return all colleges
+        if (query.returnsAllColleges()) {
+            log.info("No filters provided, returning all colleges");
+            try {
+                List<CollegeDataDto> allColleges = store.snapshot().getColleges()
+                        .stream()
+                        .map(CollegeDataDto::new)
+                        .collect(Collectors.toList());
+                log.info("Successfully retrieved {} colleges", allColleges.size());
+                return ResponseEntity.ok(allColleges);
+            } catch (Exception e) {
+                log.error("Error fetching all colleges from snapshot", e);
+                throw new RuntimeException("Failed to fetch colleges: " + e.getMessage(), e);
+            }
+        }
+
+        List<CollegeResult> results = service.findColleges(query);
+        log.info("Returning {} college results", results.size());
+        return ResponseEntity.ok(results);
+    }
+    
+    /**
+     * Streaming variant of {@link #predict}, selected when the client sends
+     * {@code Accept: application/x-ndjson}. Results are written as newline-delimited JSON,
+     * one object per line, while the response is produced; the unfiltered "all colleges"
+     * response is streamed row by row straight from the snapshot, so memory use and
+     * time to first byte do not grow with the table.
+     * 
+     * @param payload Request payload, as for {@link #predict}
+     * @return ResponseEntity with a streaming NDJSON body
+     */
+    @PostMapping(value = "/predict-colleges", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> predictStream(@RequestBody Map<String, Object> payload) {
+        PredictionQuery query = parsePredictionQuery(payload);
+        logQuery(query);
+
+        if (query.returnsAllColleges()) {
+            log.info("No filters provided, streaming all colleges");
+            return streamNdjson(store.snapshot().getColleges(), CollegeDataDto.class, CollegeDataDto::new);
+        }
+
+        List<CollegeResult> results = service.findColleges(query);
+        log.info("Streaming {} college results", results.size());
+        return streamNdjson(results, CollegeResult.class, Function.identity());
+    }
+    
+    /**
+     * Predicts colleges for many student profiles in one call.
+     * Each profile has an "id" plus the same fields as a {@link #predict} payload. Profiles
+     * are always run through the prediction search (a profile without rank or filters gets
+     * the top results by cutoff rather than every college). Profiles sharing the same filters
+     * share their filter resolution, and profiles are processed in parallel.
+     * 
+     * @param profiles The student profiles (1 to {@value #MAX_BATCH_PROFILES})
+     * @return ResponseEntity containing the results of every profile, keyed by profile id in request order
+     */
+    @PostMapping("/predict-colleges/batch")
+    public ResponseEntity<Map<String, List<CollegeResult>>> predictBatch(
+            @RequestBody List<Map<String, Object>> profiles) {
+        if (profiles == null || profiles.isEmpty()) {
+            throw new InvalidRequestException("At least one profile is required");
+        }
+        if (profiles.size() > MAX_BATCH_PROFILES) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_PROFILES + " profiles are allowed per batch");
+        }
+        log.info("Received batch prediction request with {} profiles", profiles.size());
+        
+        // Parse every profile before doing any work so invalid batches fail fast
+        List<String> ids = new ArrayList<>(profiles.size());
+        Set<String> seen = new HashSet<>();
+        List<PredictionQuery> queries = new ArrayList<>(profiles.size());
+        for (Map<String, Object> profile : profiles) {
+            Object id = profile != null ? profile.get("id") : null;
+            if (id == null || id.toString().isBlank()) {
+                throw new InvalidRequestException("Every profile needs an id");
+            }
+            if (!seen.add(id.toString())) {
+                throw new InvalidRequestException("Duplicate profile id: " + id);
+            }
+            ids.add(id.toString());
+            queries.add(parsePredictionQuery(profile));
+        }
+        
+        List<List<CollegeResult>> results = service.findCollegesBatch(queries);
+        Map<String, List<CollegeResult>> resultsById = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            resultsById.put(ids.get(i), results.get(i));
+        }
+        return ResponseEntity.ok(resultsById);
+    }
+    
+    /**
+     * Extracts and validates the parameters of a prediction request.
+     * 
+     * @param payload Request payload containing rank, branches, category, districts, regions, tiers, placement qualities, and gender
+     * @return The parsed query
+     */
+    private PredictionQuery parsePredictionQuery(Map<String, Object> payload) {
         log.debug("Received predict request with payload: {}", payload);
         
         // Function to extract and split comma-separated values from payload
@@ -91,133 +219,91 @@ public class CollegePredictorController {
         }
 
         // Extract filter parameters from payload
-        List<String> branches = extractAndSplit.apply("branch");
-        List<String> districts = extractAndSplit.apply("district");
-        List<String> regions = extractAndSplit.apply("region");
-        List<String> tiers = extractAndSplit.apply("tier");
-        List<String> placementQualities = extractAndSplit.apply("placementQualityFilter");
-        
-        String category = extractSingle.apply("category");
-        String gender = extractSingle.apply("gender");
-
-        // Check if any filters are provided
-        boolean hasFilters = branches != null || category != null || districts != null || 
-                            regions != null || tiers != null || placementQualities != null || gender != null;
-
-        log.info("Request parameters: rank={}, branches={}, category={}, districts={}, regions={}, tiers={}, gender={}, placementQualities={}, hasFilters={}",
-                rank, branches, category, districts, regions, tiers, gender, placementQualities, hasFilters);
-
-        // If no rank and no filters, return all colleges
-        if (rank == null && !hasFilters) {
-            log.info("No filters provided, returning all colleges");
-            try {
-                List<CollegeDataDto> allColleges = repo.findAll()
-                        .stream()
-                        .map(CollegeDataDto::new)
-                        .collect(Collectors.toList());
-                log.info("Successfully retrieved {} colleges", allColleges.size());
-                return ResponseEntity.ok(allColleges);
-            } catch (Exception e) {
-                log.error("Error fetching all colleges from database", e);
-                throw new RuntimeException("Failed to fetch colleges from database: " + e.getMessage(), e);
-            }
-        }
-
-        // Find colleges based on provided parameters
-        List<CollegeResult> results = service.findColleges(
+        return new PredictionQuery(
                 rank,
-                branches,
-                category,
-                districts,
-                regions,
-                tiers,
-                placementQualities,
-                gender
+                extractAndSplit.apply("branch"),
+                extractSingle.apply("category"),
+                extractAndSplit.apply("district"),
+                extractAndSplit.apply("region"),
+                extractAndSplit.apply("tier"),
+                extractAndSplit.apply("placementQualityFilter"),
+                extractSingle.apply("gender")
         );
-
-        log.info("Returning {} college results", results.size());
-        return ResponseEntity.ok(results);
+    }
+    
+    /**
+     * Logs the parameters of a prediction request.
+     * 
+     * @param query The parsed query
+     */
+    private void logQuery(PredictionQuery query) {
+        log.info("Request parameters: rank={}, branches={}, category={}, districts={}, regions={}, tiers={}, gender={}, placementQualities={}, hasFilters={}",
+                query.rank(), query.branches(), query.category(), query.districts(), query.regions(), query.tiers(),
+                query.gender(), query.placementQualities(), query.hasFilters());
+    }
+    
+    /**
+     * Builds a streamed NDJSON response: every element is mapped and serialized on its own
+     * line while the response is written, so neither the DTO list nor the serialized body
+     * is held in memory.
+     * 
+     * @param source The elements to write
+     * @param type The serialized DTO type
+     * @param mapper Function mapping an element to its DTO
+     * @return ResponseEntity with a streaming body
+     */
+    private <T, D> ResponseEntity<StreamingResponseBody> streamNdjson(
+            List<T> source, Class<D> type, Function<T, D> mapper) {
+        // Flush only when the buffers fill rather than after every line
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                for (T element : source) {
+                    writer.writeValue(generator, mapper.apply(element));
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
     
     /**
      * Retrieves analytics summary data including college counts by region, tier, and branch,
      * as well as average package information.
      * 
-     * @return ResponseEntity containing analytics summary data
+     * @param webRequest The current request, used for conditional GET
+     * @return ResponseEntity containing analytics summary data (JSON), or 304 if unchanged
      */
     @GetMapping("/analytics/summary")
-    public ResponseEntity<AnalyticsSummaryDto> getAnalyticsSummary() {
+    public ResponseEntity<byte[]> getAnalyticsSummary(WebRequest webRequest) {
         log.info("Fetching analytics summary");
-        List<College> allColleges = repo.findAll();
-        
-        // Group colleges by region and count them
-        Map<String, Long> collegesByRegion = allColleges.stream()
-            .filter(c -> c.getRegion() != null)
-            .collect(Collectors.groupingBy(College::getRegion, Collectors.counting()));
-        
-        // Group colleges by tier and count them
-        Map<String, Long> collegesByTier = allColleges.stream()
-            .filter(c -> c.getTier() != null)
-            .collect(Collectors.groupingBy(College::getTier, Collectors.counting()));
-        
-        // Group colleges by branch and count them
-        Map<String, Long> collegesByBranch = allColleges.stream()
-            .filter(c -> c.getBranchCode() != null)
-            .collect(Collectors.groupingBy(College::getBranchCode, Collectors.counting()));
-        
-        // Calculate overall average package across all colleges
-        Double avgPackageOverall = allColleges.stream()
-            .filter(c -> c.getAveragePackage() != null)
-            .mapToDouble(College::getAveragePackage)
-            .average()
-            .orElse(0.0);
-        
-        // Calculate average package by branch
-        Map<String, Double> avgPackageByBranch = allColleges.stream()
-            .filter(c -> c.getBranchCode() != null && c.getAveragePackage() != null)
-            .collect(Collectors.groupingBy(
-                College::getBranchCode,
-                Collectors.averagingDouble(College::getAveragePackage)
-            ));
-        
-        // Count unique colleges by instcode
-        long uniqueCollegesCount = allColleges.stream()
-            .map(College::getInstcode)
-            .distinct()
-            .count();
-        
-        // Create and return analytics summary DTO
-        AnalyticsSummaryDto summary = new AnalyticsSummaryDto(
-            (int) uniqueCollegesCount,
-            collegesByRegion,
-            collegesByTier,
-            collegesByBranch,
-            avgPackageOverall,
-            avgPackageByBranch
-        );
+        CollegeSnapshot snapshot = store.snapshot();
+        if (notModifiedEncoded(webRequest, snapshot)) {
+            return null;
+        }
         
-        log.info("Analytics summary generated for {} colleges", allColleges.size());
-        return ResponseEntity.ok(summary);
+        // Served from the aggregates materialized when the snapshot was loaded
+        return responseCache.json(snapshot, "analytics/summary", webRequest,
+                () -> snapshot.getAnalytics().getSummary());
     }
     
     /**
      * Retrieves all unique branches available in the college database.
      * 
-     * @return ResponseEntity containing list of all unique branches
+     * @param webRequest The current request, used for conditional GET
+     * @return ResponseEntity containing list of all unique branches (JSON), or 304 if unchanged
      */
     @GetMapping("/analytics/branches")
-    public ResponseEntity<List<String>> getAllBranches() {
+    public ResponseEntity<byte[]> getAllBranches(WebRequest webRequest) {
         log.info("Fetching all unique branches");
+        CollegeSnapshot snapshot = store.snapshot();
+        if (notModifiedEncoded(webRequest, snapshot)) {
+            return null;
+        }
         
-        List<String> branches = repo.findAll().stream()
-            .map(College::getBranchCode)
-            .filter(Objects::nonNull)
-            .distinct()
-            .sorted()
-            .collect(Collectors.toList());
-        
-        log.info("Found {} unique branches", branches.size());
-        return ResponseEntity.ok(branches);
+        return responseCache.json(snapshot, "analytics/branches", webRequest,
+                () -> snapshot.getAnalytics().getBranches());
     }
     
     /**
@@ -225,36 +311,24 @@ public class CollegePredictorController {
      * average, maximum, and minimum packages.
      * 
      * @param branch The branch code to get statistics for
-     * @return ResponseEntity containing branch statistics
+     * @param webRequest The current request, used for conditional GET
+     * @return ResponseEntity containing branch statistics (JSON), or 304 if unchanged
      */
     @GetMapping("/analytics/branch-stats/{branch}")
-    public ResponseEntity<BranchStatsDto> getBranchStats(@PathVariable String branch) {
+    public ResponseEntity<byte[]> getBranchStats(@PathVariable String branch, WebRequest webRequest) {
         log.info("Fetching branch stats for: {}", branch);
+        CollegeSnapshot snapshot = store.snapshot();
+        if (notModifiedEncoded(webRequest, snapshot)) {
+            return null;
+        }
         
-        List<College> branchColleges = repo.findAll().stream()
-            .filter(c -> branch.equals(c.getBranchCode()))
-            .collect(Collectors.toList());
-        
-        // Calculate package statistics for the branch
-        DoubleSummaryStatistics packageStats = branchColleges.stream()
-            .filter(c -> c.getAveragePackage() != null)
-            .mapToDouble(College::getAveragePackage)
-            .summaryStatistics();
-        
-        // Create and return branch stats DTO
-        BranchStatsDto stats = new BranchStatsDto(
-            branch,
-            branchColleges.size(),
-            packageStats.getCount() > 0 ? packageStats.getAverage() : 0.0,
-            packageStats.getCount() > 0 ? packageStats.getMax() : 0.0,
-            packageStats.getCount() > 0 ? packageStats.getMin() : 0.0
-        );
-        
-        return ResponseEntity.ok(stats);
+        return responseCache.json(snapshot, "analytics/branch-stats/" + branch, webRequest,
+                () -> snapshot.getAnalytics().getBranchStats(branch));
     }
     
     /**
-     * Searches for colleges by name (case-insensitive partial match).
+     * Searches for colleges by name, place or district (case-insensitive partial match).
+     * Returns one entry per institution, best matches first.
      * 
      * @param query The search query string
      * @return ResponseEntity containing list of colleges matching the search query
@@ -263,35 +337,32 @@ public class CollegePredictorController {
     public ResponseEntity<List<CollegeDataDto>> searchByName(@RequestParam String query) {
         log.info("Searching colleges by name: {}", query);
         
-        List<College> colleges = repo.findAll().stream()
-            .filter(c -> c.getInstitution_name() != null && 
-                        c.getInstitution_name().toLowerCase().contains(query.toLowerCase()))
-            .collect(Collectors.toList());
+        CollegeSnapshot snapshot = store.snapshot();
+        int[] rows = snapshot.getNameSearch().search(query);
         
-        return ResponseEntity.ok(colleges.stream()
-            .map(CollegeDataDto::new)
-            .collect(Collectors.toList()));
+        List<CollegeDataDto> colleges = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            colleges.add(new CollegeDataDto(snapshot.college(row)));
+        }
+        return ResponseEntity.ok(colleges);
     }
     
     /**
      * Retrieves all available branches for a specific college identified by instcode.
      * 
      * @param instcode The institution code of the college
-     * @return ResponseEntity containing list of branches offered by the college
+     * @param webRequest The current request, used for conditional GET
+     * @return ResponseEntity containing list of branches offered by the college, or 304 if unchanged
      */
     @GetMapping("/colleges/{instcode}/branches")
-    public ResponseEntity<List<String>> getAvailableBranches(@PathVariable String instcode) {
+    public ResponseEntity<List<String>> getAvailableBranches(@PathVariable String instcode, WebRequest webRequest) {
         log.info("Fetching available branches for college: {}", instcode);
+        CollegeSnapshot snapshot = store.snapshot();
+        if (notModified(webRequest, snapshot)) {
+            return null;
+        }
         
-        List<String> branches = repo.findAll().stream()
-            .filter(c -> instcode.equals(c.getInstcode()))
-            .map(College::getBranchCode)
-            .filter(Objects::nonNull)
-            .distinct()
-            .sorted()
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(branches);
+        return ResponseEntity.ok(snapshot.branchesOf(instcode));
     }
     
     /**
@@ -306,17 +377,19 @@ public class CollegePredictorController {
             @RequestBody ReverseCalculatorRequestDto request) {
         log.info("Reverse calculator request: {}", request.getInstcode());
         
-        // Find the college by instcode and branch
-        College college = repo.findAll().stream()
-            .filter(c -> request.getInstcode().equals(c.getInstcode()))
-            .filter(c -> request.getBranch().equals(c.getBranchCode()))
-            .findFirst()
-            .orElseThrow(() -> new InvalidRequestException("College not found"));
+        // Find the college row by instcode and branch
+        CollegeSnapshot snapshot = store.snapshot();
+        int row = snapshot.findRow(request.getInstcode(), request.getBranch());
+        if (row < 0) {
+            throw new InvalidRequestException("College not found");
+        }
+        College college = snapshot.college(row);
         
         // Get cutoff for the specified category
-        Integer cutoff = service.getCutoffForCategory(college, request.getCategory());
+        int column = CollegeSnapshot.cutoffColumn(request.getCategory());
+        int cutoff = column >= 0 ? snapshot.cutoff(column, row) : CollegeSnapshot.NO_CUTOFF;
         
-        if (cutoff == null) {
+        if (cutoff == CollegeSnapshot.NO_CUTOFF) {
             throw new InvalidRequestException("No cutoff data for this category");
         }
         
@@ -348,20 +421,37 @@ public class CollegePredictorController {
      * Retrieves colleges that offer a specific branch.
      * 
      * @param branch The branch code to search for
-     * @return ResponseEntity containing list of colleges offering the specified branch
+     * @param webRequest The current request, used for conditional GET
+     * @return ResponseEntity containing list of colleges offering the specified branch (JSON), or 304 if unchanged
      */
     @GetMapping("/branches/availability")
-    public ResponseEntity<List<BranchAvailabilityDto>> getBranchAvailability(
-            @RequestParam String branch) {
+    public ResponseEntity<byte[]> getBranchAvailability(
+            @RequestParam String branch, WebRequest webRequest) {
         log.info("Fetching colleges offering branch: {}", branch);
+        CollegeSnapshot snapshot = store.snapshot();
+        if (notModifiedEncoded(webRequest, snapshot)) {
+            return null;
+        }
         
+        return responseCache.json(snapshot, "branches/availability?branch=" + branch, webRequest,
+                () -> branchAvailability(snapshot, branch));
+    }
+    
+    /**
+     * Lists the colleges offering a branch, one entry per institution.
+     * 
+     * @param snapshot The snapshot to read from
+     * @param branch The branch code
+     * @return The availability DTOs
+     */
+    private List<BranchAvailabilityDto> branchAvailability(CollegeSnapshot snapshot, String branch) {
         // Group colleges by instcode
-        Map<String, List<College>> collegesByInstcode = repo.findAll().stream()
+        Map<String, List<College>> collegesByInstcode = snapshot.getColleges().stream()
             .filter(c -> branch.equals(c.getBranchCode()))
             .collect(Collectors.groupingBy(College::getInstcode));
         
         // Create availability DTOs for each college
-        List<BranchAvailabilityDto> result = collegesByInstcode.entrySet().stream()
+        return collegesByInstcode.entrySet().stream()
             .map(entry -> {
                 College college = entry.getValue().get(0);
                 return new BranchAvailabilityDto(
@@ -373,8 +463,6 @@ public class CollegePredictorController {
                 );
             })
             .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(result);
     }
     
     /**
@@ -382,57 +470,54 @@ public class CollegePredictorController {
      * 
      * @param instcode The institution code of the college
      * @param branch The branch code
-     * @return ResponseEntity containing cutoff distribution data
+     * @param webRequest The current request, used for conditional GET
+     * @return ResponseEntity containing cutoff distribution data, or 304 if unchanged
      */
     @GetMapping("/cutoff-distribution/{instcode}/{branch}")
     public ResponseEntity<CutoffDistributionDto> getCutoffDistribution(
             @PathVariable String instcode,
-            @PathVariable String branch) {
+            @PathVariable String branch,
+            WebRequest webRequest) {
         log.info("Fetching cutoff distribution for {} - {}", instcode, branch);
+        CollegeSnapshot snapshot = store.snapshot();
+        if (notModified(webRequest, snapshot)) {
+            return null;
+        }
         
-        // Find the college by instcode and branch
-        College college = repo.findAll().stream()
-            .filter(c -> instcode.equals(c.getInstcode()))
-            .filter(c -> branch.equals(c.getBranchCode()))
-            .findFirst()
-            .orElseThrow(() -> new InvalidRequestException("College not found"));
+        // Find the college row by instcode and branch
+        int row = snapshot.findRow(instcode, branch);
+        if (row < 0) {
+            throw new InvalidRequestException("College not found");
+        }
+        College college = snapshot.college(row);
         
-        // Create map of cutoffs by category
+        // Create map of cutoffs by category and calculate statistics over the valid ones
         Map<String, Integer> cutoffMap = new HashMap<>();
-        cutoffMap.put("oc_boys", college.getOcBoys());
-        cutoffMap.put("oc_girls", college.getOcGirls());
-        cutoffMap.put("sc_boys", college.getScBoys());
-        cutoffMap.put("sc_girls", college.getScGirls());
-        cutoffMap.put("st_boys", college.getStBoys());
-        cutoffMap.put("st_girls", college.getStGirls());
-        cutoffMap.put("bca_boys", college.getBcaBoys());
-        cutoffMap.put("bca_girls", college.getBcaGirls());
-        cutoffMap.put("bcb_boys", college.getBcbBoys());
-        cutoffMap.put("bcb_girls", college.getBcbGirls());
-        cutoffMap.put("bcc_boys", college.getBccBoys());
-        cutoffMap.put("bcc_girls", college.getBccGirls());
-        cutoffMap.put("bcd_boys", college.getBcdBoys());
-        cutoffMap.put("bcd_girls", college.getBcdGirls());
-        cutoffMap.put("bce_boys", college.getBceBoys());
-        cutoffMap.put("bce_girls", college.getBceGirls());
-        cutoffMap.put("oc_ews_boys", college.getOcEwsBoys());
-        cutoffMap.put("oc_ews_girls", college.getOcEwsGirls());
-        
-        // Calculate statistics for cutoff values
-        IntSummaryStatistics stats = cutoffMap.values().stream()
-            .filter(Objects::nonNull)
-            .filter(v -> v > 0)
-            .mapToInt(Integer::intValue)
-            .summaryStatistics();
+        int count = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long sum = 0;
+        for (int column = 0; column < CollegeSnapshot.CUTOFF_COLUMNS.size(); column++) {
+            int cutoff = snapshot.cutoff(column, row);
+            if (cutoff == CollegeSnapshot.NO_CUTOFF) {
+                cutoffMap.put(CollegeSnapshot.CUTOFF_COLUMNS.get(column), null);
+                continue;
+            }
+            cutoffMap.put(CollegeSnapshot.CUTOFF_COLUMNS.get(column), cutoff);
+            count++;
+            min = Math.min(min, cutoff);
+            max = Math.max(max, cutoff);
+            sum += cutoff;
+        }
         
         // Create and return cutoff distribution DTO
         return ResponseEntity.ok(new CutoffDistributionDto(
             college.getInstitution_name(),
             branch,
             cutoffMap,
-            stats.getCount() > 0 ? (int) stats.getMin() : 0,
-            stats.getCount() > 0 ? (int) stats.getMax() : 0,
-            stats.getCount() > 0 ? (int) stats.getAverage() : 0
+            count > 0 ? min : 0,
+            count > 0 ? max : 0,
+            count > 0 ? (int) ((double) sum / count) : 0
         ));
     }
     
@@ -441,51 +526,44 @@ public class CollegePredictorController {
      * 
      * @param branch Optional branch filter
      * @param tier Optional tier filter
-     * @return ResponseEntity containing list of colleges ranked by placement package
+     * @param webRequest The current request, used for conditional GET
+     * @return ResponseEntity containing list of colleges ranked by placement package, or 304 if unchanged
      */
     @GetMapping("/rankings/by-placement")
     public ResponseEntity<List<PlacementRankingDto>> getRankingsByPlacement(
             @RequestParam(required = false) String branch,
-            @RequestParam(required = false) String tier) {
+            @RequestParam(required = false) String tier,
+            WebRequest webRequest) {
         log.info("Fetching placement rankings - branch: {}, tier: {}", branch, tier);
-        
-        // Start with all colleges and apply filters
-        Stream<College> collegeStream = repo.findAll().stream();
-        
-        if (branch != null) {
-            collegeStream = collegeStream.filter(c -> branch.equals(c.getBranchCode()));
+        CollegeSnapshot snapshot = store.snapshot();
+        if (notModified(webRequest, snapshot)) {
+            return null;
         }
         
-        if (tier != null) {
-            collegeStream = collegeStream.filter(c -> tier.equals(c.getTier()));
+        // Select the top rows by placement quality score, then average package (higher is better)
+        TopK top = new TopK(50);
+        for (int row = 0; row < snapshot.size(); row++) {
+            College c = snapshot.college(row);
+            if (branch != null && !branch.equals(c.getBranchCode())) continue;
+            if (tier != null && !tier.equals(c.getTier())) continue;
+            
+            double averagePackage = snapshot.averagePackage(row);
+            if (Double.isNaN(averagePackage)) continue;
+            top.offer(row, service.getQualityScore(c.getPlacementDriveQuality()), averagePackage);
         }
         
-        // Sort colleges by placement quality and average package
-        List<PlacementRankingDto> rankings = collegeStream
-            .filter(c -> c.getAveragePackage() != null)
-            .sorted((a, b) -> {
-                // First sort by placement quality score (higher is better)
-                int qualityCompare = service.getQualityScore(b.getPlacementDriveQuality())
-                    .compareTo(service.getQualityScore(a.getPlacementDriveQuality()));
-                
-                if (qualityCompare != 0) return qualityCompare;
-                
-                // Then sort by average package (higher is better)
-                return Double.compare(
-                    b.getAveragePackage() != null ? b.getAveragePackage() : 0,
-                    a.getAveragePackage() != null ? a.getAveragePackage() : 0
-                );
-            })
-            .limit(50)
-            .map(c -> new PlacementRankingDto(
+        List<PlacementRankingDto> rankings = new ArrayList<>(top.size());
+        for (int row : top.drain()) {
+            College c = snapshot.college(row);
+            rankings.add(new PlacementRankingDto(
                 c.getInstitution_name(),
                 c.getBranchCode(),
                 c.getAveragePackage(),
                 c.getHighestPackage(),
                 c.getPlacementDriveQuality(),
                 c.getTier()
-            ))
-            .collect(Collectors.toList());
+            ));
+        }
         
         return ResponseEntity.ok(rankings);
     }
@@ -496,62 +574,56 @@ public class CollegePredictorController {
      * @param instcode The institution code of the target college
      * @param branch The branch code of the target college
      * @param category The category to compare cutoffs
-     * @return ResponseEntity containing list of similar colleges
+     * @param limit Maximum number of similar colleges (default 10, at most 25)
+     * @param webRequest The current request, used for conditional GET
+     * @return ResponseEntity containing list of similar colleges, or 304 if unchanged
      */
     @GetMapping("/similar-colleges/{instcode}/{branch}")
     public ResponseEntity<List<SimilarCollegeDto>> findSimilarColleges(
             @PathVariable String instcode,
             @PathVariable String branch,
-            @RequestParam String category) {
+            @RequestParam String category,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest) {
         log.info("Finding similar colleges for {} - {}", instcode, branch);
         
+        // Read both the target and its candidates from the same snapshot
+        CollegeSnapshot snapshot = store.snapshot();
+        if (notModified(webRequest, snapshot)) {
+            return null;
+        }
+        
         // Find the target college
-        College targetCollege = repo.findAll().stream()
-            .filter(c -> instcode.equals(c.getInstcode()))
-            .filter(c -> branch.equals(c.getBranchCode()))
-            .findFirst()
-            .orElseThrow(() -> new InvalidRequestException("College not found"));
+        int targetRow = snapshot.findRow(instcode, branch);
+        if (targetRow < 0) {
+            throw new InvalidRequestException("College not found");
+        }
         
         // Get cutoff and package information for the target college
-        Integer targetCutoff = service.getCutoffForCategory(targetCollege, category);
-        Double targetPackage = targetCollege.getAveragePackage();
+        int column = CollegeSnapshot.cutoffColumn(category);
+        int targetCutoff = column >= 0 ? snapshot.cutoff(column, targetRow) : CollegeSnapshot.NO_CUTOFF;
+        double targetPackage = snapshot.averagePackage(targetRow);
+        if (targetCutoff == CollegeSnapshot.NO_CUTOFF || Double.isNaN(targetPackage)) {
+            return ResponseEntity.ok(List.of());
+        }
         
-        // Find similar colleges based on cutoff and package similarity
-        List<SimilarCollegeDto> similar = repo.findAll().stream()
-            .filter(c -> branch.equals(c.getBranchCode()))
-            .filter(c -> !instcode.equals(c.getInstcode()))
-            .map(c -> {
-                // Get cutoff for the current college
-                Integer cutoff = service.getCutoffForCategory(c, category);
-                if (cutoff == null || targetCutoff == null) return null;
-                
-                // Calculate cutoff difference percentage
-                double cutoffDiff = Math.abs(cutoff - targetCutoff) / (double) targetCutoff;
-                if (cutoffDiff > 0.15) return null; // Max 15% difference allowed
-                
-                // Check package similarity
-                if (c.getAveragePackage() == null || targetPackage == null) return null;
-                double packageDiff = Math.abs(c.getAveragePackage() - targetPackage) / targetPackage;
-                if (packageDiff > 0.20) return null; // Max 20% difference allowed
-                
-                // Calculate similarity score based on cutoff and package differences
-                double similarityScore = 100 - (cutoffDiff * 50 + packageDiff * 50);
-                
-                // Create and return similar college DTO
-                return new SimilarCollegeDto(
-                    c.getInstcode(),
-                    c.getInstitution_name(),
-                    c.getBranchCode(),
-                    cutoff,
-                    c.getAveragePackage(),
-                    c.getTier(),
-                    similarityScore
-                );
-            })
-            .filter(Objects::nonNull)
-            .sorted((a, b) -> Double.compare(b.getSimilarityScore(), a.getSimilarityScore()))
-            .limit(10)
-            .collect(Collectors.toList());
+        // Look up the precomputed neighbours of the target
+        int[] neighbours = snapshot.getSimilarity().neighbours(column, targetRow,
+                Math.max(0, Math.min(limit, SimilarityGraph.MAX_NEIGHBOURS)));
+        List<SimilarCollegeDto> similar = new ArrayList<>(neighbours.length);
+        for (int row : neighbours) {
+            College c = snapshot.college(row);
+            int cutoff = snapshot.cutoff(column, row);
+            similar.add(new SimilarCollegeDto(
+                c.getInstcode(),
+                c.getInstitution_name(),
+                c.getBranchCode(),
+                cutoff,
+                c.getAveragePackage(),
+                c.getTier(),
+                SimilarityGraph.score(targetCutoff, targetPackage, cutoff, snapshot.averagePackage(row))
+            ));
+        }
         
         return ResponseEntity.ok(similar);
     }
@@ -579,40 +651,97 @@ public class CollegePredictorController {
             request.getGender()
         );
         
-        // Score and sort colleges for recommendations
-        List<RecommendationDto> recommendations = allResults.stream()
-            .map(college -> {
-                double score = 0.0;
-                
-                // Factor in admission probability (40% weight)
-                if (college.getProbability() != null) {
-                    score += (college.getProbability() / 100.0) * 40;
-                }
-                
-                // Factor in placement quality (30% weight)
-                int placementScore = service.getQualityScore(college.getPlacementDriveQuality());
-                score += (placementScore / 4.0) * 30;
-                
-                // Factor in average package (20% weight)
-                if (college.getAveragePackage() != null) {
-                    score += Math.min(college.getAveragePackage() / 10.0, 1.0) * 20;
-                }
-                
-                // Factor in college tier (10% weight)
-                double tierScore = service.getTierScore(college.getTier());
-                score += tierScore * 10;
-                
-                // Create and return recommendation DTO
-                return new RecommendationDto(
-                    college,
-                    score,
-                    service.getRecommendationType(college.getProbability())
-                );
-            })
-            .sorted((a, b) -> Double.compare(b.getRecommendationScore(), a.getRecommendationScore()))
-            .limit(20)
-            .collect(Collectors.toList());
+        // Score every result and keep the best 20
+        TopK top = new TopK(20);
+        double[] scores = new double[allResults.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = recommendationScore(allResults.get(i));
+            top.offer(i, scores[i]);
+        }
+        
+        // Create recommendation DTOs for the selected results only
+        List<RecommendationDto> recommendations = new ArrayList<>(top.size());
+        for (int i : top.drain()) {
+            CollegeResult college = allResults.get(i);
+            recommendations.add(new RecommendationDto(
+                college,
+                scores[i],
+                service.getRecommendationType(college.getProbability())
+            ));
+        }
         
         return ResponseEntity.ok(recommendations);
     }
-}
\ No newline at end of file
+
+    /**
+     * Handles a conditional GET for a response derived only from the snapshot.
+     * Sets a strong ETag (the snapshot content hash) and Last-Modified (the snapshot load time),
+     * and asks caches to revalidate on every use. Query parameters, including the frontend's
+     * "_" cache-buster, take no part in the validators, so a cached copy stays valid for as
+     * long as the data is unchanged.
+     * 
+     * @param webRequest The current request
+     * @param snapshot The snapshot the response is computed from
+     * @return true if the client's copy is current and a 304 response has been prepared
+     */
+    private boolean notModified(WebRequest webRequest, CollegeSnapshot snapshot) {
+        return checkNotModified(webRequest, snapshot, snapshot.getContentHash(), false);
+    }
+
+    /**
+     * Handles a conditional GET for a response served from the {@link EncodedResponseCache}.
+     * Like {@link #notModified}, but the ETag identifies the content coding the client is
+     * served, and Vary: Accept-Encoding is also sent with a 304.
+     *
+     * @param webRequest The current request
+     * @param snapshot The snapshot the response is computed from
+     * @return true if the client's copy is current and a 304 response has been prepared
+     */
+    private boolean notModifiedEncoded(WebRequest webRequest, CollegeSnapshot snapshot) {
+        return checkNotModified(webRequest, snapshot, EncodedResponseCache.etag(snapshot, webRequest), true);
+    }
+
+    /**
+     * Sets the caching headers and checks the request's validators against the given ETag.
+     */
+    private boolean checkNotModified(WebRequest webRequest, CollegeSnapshot snapshot, String etag, boolean vary) {
+        if (webRequest instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            if (vary) {
+                servletRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+        return webRequest.checkNotModified(etag, snapshot.getLoadedAt().toEpochMilli());
+    }
+    
+    /**
+     * Calculates the recommendation score of a prediction result.
+     * Weights: admission probability 40%, placement quality 30%, average package 20%, tier 10%.
+     * 
+     * @param college The prediction result to score
+     * @return The recommendation score (0-100)
+     */
+    private double recommendationScore(CollegeResult college) {
+        double score = 0.0;
+        
+        // Factor in admission probability (40% weight)
+        if (college.getProbability() != null) {
+            score += (college.getProbability() / 100.0) * 40;
+        }
+        
+        // Factor in placement quality (30% weight)
+        int placementScore = service.getQualityScore(college.getPlacementDriveQuality());
+        score += (placementScore / 4.0) * 30;
+        
+        // Factor in average package (20% weight)
+        if (college.getAveragePackage() != null) {
+            score += Math.min(college.getAveragePackage() / 10.0, 1.0) * 20;
+        }
+        
+        // Factor in college tier (10% weight)
+        double tierScore = service.getTierScore(college.getTier());
+        score += tierScore * 10;
+        
+        return score;
+    }
+}
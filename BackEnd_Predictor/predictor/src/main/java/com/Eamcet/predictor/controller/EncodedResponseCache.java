@@ -0,0 +1,176 @@
+package com.Eamcet.predictor.controller;
+
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of serialized and pre-compressed JSON response bodies.
+ * Responses that depend only on the data snapshot and the request parameters are serialized
+ * once per snapshot, together with a gzip variant, and the stored bytes are written straight
+ * to later responses with the matching Content-Encoding. Serialization and compression thus
+ * happen once per data change instead of once per request.
+ *
+ * Entries are keyed by endpoint and parameters and belong to one snapshot; the whole cache is
+ * dropped when a snapshot with different content is published. The number of entries is
+ * bounded, since parameters come from the client; beyond the bound responses are still
+ * served, just not cached.
+ *
+ * The two variants are different representations, so each has its own strong ETag (see
+ * {@link #etag}) and every response, including a 304, carries Vary: Accept-Encoding.
+ */
+class EncodedResponseCache {
+
+    /**
+     * Maximum number of cached responses per snapshot.
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    /**
+     * Serialized bodies of one response.
+     *
+     * @param json The JSON bytes
+     * @param gzip The gzip-compressed JSON bytes
+     */
+    private record Entry(byte[] json, byte[] gzip) {}
+
+    /**
+     * Cached responses of one snapshot.
+     *
+     * @param contentHash Content hash of the snapshot the entries were computed from
+     * @param entries Entries keyed by endpoint and parameters
+     */
+    private record Generation(String contentHash, Map<String, Entry> entries) {}
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The cached responses of the most recently served snapshot.
+     */
+    private volatile Generation generation = new Generation("", new ConcurrentHashMap<>());
+
+    /**
+     * Constructor for a cache serializing with the given mapper.
+     *
+     * @param objectMapper The JSON mapper
+     */
+    EncodedResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Builds a JSON response from the cached bytes, computing and caching them if needed.
+     * The gzip variant is sent when the client accepts it.
+     *
+     * @param snapshot The snapshot the response is computed from
+     * @param key Endpoint and parameters identifying the response within the snapshot
+     * @param webRequest The current request
+     * @param body Supplier of the response body, called only on a cache miss
+     * @return ResponseEntity with the encoded body
+     */
+    ResponseEntity<byte[]> json(CollegeSnapshot snapshot, String key, WebRequest webRequest, Supplier<?> body) {
+        Generation current = generation;
+        if (!current.contentHash().equals(snapshot.getContentHash())) {
+            current = new Generation(snapshot.getContentHash(), new ConcurrentHashMap<>());
+            generation = current;
+        }
+
+        Entry entry = current.entries().get(key);
+        if (entry == null) {
+            entry = encode(body.get());
+            if (current.entries().size() < MAX_ENTRIES) {
+                current.entries().putIfAbsent(key, entry);
+            }
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(entry.gzip().length)
+                    .body(entry.gzip());
+        }
+        return response.contentLength(entry.json().length).body(entry.json());
+    }
+
+    /**
+     * Gets the entity tag of the variant a request is served: the content hash of the snapshot,
+     * with a "-gzip" suffix for the gzip variant. RFC 9110 requires different strong validators
+     * for different content codings, so a cache never answers an identity request with a
+     * gzip body it revalidated.
+     *
+     * @param snapshot The snapshot the response is computed from
+     * @param webRequest The current request
+     * @return The entity tag, unquoted
+     */
+    static String etag(CollegeSnapshot snapshot, WebRequest webRequest) {
+        return acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                ? snapshot.getContentHash() + "-gzip" : snapshot.getContentHash();
+    }
+
+    /**
+     * Serializes a body and compresses it.
+     *
+     * @param body The response body
+     * @return The encoded variants
+     */
+    private Entry encode(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Entry(json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header allows gzip.
+     *
+     * @param acceptEncoding The header value (may be null)
+     * @return true if gzip is listed without q=0
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("x-gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
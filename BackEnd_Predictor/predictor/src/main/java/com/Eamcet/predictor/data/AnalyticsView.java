@@ -0,0 +1,144 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.dto.AnalyticsSummaryDto;
+import com.Eamcet.predictor.dto.BranchStatsDto;
+import com.Eamcet.predictor.model.College;
+
+import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Materialized analytics aggregates of a college snapshot.
+ * The analytics summary, the list of branches and the per-branch statistics are computed
+ * once when a snapshot is built and served as-is until the data changes and a new snapshot
+ * (with a new view) replaces it.
+ *
+ * Instances are immutable; callers must not modify the returned DTOs.
+ */
+public final class AnalyticsView {
+
+    /**
+     * Precomputed analytics summary.
+     */
+    private final AnalyticsSummaryDto summary;
+
+    /**
+     * Sorted distinct branch codes.
+     */
+    private final List<String> branches;
+
+    /**
+     * Precomputed statistics by branch code.
+     */
+    private final Map<String, BranchStatsDto> branchStats;
+
+    /**
+     * Computes all aggregates over the given rows.
+     *
+     * @param allColleges The college rows of a snapshot
+     */
+    AnalyticsView(List<College> allColleges) {
+        // Group colleges by region and count them
+        Map<String, Long> collegesByRegion = allColleges.stream()
+            .filter(c -> c.getRegion() != null)
+            .collect(Collectors.groupingBy(College::getRegion, Collectors.counting()));
+
+        // Group colleges by tier and count them
+        Map<String, Long> collegesByTier = allColleges.stream()
+            .filter(c -> c.getTier() != null)
+            .collect(Collectors.groupingBy(College::getTier, Collectors.counting()));
+
+        // Group colleges by branch and count them
+        Map<String, Long> collegesByBranch = allColleges.stream()
+            .filter(c -> c.getBranchCode() != null)
+            .collect(Collectors.groupingBy(College::getBranchCode, Collectors.counting()));
+
+        // Calculate overall average package across all colleges
+        Double avgPackageOverall = allColleges.stream()
+            .filter(c -> c.getAveragePackage() != null)
+            .mapToDouble(College::getAveragePackage)
+            .average()
+            .orElse(0.0);
+
+        // Calculate average package by branch
+        Map<String, Double> avgPackageByBranch = allColleges.stream()
+            .filter(c -> c.getBranchCode() != null && c.getAveragePackage() != null)
+            .collect(Collectors.groupingBy(
+                College::getBranchCode,
+                Collectors.averagingDouble(College::getAveragePackage)
+            ));
+
+        // Count unique colleges by instcode
+        long uniqueCollegesCount = allColleges.stream()
+            .map(College::getInstcode)
+            .distinct()
+            .count();
+
+        this.summary = new AnalyticsSummaryDto(
+            (int) uniqueCollegesCount,
+            Collections.unmodifiableMap(collegesByRegion),
+            Collections.unmodifiableMap(collegesByTier),
+            Collections.unmodifiableMap(collegesByBranch),
+            avgPackageOverall,
+            Collections.unmodifiableMap(avgPackageByBranch)
+        );
+
+        this.branches = allColleges.stream()
+            .map(College::getBranchCode)
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .toList();
+
+        // Calculate package statistics for every branch
+        Map<String, DoubleSummaryStatistics> packageStats = allColleges.stream()
+            .filter(c -> c.getBranchCode() != null && c.getAveragePackage() != null)
+            .collect(Collectors.groupingBy(
+                College::getBranchCode,
+                Collectors.summarizingDouble(College::getAveragePackage)
+            ));
+        Map<String, BranchStatsDto> stats = new HashMap<>();
+        collegesByBranch.forEach((branch, count) -> {
+            DoubleSummaryStatistics packages = packageStats.get(branch);
+            boolean hasPackages = packages != null && packages.getCount() > 0;
+            stats.put(branch, new BranchStatsDto(
+                branch,
+                count.intValue(),
+                hasPackages ? packages.getAverage() : 0.0,
+                hasPackages ? packages.getMax() : 0.0,
+                hasPackages ? packages.getMin() : 0.0
+            ));
+        });
+        this.branchStats = Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Gets the analytics summary.
+     *
+     * @return The precomputed summary
+     */
+    public AnalyticsSummaryDto getSummary() { return summary; }
+
+    /**
+     * Gets all distinct branch codes.
+     *
+     * @return Sorted, unmodifiable list of branch codes
+     */
+    public List<String> getBranches() { return branches; }
+
+    /**
+     * Gets the statistics for a branch.
+     *
+     * @param branch The branch code
+     * @return The precomputed statistics, or zeroed statistics if no college offers the branch
+     */
+    public BranchStatsDto getBranchStats(String branch) {
+        BranchStatsDto stats = branchStats.get(branch);
+        return stats != null ? stats : new BranchStatsDto(branch, 0, 0.0, 0.0, 0.0);
+    }
+}
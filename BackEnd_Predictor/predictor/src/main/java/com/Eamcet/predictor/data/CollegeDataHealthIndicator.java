@@ -0,0 +1,44 @@
+package com.Eamcet.predictor.data;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator reporting whether college data is loaded.
+ * Part of the readiness group, so an instance that could load neither the persisted snapshot
+ * nor the database is kept out of rotation until a load succeeds. Never triggers a load itself.
+ */
+@Component("collegeData")
+public class CollegeDataHealthIndicator implements HealthIndicator {
+
+    private final CollegeDataStore store;
+
+    /**
+     * Constructor for dependency injection of the data store.
+     *
+     * @param store The college data store
+     */
+    public CollegeDataHealthIndicator(CollegeDataStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Reports UP with the snapshot version and size once a snapshot is published,
+     * OUT_OF_SERVICE before.
+     *
+     * @return The health of the college data
+     */
+    @Override
+    public Health health() {
+        CollegeSnapshot snapshot = store.currentSnapshot();
+        if (snapshot == null) {
+            return Health.outOfService().withDetail("reason", "College data not loaded yet").build();
+        }
+        return Health.up()
+                .withDetail("version", snapshot.getVersion())
+                .withDetail("rows", snapshot.size())
+                .withDetail("loadedAt", snapshot.getLoadedAt().toString())
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.Eamcet.predictor.data;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Background refresher of the college snapshot.
+ * Periodically checks whether the college data changed and, if so, rebuilds the snapshot off
+ * the request path, so corrected cutoffs go live without a redeploy. A reload can also be
+ * forced through the admin endpoints, and follows every raw_table import. Schema migrations
+ * deferred on startup because the database was unreachable run before the next check.
+ *
+ * The snapshot is read from the normalized schema, not from raw_table, so each check also
+ * compares a fingerprint of raw_table with the one seen by the previous check and re-imports
+ * raw_table first if it changed. Hand edits to raw_table thus go live with the next check. The
+ * first check only records the fingerprint: edits made while the application was not running
+ * still need the admin raw_table import.
+ *
+ * Every check and reload is timed in the predictor.data.reload timer, tagged by trigger
+ * (scheduled or admin) and outcome (reloaded, unchanged or failed).
+ */
+@Component
+public class CollegeDataRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(CollegeDataRefresher.class);
+    private final CollegeDataStore store;
+    private final SchemaMigrations migrations;
+    private final RawTableImporter importer;
+    private final MeterRegistry registry;
+
+    /**
+     * Fingerprint of raw_table at the last check, or null before the first one.
+     */
+    private volatile DataFingerprint rawTable;
+
+    /**
+     * Constructor for dependency injection of the data store and meter registry.
+     *
+     * @param store The data store to refresh
+     * @param migrations The schema migrations, run first if they were deferred on startup
+     * @param importer The raw_table importer, run when raw_table changed
+     * @param registry Meter registry receiving the reload metrics
+     */
+    public CollegeDataRefresher(CollegeDataStore store, SchemaMigrations migrations, RawTableImporter importer,
+                                MeterRegistry registry) {
+        this.store = store;
+        this.migrations = migrations;
+        this.importer = importer;
+        this.registry = registry;
+        Gauge.builder("predictor.data.version", store, s -> s.currentSnapshot() != null
+                        ? s.currentSnapshot().getVersion() : Double.NaN)
+                .description("Version of the published college snapshot")
+                .register(registry);
+    }
+
+    /**
+     * Re-imports raw_table if it changed since the last check, then reloads the snapshot if
+     * the data changed since the last load.
+     * Failures are logged; the current snapshot stays in place until the next check, which
+     * retries a failed import.
+     */
+    @Scheduled(initialDelayString = "${predictor.data.refresh-interval:PT5M}",
+            fixedDelayString = "${predictor.data.refresh-interval:PT5M}")
+    public void refreshIfChanged() {
+        try {
+            timed("scheduled", () -> {
+                importRawTableIfChanged();
+                return store.refresh();
+            });
+        } catch (RuntimeException e) {
+            log.error("Refreshing college snapshot failed, keeping the current one", e);
+        }
+    }
+
+    /**
+     * Reloads the snapshot unconditionally.
+     *
+     * @return The published snapshot
+     */
+    public CollegeSnapshot forceReload() {
+        return timed("admin", store::reload);
+    }
+
+    /**
+     * Imports raw_table if its fingerprint differs from the one seen by the previous check.
+     * The new fingerprint is only recorded once the import succeeded.
+     */
+    private void importRawTableIfChanged() {
+        DataFingerprint current = importer.fingerprint();
+        DataFingerprint previous = rawTable;
+        if (previous != null && !previous.equals(current)) {
+            log.info("raw_table changed, re-importing it");
+            importer.importRawTable();
+        }
+        rawTable = current;
+    }
+
+    /**
+     * Runs a reload and records its duration and outcome.
+     *
+     * @param trigger What triggered the reload
+     * @param reload The reload to run
+     * @return The snapshot published after the reload
+     */
+    private CollegeSnapshot timed(String trigger, Supplier<CollegeSnapshot> reload) {
+        CollegeSnapshot before = store.currentSnapshot();
+        long start = System.nanoTime();
+        String outcome = "failed";
+        try {
+            migrations.migrateIfPending();
+            CollegeSnapshot after = reload.get();
+            outcome = after == before ? "unchanged" : "reloaded";
+            return after;
+        } finally {
+            Timer.builder("predictor.data.reload")
+                    .description("Time spent checking for and loading college data changes")
+                    .tag("trigger", trigger)
+                    .tag("outcome", outcome)
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
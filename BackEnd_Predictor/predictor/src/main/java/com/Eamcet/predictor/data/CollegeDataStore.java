@@ -0,0 +1,194 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.repository.CollegeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holder for the current in-memory college snapshot.
+ * The snapshot is loaded once from the database when the application starts and is then
+ * served to every controller and service, so request handling never reads the database.
+ *
+ * If the last published snapshot was persisted to a {@link SnapshotFile}, startup serves it
+ * immediately and reconciles with the database in the background; while the database is
+ * unreachable the persisted snapshot stays in place. Without a persisted snapshot, a failed
+ * startup load (for example because the database is unreachable) is retried by the first
+ * request that needs the data.
+ *
+ * Later changes to the college data are picked up by {@link #refresh()}, which compares a
+ * cheap fingerprint of the data with the one recorded at the last load and reloads only if
+ * they differ. A reload builds the new snapshot completely before publishing it with a single
+ * volatile write, so readers never block and never see a partially built snapshot.
+ */
+@Component
+public class CollegeDataStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CollegeDataStore.class);
+    private final CollegeRepository repo;
+    private final DatabaseGate gate;
+    private final SnapshotFile snapshotFile;
+
+    /**
+     * Serializes loads. A lock rather than a monitor, so that a virtual thread waiting for the
+     * database does not pin its carrier thread.
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    /**
+     * The currently published snapshot, or null if no load has succeeded yet.
+     */
+    private volatile CollegeSnapshot snapshot;
+
+    /**
+     * Fingerprint of the data taken in the same transaction as the rows of the current
+     * snapshot, or null if it is unknown.
+     */
+    private volatile DataFingerprint fingerprint;
+
+    /**
+     * Constructor for dependency injection of the college repository.
+     *
+     * @param repo The college repository used to load the snapshot
+     * @param gate The gate every database access goes through
+     * @param snapshotFile The on-disk copy of the last published snapshot
+     */
+    public CollegeDataStore(CollegeRepository repo, DatabaseGate gate, SnapshotFile snapshotFile) {
+        this.repo = repo;
+        this.gate = gate;
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Loads the snapshot as soon as the application is ready to serve requests.
+     * Failures are logged and retried lazily on the first request.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("Initial load of college snapshot failed, will retry on first request", e);
+        }
+    }
+
+    /**
+     * Gets the current snapshot. If no snapshot exists yet, the persisted snapshot is
+     * published and reconciled with the database in the background, or, without one, the
+     * snapshot is loaded from the database.
+     *
+     * @return The current college snapshot
+     */
+    public CollegeSnapshot snapshot() {
+        CollegeSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            if (snapshot == null) {
+                CollegeSnapshot persisted = snapshotFile.read().orElse(null);
+                if (persisted != null) {
+                    snapshot = persisted;
+                    reconcileInBackground();
+                } else {
+                    reload();
+                }
+            }
+            return snapshot;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads from the database on a background thread, keeping the persisted snapshot
+     * if the database is unreachable.
+     */
+    private void reconcileInBackground() {
+        Thread.ofVirtual().name("college-snapshot-reconcile").start(() -> {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                log.warn("Database unavailable, serving persisted college snapshot v{} until the next refresh: {}",
+                        snapshot.getVersion(), e.toString());
+            }
+        });
+    }
+
+    /**
+     * Gets the current snapshot without loading it.
+     *
+     * @return The current snapshot, or null if no load has succeeded yet
+     */
+    public CollegeSnapshot currentSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Reloads the snapshot if the data changed since the last load, as detected by its
+     * fingerprint. Loads the snapshot if none exists yet.
+     *
+     * @return The current snapshot after the check
+     */
+    public CollegeSnapshot refresh() {
+        CollegeSnapshot current = snapshot;
+        DataFingerprint loaded = fingerprint;
+        if (current != null && loaded != null && loaded.equals(gate.call(repo::fingerprint))) {
+            return current;
+        }
+        return reload();
+    }
+
+    /**
+     * Reads all rows and the cutoffs of earlier years from the database, in one transaction
+     * together with their fingerprint, and publishes them as a new snapshot.
+     * If the data is unchanged, the current snapshot is kept so that its version,
+     * load time and derived HTTP validators stay the same.
+     *
+     * @return The published snapshot
+     */
+    public CollegeSnapshot reload() {
+        loadLock.lock();
+        try {
+            long start = System.nanoTime();
+            SnapshotData data = gate.call(repo::loadSnapshotData);
+            CollegeSnapshot current = snapshot;
+            long version = current != null ? current.getVersion() + 1 : 1;
+            CollegeSnapshot loaded = new CollegeSnapshot(data.colleges(),
+                    data.history() != null ? data.history() : CutoffHistory.EMPTY, version, Instant.now());
+            if (current != null && current.getContentHash().equals(loaded.getContentHash())) {
+                log.info("College data unchanged, keeping snapshot v{}", current.getVersion());
+                fingerprint = data.fingerprint();
+                return current;
+            }
+            snapshot = loaded;
+            fingerprint = data.fingerprint();
+            log.info("Loaded college snapshot v{} with {} rows in {} ms",
+                    version, loaded.size(), (System.nanoTime() - start) / 1_000_000);
+            persist(loaded);
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a published snapshot to disk. Failures are logged; the snapshot stays published.
+     *
+     * @param published The published snapshot
+     */
+    private void persist(CollegeSnapshot published) {
+        try {
+            snapshotFile.write(published);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not persist college snapshot v{}: {}", published.getVersion(), e.toString());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.model.College;
+
+/**
+ * One row of the in-memory snapshot: a branch offering joined with its institution and its
+ * closing ranks, in the column layout of raw_table. The rows are built from projections
+ * rather than managed entities: nothing is registered in the persistence context and no
+ * dirty-checking state is kept.
+ */
+public record CollegeRow(Integer sno, String instcode, String institutionName, String division, String region,
+                         String district, String place, String affl, String branchCode, String tier,
+                         Double highestPackage, Double averagePackage, String placementDriveQuality,
+                         Integer ocBoys, Integer ocGirls, Integer scBoys, Integer scGirls,
+                         Integer stBoys, Integer stGirls, Integer bcaBoys, Integer bcaGirls,
+                         Integer bcbBoys, Integer bcbGirls, Integer bccBoys, Integer bccGirls,
+                         Integer bcdBoys, Integer bcdGirls, Integer bceBoys, Integer bceGirls,
+                         Integer ocEwsBoys, Integer ocEwsGirls) {
+
+    /**
+     * Converts the row into a detached College, the type the snapshot and DTOs work with.
+     *
+     * @return A new College holding the row's values
+     */
+    public College toCollege() {
+        College college = new College();
+        college.setSno(sno);
+        college.setInstcode(instcode);
+        college.setInstitution_name(institutionName);
+        college.setDivision(division);
+        college.setRegion(region);
+        college.setDistrict(district);
+        college.setPlace(place);
+        college.setAffl(affl);
+        college.setBranchCode(branchCode);
+        college.setTier(tier);
+        college.setHighestPackage(highestPackage);
+        college.setAveragePackage(averagePackage);
+        college.setPlacementDriveQuality(placementDriveQuality);
+        college.setOcBoys(ocBoys);
+        college.setOcGirls(ocGirls);
+        college.setScBoys(scBoys);
+        college.setScGirls(scGirls);
+        college.setStBoys(stBoys);
+        college.setStGirls(stGirls);
+        college.setBcaBoys(bcaBoys);
+        college.setBcaGirls(bcaGirls);
+        college.setBcbBoys(bcbBoys);
+        college.setBcbGirls(bcbGirls);
+        college.setBccBoys(bccBoys);
+        college.setBccGirls(bccGirls);
+        college.setBcdBoys(bcdBoys);
+        college.setBcdGirls(bcdGirls);
+        college.setBceBoys(bceBoys);
+        college.setBceGirls(bceGirls);
+        college.setOcEwsBoys(ocEwsBoys);
+        college.setOcEwsGirls(ocEwsGirls);
+        return college;
+    }
+}
@@ -0,0 +1,470 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.model.Category;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.model.Gender;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable in-memory snapshot of every branch offering, in the row layout of 'raw_table'.
+ * A snapshot is built once from the database and then shared by all request threads,
+ * so the endpoints read college data from memory instead of querying MySQL per request.
+ *
+ * The College entities held here are detached from any persistence context and must be
+ * treated as read-only by callers. Alongside them the snapshot keeps a columnar copy of the
+ * fields used by the hot paths: one primitive int[] per cutoff category and dictionary-encoded
+ * attribute columns, so scans touch primitives without boxing or per-row string switching.
+ *
+ * The rows hold the cutoffs of the latest admission year. Closing ranks of earlier years, if
+ * any, are kept as the snapshot's {@link CutoffHistory} and condensed into {@link CutoffTrends}
+ * when the snapshot is built; the sorted cutoff index orders the projected cutoffs.
+ */
+public final class CollegeSnapshot {
+
+    /**
+     * Sentinel stored in the cutoff columns for missing or non-positive cutoffs.
+     */
+    public static final int NO_CUTOFF = 0;
+
+    /**
+     * Cutoff column keys in column order ("oc_boys", "oc_girls", "sc_boys", ...).
+     * Column {@code category.ordinal() * 2 + gender.ordinal()} holds that combination.
+     */
+    public static final List<String> CUTOFF_COLUMNS = Arrays.stream(Category.values())
+            .flatMap(category -> Arrays.stream(Gender.values())
+                    .map(gender -> category.getKey() + "_" + gender.getKey()))
+            .toList();
+
+    /**
+     * Entity getters for each cutoff column, in column order.
+     */
+    private static final List<Function<College, Integer>> CUTOFF_GETTERS = List.of(
+            College::getOcBoys, College::getOcGirls, College::getScBoys, College::getScGirls,
+            College::getStBoys, College::getStGirls, College::getBcaBoys, College::getBcaGirls,
+            College::getBcbBoys, College::getBcbGirls, College::getBccBoys, College::getBccGirls,
+            College::getBcdBoys, College::getBcdGirls, College::getBceBoys, College::getBceGirls,
+            College::getOcEwsBoys, College::getOcEwsGirls);
+
+    /**
+     * Column index by cutoff key.
+     */
+    private static final Map<String, Integer> COLUMN_INDEX = new HashMap<>();
+
+    static {
+        for (int column = 0; column < CUTOFF_COLUMNS.size(); column++) {
+            COLUMN_INDEX.put(CUTOFF_COLUMNS.get(column), column);
+        }
+    }
+
+    /**
+     * All college rows, in the order they were loaded from the database.
+     */
+    private final List<College> colleges;
+
+    /**
+     * Monotonically increasing version number of this snapshot.
+     */
+    private final long version;
+
+    /**
+     * Time at which this snapshot was loaded.
+     */
+    private final Instant loadedAt;
+
+    /**
+     * Hash of the content of every row, identical for snapshots loaded from identical data.
+     */
+    private final String contentHash;
+
+    /**
+     * Closing ranks of earlier admission years.
+     */
+    private final CutoffHistory history;
+
+    /**
+     * Cutoff ranks indexed by [column][row], with {@link #NO_CUTOFF} for missing values.
+     */
+    private final int[][] cutoffs;
+
+    /**
+     * Trend statistics and projections of the cutoffs.
+     */
+    private final CutoffTrends trends;
+
+    /**
+     * Average package of every row, NaN when missing.
+     */
+    private final double[] averagePackages;
+
+    /**
+     * Dictionary-encoded branch codes.
+     */
+    private final DictionaryColumn branchCodes;
+
+    /**
+     * Dictionary-encoded districts.
+     */
+    private final DictionaryColumn districts;
+
+    /**
+     * Dictionary-encoded regions.
+     */
+    private final DictionaryColumn regions;
+
+    /**
+     * Dictionary-encoded tiers.
+     */
+    private final DictionaryColumn tiers;
+
+    /**
+     * Dictionary-encoded placement drive qualities.
+     */
+    private final DictionaryColumn placementQualities;
+
+    /**
+     * Sorted per-category index of the projected cutoffs.
+     */
+    private final CutoffIndex cutoffIndex;
+
+    /**
+     * Row id by institution code and branch code (first row wins on duplicates).
+     */
+    private final Map<String, Map<String, Integer>> rowsByInstcode;
+
+    /**
+     * Sorted distinct branch codes offered by each institution code.
+     */
+    private final Map<String, List<String>> branchesByInstcode;
+
+    /**
+     * Materialized analytics aggregates of this snapshot.
+     */
+    private final AnalyticsView analytics;
+
+    /**
+     * Trigram index over institution names, places and districts.
+     */
+    private final NameSearchIndex nameSearch;
+
+    /**
+     * Nearest-neighbour graph of similar colleges.
+     */
+    private final SimilarityGraph similarity;
+
+    /**
+     * Constructor for creating a snapshot of a single admission year from a list of college rows.
+     *
+     * @param colleges The college rows to include (copied defensively)
+     * @param version The version number of this snapshot
+     * @param loadedAt The time at which the rows were loaded
+     */
+    public CollegeSnapshot(List<College> colleges, long version, Instant loadedAt) {
+        this(colleges, CutoffHistory.EMPTY, version, loadedAt);
+    }
+
+    /**
+     * Constructor for creating a snapshot from a list of college rows and the closing ranks of
+     * earlier admission years.
+     *
+     * @param colleges The college rows to include (copied defensively)
+     * @param history Closing ranks of earlier years, keyed by the serial numbers of the rows
+     * @param version The version number of this snapshot
+     * @param loadedAt The time at which the rows were loaded
+     */
+    public CollegeSnapshot(List<College> colleges, CutoffHistory history, long version, Instant loadedAt) {
+        this.colleges = List.copyOf(colleges);
+        this.history = history;
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.contentHash = contentHash(this.colleges, history);
+
+        int rowCount = this.colleges.size();
+        this.cutoffs = new int[CUTOFF_COLUMNS.size()][rowCount];
+        this.averagePackages = new double[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            College college = this.colleges.get(row);
+            for (int column = 0; column < cutoffs.length; column++) {
+                Integer cutoff = CUTOFF_GETTERS.get(column).apply(college);
+                cutoffs[column][row] = cutoff != null && cutoff > 0 ? cutoff : NO_CUTOFF;
+            }
+            Double averagePackage = college.getAveragePackage();
+            averagePackages[row] = averagePackage != null ? averagePackage : Double.NaN;
+        }
+        this.branchCodes = DictionaryColumn.encode(this.colleges, College::getBranchCode);
+        this.districts = DictionaryColumn.encode(this.colleges, College::getDistrict);
+        this.regions = DictionaryColumn.encode(this.colleges, College::getRegion);
+        this.tiers = DictionaryColumn.encode(this.colleges, College::getTier);
+        this.placementQualities = DictionaryColumn.encode(this.colleges, College::getPlacementDriveQuality);
+        Map<Integer, Integer> rowsBySno = new HashMap<>();
+        if (!history.isEmpty()) {
+            for (int row = 0; row < rowCount; row++) {
+                if (this.colleges.get(row).getSno() != null) {
+                    rowsBySno.putIfAbsent(this.colleges.get(row).getSno(), row);
+                }
+            }
+        }
+        this.trends = new CutoffTrends(cutoffs, rowsBySno, history);
+        this.cutoffIndex = new CutoffIndex(trends.projectedCutoffs());
+
+        this.rowsByInstcode = new HashMap<>();
+        for (int row = 0; row < rowCount; row++) {
+            College college = this.colleges.get(row);
+            if (college.getInstcode() == null || college.getBranchCode() == null) continue;
+            rowsByInstcode.computeIfAbsent(college.getInstcode(), key -> new HashMap<>())
+                    .putIfAbsent(college.getBranchCode(), row);
+        }
+        this.branchesByInstcode = new HashMap<>();
+        rowsByInstcode.forEach((instcode, rows) ->
+                branchesByInstcode.put(instcode, rows.keySet().stream().sorted().toList()));
+
+        this.analytics = new AnalyticsView(this.colleges);
+        this.nameSearch = new NameSearchIndex(this.colleges);
+        this.similarity = new SimilarityGraph(cutoffs, averagePackages, branchCodes, this.colleges);
+    }
+
+    /**
+     * Gets the cutoff column index of a category and gender combination.
+     *
+     * @param category The reservation category
+     * @param gender The gender
+     * @return The column index
+     */
+    public static int cutoffColumn(Category category, Gender gender) {
+        return category.ordinal() * Gender.values().length + gender.ordinal();
+    }
+
+    /**
+     * Resolves a cutoff key such as "oc_boys" to its column index.
+     *
+     * @param key The cutoff key (case-insensitive, can be null)
+     * @return The column index, or -1 if the key is unknown
+     */
+    public static int cutoffColumn(String key) {
+        if (key == null) {
+            return -1;
+        }
+        Integer column = COLUMN_INDEX.get(key.toLowerCase(Locale.ROOT));
+        return column != null ? column : -1;
+    }
+
+    /**
+     * Gets the cutoff of a row in a column.
+     *
+     * @param column The cutoff column index
+     * @param row The row id
+     * @return The cutoff rank, or {@link #NO_CUTOFF} if missing
+     */
+    public int cutoff(int column, int row) { return cutoffs[column][row]; }
+
+    /**
+     * Gets the trend statistics and projections of the cutoffs.
+     *
+     * @return The cutoff trends
+     */
+    public CutoffTrends getTrends() { return trends; }
+
+    /**
+     * Gets the closing ranks of earlier admission years.
+     *
+     * @return The history (empty for a single admission year)
+     */
+    public CutoffHistory getHistory() { return history; }
+
+    /**
+     * Gets the average package of a row.
+     *
+     * @param row The row id
+     * @return The average package, or NaN if missing
+     */
+    public double averagePackage(int row) { return averagePackages[row]; }
+
+    /**
+     * Gets the college entity of a row.
+     *
+     * @param row The row id
+     * @return The college entity
+     */
+    public College college(int row) { return colleges.get(row); }
+
+    /**
+     * Gets the dictionary-encoded branch code column.
+     *
+     * @return The branch code column
+     */
+    public DictionaryColumn getBranchCodes() { return branchCodes; }
+
+    /**
+     * Gets the sorted per-category index of the projected cutoffs.
+     *
+     * @return The cutoff index
+     */
+    public CutoffIndex getCutoffIndex() { return cutoffIndex; }
+
+    /**
+     * Gets the materialized analytics aggregates.
+     *
+     * @return The analytics view
+     */
+    public AnalyticsView getAnalytics() { return analytics; }
+
+    /**
+     * Gets the trigram index over institution names, places and districts.
+     *
+     * @return The name search index
+     */
+    public NameSearchIndex getNameSearch() { return nameSearch; }
+
+    /**
+     * Gets the nearest-neighbour graph of similar colleges.
+     *
+     * @return The similarity graph
+     */
+    public SimilarityGraph getSimilarity() { return similarity; }
+
+    /**
+     * Finds the first row with the given institution code and branch code through the hash index.
+     *
+     * @param instcode The institution code
+     * @param branchCode The branch code
+     * @return The row id, or -1 if no row matches
+     */
+    public int findRow(String instcode, String branchCode) {
+        Map<String, Integer> rows = rowsByInstcode.get(instcode);
+        Integer row = rows != null ? rows.get(branchCode) : null;
+        return row != null ? row : -1;
+    }
+
+    /**
+     * Gets the branch codes offered by an institution.
+     *
+     * @param instcode The institution code
+     * @return Sorted, distinct branch codes; empty if the institution is unknown
+     */
+    public List<String> branchesOf(String instcode) {
+        return branchesByInstcode.getOrDefault(instcode, List.of());
+    }
+
+    /**
+     * Finds the ids of all rows matching the given multi-select filters.
+     * Each filter resolves through the inverted index of its column to an OR of the value
+     * bitmaps, and the filters are combined with AND. A null or empty filter matches every
+     * row; values match ignoring case as the database collation did.
+     *
+     * @param branchFilter Allowed branch codes (can be null)
+     * @param districtFilter Allowed districts (can be null)
+     * @param regionFilter Allowed regions (can be null)
+     * @param tierFilter Allowed tiers (can be null)
+     * @param qualityFilter Allowed placement drive qualities (can be null)
+     * @return Bitmap of the matching row ids
+     */
+    public BitSet matchingRows(List<String> branchFilter, List<String> districtFilter, List<String> regionFilter,
+                               List<String> tierFilter, List<String> qualityFilter) {
+        BitSet rows = new BitSet(colleges.size());
+        rows.set(0, colleges.size());
+        restrict(rows, branchCodes, branchFilter);
+        restrict(rows, districts, districtFilter);
+        restrict(rows, regions, regionFilter);
+        restrict(rows, tiers, tierFilter);
+        restrict(rows, placementQualities, qualityFilter);
+        return rows;
+    }
+
+    /**
+     * Intersects a row bitmap with the rows matching a filter; a missing filter keeps every row.
+     */
+    private static void restrict(BitSet rows, DictionaryColumn column, List<String> filter) {
+        if (filter != null && !filter.isEmpty() && !rows.isEmpty()) {
+            rows.and(column.rowsMatching(filter));
+        }
+    }
+
+    /**
+     * Gets all college rows in this snapshot.
+     *
+     * @return Unmodifiable list of college rows
+     */
+    public List<College> getColleges() { return colleges; }
+
+    /**
+     * Gets the number of college rows in this snapshot.
+     *
+     * @return The row count
+     */
+    public int size() { return colleges.size(); }
+
+    /**
+     * Gets the version number of this snapshot.
+     *
+     * @return The snapshot version
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Gets the time at which this snapshot was loaded.
+     *
+     * @return The load time
+     */
+    public Instant getLoadedAt() { return loadedAt; }
+
+    /**
+     * Gets the content hash, suitable as a strong HTTP entity tag for responses derived
+     * only from this snapshot.
+     *
+     * @return Hex-encoded hash of all rows
+     */
+    public String getContentHash() { return contentHash; }
+
+    /**
+     * Hashes every column of every row, in row order, followed by the history if there is one.
+     *
+     * @param colleges The rows to hash
+     * @param history The closing ranks of earlier years
+     * @return The first 128 bits of the SHA-256 digest, hex-encoded
+     */
+    private static String contentHash(List<College> colleges, CutoffHistory history) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        StringBuilder row = new StringBuilder(256);
+        for (College c : colleges) {
+            row.setLength(0);
+            for (Object value : new Object[] {
+                    c.getSno(), c.getInstcode(), c.getInstitution_name(), c.getDivision(), c.getRegion(),
+                    c.getDistrict(), c.getPlace(), c.getAffl(), c.getBranchCode(), c.getTier(),
+                    c.getHighestPackage(), c.getAveragePackage(), c.getPlacementDriveQuality()}) {
+                row.append(value).append('\u001f');
+            }
+            for (Function<College, Integer> getter : CUTOFF_GETTERS) {
+                row.append(getter.apply(c)).append('\u001f');
+            }
+            row.append('\u001e');
+            digest.update(row.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        if (!history.isEmpty()) {
+            digest.update((history.year() + "\u001d").getBytes(StandardCharsets.UTF_8));
+            for (CutoffPoint point : history.points()) {
+                row.setLength(0);
+                row.append(point.offeringId()).append('\u001f').append(point.year()).append('\u001f')
+                        .append(point.category()).append('\u001f').append(point.gender()).append('\u001f')
+                        .append(point.closingRank()).append('\u001e');
+                digest.update(row.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+}
@@ -0,0 +1,168 @@
+package com.Eamcet.predictor.data;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of comma-separated values as written by spreadsheet applications (RFC 4180).
+ * Records are read one at a time, so files of any size are parsed in constant memory.
+ *
+ * Fields may be quoted; quoted fields may contain commas, line breaks and doubled quotes.
+ * Unquoted fields are trimmed. Lines may end in LF or CRLF, a leading byte order mark is
+ * skipped, and blank lines are ignored.
+ */
+public class CsvReader implements AutoCloseable {
+
+    private final Reader reader;
+
+    /**
+     * Character read ahead, or -2 if none.
+     */
+    private int peeked = -2;
+
+    /**
+     * Number of the line the current position is on, starting at 1.
+     */
+    private int line = 1;
+
+    /**
+     * Line on which the last returned record started.
+     */
+    private int recordLine;
+
+    /**
+     * Whether the start of the input (and a byte order mark there) is still ahead.
+     */
+    private boolean atStart = true;
+
+    /**
+     * Constructor for a reader of the given character stream.
+     *
+     * @param reader The characters to parse (buffered by the caller)
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The fields of the record, or null at the end of the input
+     * @throws IOException If reading fails
+     * @throws IllegalArgumentException If a quoted field is not closed
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (atStart && c == '\uFEFF') {
+            c = read();
+        }
+        atStart = false;
+        while (c == '\n' || c == '\r') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        while (true) {
+            if (c == '"') {
+                c = readQuoted(field);
+                // Anything between the closing quote and the next separator is ignored
+                while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                    c = read();
+                }
+                fields.add(field.toString());
+            } else {
+                while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                    field.append((char) c);
+                    c = read();
+                }
+                fields.add(field.toString().trim());
+            }
+            field.setLength(0);
+            if (c != ',') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                return fields;
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Gets the line on which the last returned record started, for error messages.
+     *
+     * @return The line number, starting at 1
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Reads the rest of a quoted field after its opening quote.
+     *
+     * @param field Receives the unquoted content
+     * @return The first character after the closing quote
+     * @throws IOException If reading fails
+     * @throws IllegalArgumentException If the field is not closed
+     */
+    private int readQuoted(StringBuilder field) throws IOException {
+        int start = line;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new IllegalArgumentException("line " + start + ": quoted field is not closed");
+            }
+            if (c == '"') {
+                if (peek() != '"') {
+                    return read();
+                }
+                read();
+            }
+            field.append((char) c);
+        }
+    }
+
+    /**
+     * Reads one character, counting lines.
+     */
+    private int read() throws IOException {
+        int c;
+        if (peeked != -2) {
+            c = peeked;
+            peeked = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    /**
+     * Looks at the next character without consuming it.
+     */
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException If closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
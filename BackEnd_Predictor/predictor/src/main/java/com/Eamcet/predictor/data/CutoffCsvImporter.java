@@ -0,0 +1,514 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.exception.CutoffImportException;
+import com.Eamcet.predictor.model.Category;
+import com.Eamcet.predictor.model.Gender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk import of cutoff files in CSV format into the normalized college schema.
+ * A file has a header row and one row per branch offering, with the columns of raw_table:
+ * instcode, branch_code and the 18 category and gender cutoff columns (oc_boys ... oc_ews_girls)
+ * are required, the institution and placement columns are optional. Header names are matched
+ * case-insensitively, with spaces and hyphens read as underscores; "district" is accepted for
+ * dist and a serial number column (sno or S.No) is ignored.
+ *
+ * The file is parsed as it is streamed, one record at a time, and the valid rows are written
+ * to a local temporary file in batches, so memory use does not grow with the file. Only once the
+ * whole file has been read and validated does the import take a database connection: the
+ * batches are written to the cutoff_import staging table with JDBC batches and the staging
+ * table is imported with the set-based statements of {@link RawTableImporter}, in one
+ * transaction. A slow upload therefore never holds a connection or a transaction open, and a
+ * file is imported exactly like raw_table. If any row is invalid nothing is imported and a
+ * {@link CutoffImportException} lists the problems with their line numbers.
+ *
+ * A file may cover only some offerings and leave out optional columns: institution and
+ * placement details the header does not have keep their current values, and only the year's
+ * cutoffs of the offerings in the file are replaced. Nothing is removed unless the import is
+ * asked to replace all data, in which case the file is imported like raw_table: offerings not
+ * in it are removed with their cutoffs of every year, and all of the year's cutoffs are replaced.
+ *
+ * Cutoffs may be blank, "-", "NA" or "N/A" for a category without a cutoff, and may contain
+ * thousands separators. Imports run one at a time, through the {@link DatabaseGate}.
+ */
+@Component
+public class CutoffCsvImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CutoffCsvImporter.class);
+
+    /**
+     * Rows per JDBC batch.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    /**
+     * Rows between two progress reports in the log.
+     */
+    static final int PROGRESS_INTERVAL = 10_000;
+
+    /**
+     * Maximum number of problems reported; the file is still read to the end to count them all.
+     */
+    static final int MAX_ERRORS = 100;
+
+    /**
+     * Columns of the staging table after the serial number, in insert order.
+     */
+    private static final List<Column> COLUMNS = columns();
+
+    private static final String INSERT = "INSERT INTO cutoff_import (sno, "
+            + COLUMNS.stream().map(Column::name).collect(Collectors.joining(", "))
+            + ") VALUES (?" + ", ?".repeat(COLUMNS.size()) + ")";
+
+    private static final int[] INSERT_TYPES = insertTypes();
+
+    /**
+     * Classes a staged batch may contain: arrays of strings, doubles and integers.
+     */
+    private static final ObjectInputFilter BATCH_FILTER = ObjectInputFilter.Config.createFilter("java.lang.*;!*");
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final DatabaseGate gate;
+    private final RawTableImporter rawTableImporter;
+
+    /**
+     * Held while a file is written to the staging table and imported; the staging table holds
+     * one file at a time. Files are parsed without it.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Constructor for dependency injection of the database access and the raw_table importer.
+     *
+     * @param jdbc JDBC access to the database
+     * @param transactions Template running each import in one transaction
+     * @param gate The gate every database access goes through
+     * @param rawTableImporter The importer whose statements move the staged rows into the normalized schema
+     */
+    public CutoffCsvImporter(JdbcTemplate jdbc, TransactionTemplate transactions, DatabaseGate gate,
+                             RawTableImporter rawTableImporter) {
+        this.jdbc = jdbc;
+        this.transactions = transactions;
+        this.gate = gate;
+        this.rawTableImporter = rawTableImporter;
+    }
+
+    /**
+     * Imports a CSV cutoff file as the cutoffs of the given admission year, updating the
+     * offerings in the file and keeping all others.
+     * The stream is read to the end but not closed.
+     *
+     * @param in The file content, encoded in UTF-8
+     * @param year The admission year of the cutoffs in the file
+     * @return Counts and timing of the import
+     * @throws IOException If reading the file fails
+     * @throws CutoffImportException If the file is not well-formed CSV, does not match the expected
+     *                               columns or has invalid rows
+     */
+    public Report importCsv(InputStream in, int year) throws IOException {
+        return importCsv(in, year, false);
+    }
+
+    /**
+     * Imports a CSV cutoff file as the cutoffs of the given admission year.
+     * The stream is read to the end but not closed.
+     *
+     * @param in The file content, encoded in UTF-8
+     * @param year The admission year of the cutoffs in the file
+     * @param replace Whether the file replaces all data: offerings not in it are removed, and all
+     *                cutoffs of the year are replaced
+     * @return Counts and timing of the import
+     * @throws IOException If reading the file fails
+     * @throws CutoffImportException If the file is not well-formed CSV, does not match the expected
+     *                               columns or has invalid rows
+     */
+    public Report importCsv(InputStream in, int year, boolean replace) throws IOException {
+        long start = System.nanoTime();
+        Path file = Files.createTempFile("cutoff-import-", ".bin");
+        try {
+            StagedFile staged = stage(in, file, start);
+            lock.lock();
+            try {
+                Report report = gate.call(() -> transactions.execute(status ->
+                        importInTransaction(staged, year, replace, start)));
+                log.info("Imported {} cutoff rows as {} cutoffs in {} batches: {} offerings updated, {} removed, "
+                        + "{} cutoffs in {} ms", report.rows(), year, report.batches(),
+                        report.normalized().offerings(), report.normalized().removedOfferings(),
+                        report.normalized().cutoffs(), report.millis());
+                return report;
+            } finally {
+                lock.unlock();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Parses and validates the whole file, writing the valid rows to a local file in batches,
+     * without touching the database.
+     *
+     * @param in The file content, encoded in UTF-8
+     * @param file The local file receiving the batches
+     * @param start When the import started, for the progress reports
+     * @return The staged file
+     */
+    private static StagedFile stage(InputStream in, Path file, long start) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16));
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            int[] positions = readHeader(csv.next());
+
+            List<String> errors = new ArrayList<>();
+            int problems = 0;
+            Map<String, Integer> keys = new HashMap<>();
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            int rows = 0;
+            int batches = 0;
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                rows++;
+                List<String> rowErrors = new ArrayList<>();
+                Object[] values = parse(record, positions, rows, csv.getRecordLine(), keys, rowErrors);
+                if (!rowErrors.isEmpty()) {
+                    problems += rowErrors.size();
+                    for (String error : rowErrors) {
+                        if (errors.size() < MAX_ERRORS) {
+                            errors.add(error);
+                        }
+                    }
+                } else if (problems == 0) {
+                    batch.add(values);
+                    if (batch.size() == BATCH_SIZE) {
+                        writeBatch(out, batch);
+                        batches++;
+                    }
+                }
+                if (rows % PROGRESS_INTERVAL == 0) {
+                    long elapsed = System.nanoTime() - start;
+                    log.info("Cutoff import: {} rows read in {} ms ({} rows/s)", rows, elapsed / 1_000_000,
+                            rows * 1_000_000_000L / Math.max(1, elapsed));
+                }
+            }
+
+            if (problems > 0) {
+                throw new CutoffImportException("The cutoff file has " + problems + " problem"
+                        + (problems == 1 ? "" : "s") + "; nothing was imported", errors);
+            }
+            if (rows == 0) {
+                throw new CutoffImportException("The cutoff file has no rows", List.of());
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(out, batch);
+                batches++;
+            }
+
+            Set<String> present = IntStream.range(0, COLUMNS.size())
+                    .filter(column -> positions[column] >= 0)
+                    .mapToObj(column -> COLUMNS.get(column).name())
+                    .collect(Collectors.toSet());
+            return new StagedFile(file, present, rows, batches);
+        } catch (IllegalArgumentException e) {
+            throw new CutoffImportException("The cutoff file is not well-formed CSV; nothing was imported",
+                    List.of(e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes the staged rows to the staging table and imports it; must be called inside a transaction.
+     */
+    private Report importInTransaction(StagedFile staged, int year, boolean replace, long start) {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(staged.file()), 1 << 16))) {
+            in.setObjectInputFilter(BATCH_FILTER);
+            jdbc.update("DELETE FROM cutoff_import");
+            for (int batch = 0; batch < staged.batches(); batch++) {
+                jdbc.batchUpdate(INSERT, Arrays.asList((Object[][]) in.readObject()), INSERT_TYPES);
+            }
+
+            RawTableImporter.Result result = rawTableImporter.importInTransaction("cutoff_import", year,
+                    staged.columns(), replace);
+            jdbc.update("DELETE FROM cutoff_import");
+            return new Report(year, staged.rows(), staged.batches(), result, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unreadable staged cutoff batch", e);
+        }
+    }
+
+    /**
+     * Maps the header row to the staging columns.
+     *
+     * @param header The header fields (null for an empty file)
+     * @return For each staging column, the position of its field in a record, or -1 if absent
+     */
+    private static int[] readHeader(List<String> header) {
+        if (header == null) {
+            throw new CutoffImportException("The cutoff file is empty", List.of());
+        }
+        int[] positions = new int[COLUMNS.size()];
+        Arrays.fill(positions, -1);
+        List<String> errors = new ArrayList<>();
+        for (int field = 0; field < header.size(); field++) {
+            String name = normalize(header.get(field));
+            if (name.isEmpty() || name.equals("sno")) {
+                continue;
+            }
+            int column = indexOf(name);
+            if (column < 0) {
+                errors.add("line 1: unknown column \"" + header.get(field) + "\"");
+            } else if (positions[column] >= 0) {
+                errors.add("line 1: column " + name + " appears twice");
+            } else {
+                positions[column] = field;
+            }
+        }
+        for (int column = 0; column < COLUMNS.size(); column++) {
+            if (COLUMNS.get(column).required() && positions[column] < 0) {
+                errors.add("line 1: required column " + COLUMNS.get(column).name() + " is missing");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new CutoffImportException("The header of the cutoff file does not match the expected columns",
+                    errors);
+        }
+        return positions;
+    }
+
+    /**
+     * Validates and converts one record.
+     *
+     * @param record The fields of the record
+     * @param positions Field position of each staging column
+     * @param sno Serial number of the row in the file
+     * @param line Line on which the record starts
+     * @param keys Line of every institution and branch code pair seen so far
+     * @param errors Receives the problems found
+     * @return The staging row, starting with the serial number
+     */
+    private static Object[] parse(List<String> record, int[] positions, int sno, int line,
+                                  Map<String, Integer> keys, List<String> errors) {
+        Object[] values = new Object[COLUMNS.size() + 1];
+        values[0] = sno;
+        for (int column = 0; column < COLUMNS.size(); column++) {
+            if (positions[column] < 0) {
+                continue;
+            }
+            if (positions[column] >= record.size()) {
+                errors.add("line " + line + ": expected at least " + (positions[column] + 1) + " fields, found "
+                        + record.size());
+                return values;
+            }
+            Column spec = COLUMNS.get(column);
+            String field = record.get(positions[column]).trim();
+            try {
+                values[column + 1] = spec.parse(field);
+            } catch (IllegalArgumentException e) {
+                errors.add("line " + line + ": " + spec.name() + " " + e.getMessage());
+            }
+        }
+
+        Object instcode = values[1 + indexOf("instcode")];
+        Object branch = values[1 + indexOf("branch_code")];
+        if (instcode != null && branch != null) {
+            Integer first = keys.putIfAbsent(instcode + "\u0000" + branch, line);
+            if (first != null) {
+                errors.add("line " + line + ": duplicate row for " + instcode + " " + branch + " (first on line "
+                        + first + ")");
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Writes and clears a batch of staging rows. The stream is reset after each batch, so it
+     * does not keep the rows written.
+     */
+    private static void writeBatch(ObjectOutputStream out, List<Object[]> batch) throws IOException {
+        out.writeObject(batch.toArray(new Object[0][]));
+        out.reset();
+        batch.clear();
+    }
+
+    /**
+     * Normalizes a header name: trimmed, lower case, without dots, spaces and hyphens as underscores.
+     */
+    private static String normalize(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT).replace(".", "").replaceAll("[\\s-]+", "_");
+        return normalized.equals("district") ? "dist" : normalized;
+    }
+
+    /**
+     * Finds a staging column by name.
+     */
+    private static int indexOf(String name) {
+        for (int column = 0; column < COLUMNS.size(); column++) {
+            if (COLUMNS.get(column).name().equals(name)) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lists the staging columns in the order of raw_table.
+     */
+    private static List<Column> columns() {
+        List<Column> columns = new ArrayList<>(List.of(
+                Column.text("instcode", 32, true),
+                Column.text("institution_name", 255, false),
+                Column.text("division", 255, false),
+                Column.text("region", 32, false),
+                Column.text("dist", 64, false),
+                Column.text("place", 255, false),
+                Column.text("affl", 255, false),
+                Column.text("branch_code", 32, true),
+                Column.text("tier", 32, false),
+                new Column("highest_package", Types.DOUBLE, 0, false),
+                new Column("average_package", Types.DOUBLE, 0, false),
+                Column.text("placement_drive_quality", 32, false)));
+        for (Category category : Category.values()) {
+            for (Gender gender : Gender.values()) {
+                columns.add(new Column(category.getKey() + "_" + gender.getKey(), Types.INTEGER, 0, true));
+            }
+        }
+        return List.copyOf(columns);
+    }
+
+    /**
+     * SQL types of the insert parameters, so that null values are bound without metadata lookups.
+     */
+    private static int[] insertTypes() {
+        int[] types = new int[COLUMNS.size() + 1];
+        types[0] = Types.INTEGER;
+        for (int column = 0; column < COLUMNS.size(); column++) {
+            types[column + 1] = COLUMNS.get(column).type();
+        }
+        return types;
+    }
+
+    /**
+     * A column of the staging table.
+     *
+     * @param name The column name
+     * @param type The SQL type: VARCHAR, DOUBLE (packages) or INTEGER (cutoffs)
+     * @param maxLength Maximum length of a VARCHAR value
+     * @param required Whether the file must have the column; for VARCHAR columns, also whether every row needs a value
+     */
+    private record Column(String name, int type, int maxLength, boolean required) {
+
+        static Column text(String name, int maxLength, boolean required) {
+            return new Column(name, Types.VARCHAR, maxLength, required);
+        }
+
+        /**
+         * Converts a trimmed field to the value stored.
+         *
+         * @throws IllegalArgumentException With the reason, if the field is not valid
+         */
+        Object parse(String field) {
+            switch (type) {
+                case Types.VARCHAR -> {
+                    if (field.isEmpty()) {
+                        if (required) {
+                            throw new IllegalArgumentException("is missing");
+                        }
+                        return null;
+                    }
+                    if (field.length() > maxLength) {
+                        throw new IllegalArgumentException("is longer than " + maxLength + " characters");
+                    }
+                    return field;
+                }
+                case Types.DOUBLE -> {
+                    if (field.isEmpty() || isNotAvailable(field)) {
+                        return null;
+                    }
+                    double value;
+                    try {
+                        value = Double.parseDouble(field);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("is not a number: \"" + field + "\"");
+                    }
+                    if (!(value >= 0) || Double.isInfinite(value)) {
+                        throw new IllegalArgumentException("must be zero or more: \"" + field + "\"");
+                    }
+                    return value;
+                }
+                default -> {
+                    if (field.isEmpty() || field.equals("-") || isNotAvailable(field)) {
+                        return null;
+                    }
+                    int value;
+                    try {
+                        value = Integer.parseInt(field.replace(",", ""));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("is not a whole number: \"" + field + "\"");
+                    }
+                    if (value <= 0) {
+                        throw new IllegalArgumentException("must be a positive rank: \"" + field + "\"");
+                    }
+                    return value;
+                }
+            }
+        }
+
+        private static boolean isNotAvailable(String field) {
+            return field.equalsIgnoreCase("NA") || field.equalsIgnoreCase("N/A");
+        }
+    }
+
+    /**
+     * A parsed and validated file, waiting to be imported.
+     *
+     * @param file The local file holding the rows, in batches of {@link #BATCH_SIZE}
+     * @param columns The staging columns the file has
+     * @param rows Rows read from the file
+     * @param batches Batches in the local file
+     */
+    private record StagedFile(Path file, Set<String> columns, int rows, int batches) {}
+
+    /**
+     * Counts and timing of a CSV import.
+     *
+     * @param year The admission year imported
+     * @param rows Rows read from the file
+     * @param batches JDBC batches written to the staging table
+     * @param normalized Counts of the import into the normalized schema
+     * @param millis Duration of the whole import in milliseconds
+     */
+    public record Report(int year, int rows, int batches, RawTableImporter.Result normalized, long millis) {}
+}
@@ -0,0 +1,35 @@
+package com.Eamcet.predictor.data;
+
+import java.util.List;
+
+/**
+ * Closing ranks of the admission years before the one a snapshot serves, from which the
+ * snapshot derives the trend of every cutoff. Without earlier years the history is empty and
+ * every cutoff is taken as it is.
+ *
+ * @param year The admission year of the snapshot's cutoffs (0 if unknown)
+ * @param points Closing ranks of earlier years, in a stable order
+ */
+public record CutoffHistory(int year, List<CutoffPoint> points) {
+
+    /**
+     * History of a snapshot with a single admission year.
+     */
+    public static final CutoffHistory EMPTY = new CutoffHistory(0, List.of());
+
+    /**
+     * Constructor copying the points defensively.
+     */
+    public CutoffHistory {
+        points = List.copyOf(points);
+    }
+
+    /**
+     * Checks whether there are earlier years.
+     *
+     * @return true if no closing ranks of earlier years are known
+     */
+    public boolean isEmpty() {
+        return points.isEmpty();
+    }
+}
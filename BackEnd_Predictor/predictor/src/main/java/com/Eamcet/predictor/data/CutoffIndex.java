@@ -0,0 +1,105 @@
+package com.Eamcet.predictor.data;
+
+import java.util.Arrays;
+
+/**
+ * Sorted per-category cutoff index of a college snapshot.
+ * For every cutoff column it keeps the valid cutoffs in ascending order together with the
+ * ids of the rows they belong to, so a rank can be located by binary search and the rows
+ * closest to it enumerated outwards without scanning the whole column.
+ *
+ * Rows with equal cutoffs keep their original row order.
+ */
+public final class CutoffIndex {
+
+    /**
+     * Ascending cutoffs, indexed by [column][position].
+     */
+    private final int[][] sortedCutoffs;
+
+    /**
+     * Row id of each sorted cutoff, indexed by [column][position].
+     */
+    private final int[][] rowIds;
+
+    /**
+     * Builds the index from the primitive cutoff columns of a snapshot.
+     * Entries holding the {@link CollegeSnapshot#NO_CUTOFF} sentinel are left out.
+     *
+     * @param cutoffs Cutoff ranks indexed by [column][row]
+     */
+    CutoffIndex(int[][] cutoffs) {
+        this.sortedCutoffs = new int[cutoffs.length][];
+        this.rowIds = new int[cutoffs.length][];
+        for (int column = 0; column < cutoffs.length; column++) {
+            int[] values = cutoffs[column];
+
+            // Pack (cutoff, row) into one long so a primitive sort orders by cutoff, then row
+            long[] packed = new long[values.length];
+            int count = 0;
+            for (int row = 0; row < values.length; row++) {
+                if (values[row] != CollegeSnapshot.NO_CUTOFF) {
+                    packed[count++] = ((long) values[row] << 32) | row;
+                }
+            }
+            Arrays.sort(packed, 0, count);
+
+            int[] sorted = new int[count];
+            int[] rows = new int[count];
+            for (int i = 0; i < count; i++) {
+                sorted[i] = (int) (packed[i] >>> 32);
+                rows[i] = (int) packed[i];
+            }
+            sortedCutoffs[column] = sorted;
+            rowIds[column] = rows;
+        }
+    }
+
+    /**
+     * Gets the number of valid cutoffs in a column.
+     *
+     * @param column The cutoff column index
+     * @return The number of indexed entries
+     */
+    public int size(int column) { return sortedCutoffs[column].length; }
+
+    /**
+     * Gets the cutoff at a sorted position.
+     *
+     * @param column The cutoff column index
+     * @param position The sorted position
+     * @return The cutoff rank
+     */
+    public int cutoffAt(int column, int position) { return sortedCutoffs[column][position]; }
+
+    /**
+     * Gets the row id at a sorted position.
+     *
+     * @param column The cutoff column index
+     * @param position The sorted position
+     * @return The row id
+     */
+    public int rowAt(int column, int position) { return rowIds[column][position]; }
+
+    /**
+     * Finds the first sorted position whose cutoff is greater than or equal to a value.
+     *
+     * @param column The cutoff column index
+     * @param value The value to search for
+     * @return The position, or {@link #size(int)} if every cutoff is smaller
+     */
+    public int lowerBound(int column, int value) {
+        int[] sorted = sortedCutoffs[column];
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,13 @@
+package com.Eamcet.predictor.data;
+
+/**
+ * Projection of one closing rank of an earlier admission year, as selected for the trend
+ * statistics of the in-memory snapshot.
+ *
+ * @param offeringId Id of the branch offering (the serial number of its snapshot row)
+ * @param year The admission year
+ * @param category The category key ("oc", "sc", ...)
+ * @param gender The gender key ("boys" or "girls")
+ * @param closingRank The closing rank
+ */
+public record CutoffPoint(Integer offeringId, Integer year, String category, String gender, Integer closingRank) {}
@@ -0,0 +1,238 @@
+package com.Eamcet.predictor.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trend statistics of every cutoff of a college snapshot, precomputed when the snapshot is
+ * built so that predictions only read primitive arrays.
+ *
+ * For every cutoff with closing ranks of earlier years, the yearly changes of the logarithm
+ * of the closing rank give its slope (their mean, the relative change per year) and its
+ * volatility (their standard deviation; a single change is taken as its own deviation). The
+ * projected cutoff of the next admission year continues the slope from the current cutoff,
+ * and its spread, exp(sqrt(3) * volatility), gives the outer nodes of a three-point estimate
+ * of the probability over the uncertainty of the projection. The volatility includes the
+ * uncertainty of the slope itself, so fewer years mean a wider spread.
+ *
+ * A cutoff without earlier years has a slope and volatility of 0, a spread of 1 and is its
+ * own projection, so a snapshot of a single admission year predicts exactly as before.
+ */
+public final class CutoffTrends {
+
+    /**
+     * Largest slope used for a projection, as a change of the logarithm of the rank per year
+     * (about 28% up or 22% down).
+     */
+    static final double MAX_SLOPE = 0.25;
+
+    /**
+     * Largest volatility of a projection, as a standard deviation of the logarithm of the rank.
+     */
+    static final double MAX_VOLATILITY = 0.25;
+
+    /**
+     * Distance of the outer nodes of the three-point Gauss-Hermite rule, in standard deviations.
+     */
+    private static final double NODE = Math.sqrt(3.0);
+
+    /**
+     * Projected cutoffs indexed by [column][row]; the current cutoffs themselves if there is
+     * no history.
+     */
+    private final int[][] projected;
+
+    /**
+     * Slopes indexed by [column][row], or null if there is no history.
+     */
+    private final double[][] slopes;
+
+    /**
+     * Volatilities indexed by [column][row], or null if there is no history.
+     */
+    private final double[][] volatilities;
+
+    /**
+     * Spreads indexed by [column][row], or null if there is no history.
+     */
+    private final double[][] spreads;
+
+    /**
+     * Largest spread of each column.
+     */
+    private final double[] maxSpreads;
+
+    /**
+     * Computes the trends of the current cutoffs of a snapshot from the closing ranks of
+     * earlier years. Points of unknown rows or categories, of the current year or later, and of
+     * cutoffs missing in the current year are ignored.
+     *
+     * @param cutoffs Current cutoff ranks indexed by [column][row], {@link CollegeSnapshot#NO_CUTOFF} if missing
+     * @param rowsBySno Row id by serial number (offering id)
+     * @param history Closing ranks of earlier years
+     */
+    CutoffTrends(int[][] cutoffs, Map<Integer, Integer> rowsBySno, CutoffHistory history) {
+        this.maxSpreads = new double[cutoffs.length];
+        Arrays.fill(maxSpreads, 1.0);
+        if (history.isEmpty()) {
+            this.projected = cutoffs;
+            this.slopes = null;
+            this.volatilities = null;
+            this.spreads = null;
+            return;
+        }
+
+        int rowCount = cutoffs.length > 0 ? cutoffs[0].length : 0;
+        List<CutoffPoint> points = history.points();
+        if ((long) cutoffs.length * rowCount >= 1 << 23 || points.size() >= 1 << 24) {
+            throw new IllegalArgumentException("Cutoff history of " + points.size() + " points over "
+                    + rowCount + " rows is too large");
+        }
+        this.projected = new int[cutoffs.length][];
+        this.slopes = new double[cutoffs.length][rowCount];
+        this.volatilities = new double[cutoffs.length][rowCount];
+        this.spreads = new double[cutoffs.length][rowCount];
+        for (int column = 0; column < cutoffs.length; column++) {
+            projected[column] = cutoffs[column].clone();
+            Arrays.fill(spreads[column], 1.0);
+        }
+
+        // Pack (cell, year, point) into one long so a primitive sort groups each cutoff's points by year
+        long[] packed = new long[points.size()];
+        int count = 0;
+        for (int i = 0; i < points.size(); i++) {
+            CutoffPoint point = points.get(i);
+            Integer row = point.offeringId() != null ? rowsBySno.get(point.offeringId()) : null;
+            int column = CollegeSnapshot.cutoffColumn(point.category() + "_" + point.gender());
+            if (row == null || column < 0 || cutoffs[column][row] == CollegeSnapshot.NO_CUTOFF
+                    || point.year() == null || point.year() < 0 || point.year() > 0xFFFF
+                    || point.year() >= history.year() || point.closingRank() == null || point.closingRank() <= 0) {
+                continue;
+            }
+            long cell = (long) column * rowCount + row;
+            packed[count++] = cell << 40 | (long) point.year() << 24 | i;
+        }
+        Arrays.sort(packed, 0, count);
+
+        double[] years = new double[8];
+        double[] logRanks = new double[8];
+        double[] changes = new double[8];
+        for (int start = 0, end; start < count; start = end) {
+            long cell = packed[start] >>> 40;
+            int n = 0;
+            for (end = start; end < count && packed[end] >>> 40 == cell; end++) {
+                if (n + 1 == years.length) {
+                    years = Arrays.copyOf(years, n * 2);
+                    logRanks = Arrays.copyOf(logRanks, n * 2);
+                    changes = Arrays.copyOf(changes, n * 2);
+                }
+                years[n] = (packed[end] >>> 24) & 0xFFFF;
+                logRanks[n] = Math.log(points.get((int) (packed[end] & 0xFFFFFF)).closingRank());
+                n++;
+            }
+            int column = (int) (cell / rowCount);
+            int row = (int) (cell % rowCount);
+            years[n] = history.year();
+            logRanks[n] = Math.log(cutoffs[column][row]);
+            fit(column, row, years, logRanks, changes, n + 1);
+        }
+
+        for (int column = 0; column < cutoffs.length; column++) {
+            for (double spread : spreads[column]) {
+                maxSpreads[column] = Math.max(maxSpreads[column], spread);
+            }
+        }
+    }
+
+    /**
+     * Computes the statistics of one cutoff from its yearly series, the current year last.
+     */
+    private void fit(int column, int row, double[] years, double[] logRanks, double[] changes, int n) {
+        int m = n - 1;
+        double sum = 0;
+        for (int i = 0; i < m; i++) {
+            changes[i] = (logRanks[i + 1] - logRanks[i]) / (years[i + 1] - years[i]);
+            sum += changes[i];
+        }
+        double mean = sum / m;
+        double deviation;
+        if (m == 1) {
+            deviation = Math.abs(mean);
+        } else {
+            double squares = 0;
+            for (int i = 0; i < m; i++) {
+                squares += (changes[i] - mean) * (changes[i] - mean);
+            }
+            deviation = Math.sqrt(squares / (m - 1));
+        }
+
+        double slope = Math.max(-MAX_SLOPE, Math.min(MAX_SLOPE, mean));
+        double volatility = Math.min(MAX_VOLATILITY, deviation * Math.sqrt(1.0 + 1.0 / m));
+        slopes[column][row] = slope;
+        volatilities[column][row] = volatility;
+        spreads[column][row] = Math.exp(NODE * volatility);
+        projected[column][row] = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                Math.round(projected[column][row] * Math.exp(slope))));
+    }
+
+    /**
+     * Gets the projected cutoffs of every column, for the sorted cutoff index.
+     *
+     * @return Projected cutoff ranks indexed by [column][row]
+     */
+    int[][] projectedCutoffs() { return projected; }
+
+    /**
+     * Checks whether any cutoff has earlier years.
+     *
+     * @return true if trends were computed from a history
+     */
+    public boolean hasHistory() { return slopes != null; }
+
+    /**
+     * Gets the projected cutoff of the next admission year.
+     *
+     * @param column The cutoff column index
+     * @param row The row id
+     * @return The projected cutoff rank, or {@link CollegeSnapshot#NO_CUTOFF} if there is no current cutoff
+     */
+    public int projected(int column, int row) { return projected[column][row]; }
+
+    /**
+     * Gets the slope of a cutoff.
+     *
+     * @param column The cutoff column index
+     * @param row The row id
+     * @return The mean yearly change of the logarithm of the closing rank (0 without earlier years)
+     */
+    public double slope(int column, int row) { return slopes != null ? slopes[column][row] : 0.0; }
+
+    /**
+     * Gets the volatility of a projected cutoff.
+     *
+     * @param column The cutoff column index
+     * @param row The row id
+     * @return The standard deviation of the logarithm of the projected rank (0 without earlier years)
+     */
+    public double volatility(int column, int row) { return volatilities != null ? volatilities[column][row] : 0.0; }
+
+    /**
+     * Gets the spread of a projected cutoff: the factor between the projection and the outer
+     * nodes of the probability estimate.
+     *
+     * @param column The cutoff column index
+     * @param row The row id
+     * @return exp(sqrt(3) * volatility), 1 without earlier years
+     */
+    public double spread(int column, int row) { return spreads != null ? spreads[column][row] : 1.0; }
+
+    /**
+     * Gets the largest spread in a column, which bounds how far below a rank a projected
+     * cutoff can still carry a probability.
+     *
+     * @param column The cutoff column index
+     * @return The largest spread, at least 1
+     */
+    public double maxSpread(int column) { return maxSpreads[column]; }
+}
@@ -0,0 +1,13 @@
+package com.Eamcet.predictor.data;
+
+/**
+ * Cheap summary of the college data in the database, used to detect changes without reading
+ * every row. Added and removed offerings or cutoffs change the row count or the highest
+ * offering id, and corrected cutoffs change the checksum, which weighs every closing rank by
+ * its offering id so that values moved between offerings are detected as well.
+ *
+ * @param rowCount Number of offering and cutoff rows (an offering without cutoffs counts once)
+ * @param maxSno Highest offering id (null if there are no offerings)
+ * @param checksum Sum over all cutoffs of offering id times closing rank plus year (null if there are no offerings)
+ */
+public record DataFingerprint(Long rowCount, Integer maxSno, Long checksum) {}
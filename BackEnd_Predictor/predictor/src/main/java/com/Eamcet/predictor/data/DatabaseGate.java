@@ -0,0 +1,104 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency gate in front of the database.
+ * Requests run on virtual threads, so any number of them may want the database at once, while
+ * the connection pool holds only a few connections. Every database access goes through this
+ * gate: a fair semaphore with one permit per pooled connection, so callers queue here in
+ * arrival order instead of inside the pool, and the queue is visible in the metrics.
+ *
+ * A caller that waits longer than the configured timeout gets a {@link DatabaseBusyException}.
+ */
+@Component
+public class DatabaseGate {
+
+    /**
+     * Fair semaphore with one permit per pooled connection.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Maximum time a caller waits for a permit.
+     */
+    private final Duration timeout;
+
+    /**
+     * Time spent waiting for a permit.
+     */
+    private final Timer waitTimer;
+
+    /**
+     * Callers that gave up waiting.
+     */
+    private final Counter rejected;
+
+    /**
+     * Constructor for a gate with as many permits as the connection pool has connections.
+     *
+     * @param permits Maximum number of concurrent database accesses
+     * @param timeout Maximum time a caller waits for a permit
+     * @param registry Meter registry receiving the queue metrics
+     */
+    public DatabaseGate(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int permits,
+                        @Value("${predictor.db.gate-timeout:30s}") Duration timeout,
+                        MeterRegistry registry) {
+        this.permits = new Semaphore(permits, true);
+        this.timeout = timeout;
+        this.waitTimer = Timer.builder("predictor.db.gate.wait")
+                .description("Time spent queuing for a database permit")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.rejected = Counter.builder("predictor.db.gate.rejected")
+                .description("Database accesses that timed out waiting for a permit")
+                .register(registry);
+        Gauge.builder("predictor.db.gate.queued", this.permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a database permit")
+                .register(registry);
+        Gauge.builder("predictor.db.gate.active", this.permits, semaphore -> permits - semaphore.availablePermits())
+                .description("Database accesses in progress")
+                .register(registry);
+    }
+
+    /**
+     * Runs a database access once a permit is available.
+     *
+     * @param access The database access
+     * @param <T> The result type
+     * @return The result of the access
+     * @throws DatabaseBusyException if no permit became available within the timeout
+     */
+    public <T> T call(Supplier<T> access) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted while waiting for the database");
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new DatabaseBusyException("Timed out after " + timeout.toMillis() + " ms waiting for the database");
+        }
+        try {
+            return access.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.Eamcet.predictor.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Dictionary-encoded string column of a college snapshot.
+ * Each distinct value is stored once in the dictionary and every row holds only the
+ * int code of its value. The column also acts as an inverted index: every code has a row
+ * bitmap (posting list), so a multi-select filter resolves to an OR of bitmaps.
+ *
+ * Rows with a null value are encoded as {@link #NULL_CODE} and appear in no posting list.
+ */
+public final class DictionaryColumn {
+
+    /**
+     * Code used for rows whose value is null.
+     */
+    public static final int NULL_CODE = -1;
+
+    /**
+     * Distinct values, indexed by code.
+     */
+    private final String[] dictionary;
+
+    /**
+     * Code of the value of every row, indexed by row id.
+     */
+    private final int[] codes;
+
+    /**
+     * Bitmap of the rows holding each value, indexed by code.
+     */
+    private final BitSet[] postings;
+
+    /**
+     * Codes of the values equal to a key ignoring case, keyed by the lower-cased value.
+     */
+    private final Map<String, int[]> codesByLowerCase;
+
+    /**
+     * Constructor for a dictionary column.
+     *
+     * @param dictionary Distinct values, indexed by code
+     * @param codes Code of every row
+     */
+    private DictionaryColumn(String[] dictionary, int[] codes) {
+        this.dictionary = dictionary;
+        this.codes = codes;
+        this.postings = new BitSet[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            postings[code] = new BitSet(codes.length);
+        }
+        for (int row = 0; row < codes.length; row++) {
+            if (codes[row] != NULL_CODE) {
+                postings[codes[row]].set(row);
+            }
+        }
+        this.codesByLowerCase = new HashMap<>();
+        for (int code = 0; code < dictionary.length; code++) {
+            String key = dictionary[code].toLowerCase(Locale.ROOT);
+            int[] existing = codesByLowerCase.get(key);
+            int[] updated = existing == null ? new int[1] : Arrays.copyOf(existing, existing.length + 1);
+            updated[updated.length - 1] = code;
+            codesByLowerCase.put(key, updated);
+        }
+    }
+
+    /**
+     * Builds a dictionary column by extracting one attribute from every row.
+     * Codes are assigned in order of first appearance.
+     *
+     * @param rows The rows to encode
+     * @param extractor Function returning the attribute value of a row (may return null)
+     * @param <T> The row type
+     * @return The encoded column
+     */
+    public static <T> DictionaryColumn encode(List<T> rows, Function<T, String> extractor) {
+        Map<String, Integer> idsByValue = new HashMap<>();
+        List<String> values = new ArrayList<>();
+        int[] codes = new int[rows.size()];
+        for (int row = 0; row < codes.length; row++) {
+            String value = extractor.apply(rows.get(row));
+            if (value == null) {
+                codes[row] = NULL_CODE;
+                continue;
+            }
+            Integer id = idsByValue.get(value);
+            if (id == null) {
+                id = values.size();
+                idsByValue.put(value, id);
+                values.add(value);
+            }
+            codes[row] = id;
+        }
+        return new DictionaryColumn(values.toArray(new String[0]), codes);
+    }
+
+    /**
+     * Gets the code stored for a row.
+     *
+     * @param row The row id
+     * @return The value code, or {@link #NULL_CODE} if the value is null
+     */
+    public int code(int row) { return codes[row]; }
+
+    /**
+     * Gets the value stored for a row.
+     *
+     * @param row The row id
+     * @return The decoded value, or null
+     */
+    public String value(int row) {
+        int code = codes[row];
+        return code == NULL_CODE ? null : dictionary[code];
+    }
+
+    /**
+     * Gets the number of distinct non-null values.
+     *
+     * @return The dictionary size
+     */
+    public int cardinality() { return dictionary.length; }
+
+    /**
+     * Gets the distinct value for a code.
+     *
+     * @param code The value code
+     * @return The value
+     */
+    public String valueOf(int code) { return dictionary[code]; }
+
+    /**
+     * Resolves a multi-select filter to the bitmap of rows holding any of the given values,
+     * ignoring case. The returned bitmap is a fresh copy that the caller may modify.
+     *
+     * @param values The values to match
+     * @return Bitmap of the matching row ids
+     */
+    public BitSet rowsMatching(List<String> values) {
+        BitSet rows = new BitSet(codes.length);
+        for (String value : values) {
+            if (value == null) continue;
+            int[] matching = codesByLowerCase.get(value.toLowerCase(Locale.ROOT));
+            if (matching == null) continue;
+            for (int code : matching) {
+                rows.or(postings[code]);
+            }
+        }
+        return rows;
+    }
+}
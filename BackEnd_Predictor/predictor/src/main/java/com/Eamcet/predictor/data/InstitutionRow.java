@@ -0,0 +1,9 @@
+package com.Eamcet.predictor.data;
+
+/**
+ * Projection of one institution row, as selected for the in-memory snapshot.
+ * Institutions are read once each and joined to their offerings in memory, so the shared
+ * details are transferred once per institution instead of once per branch.
+ */
+public record InstitutionRow(Integer id, String instcode, String institutionName, String division,
+                             String region, String district, String place, String affl, String tier) {}
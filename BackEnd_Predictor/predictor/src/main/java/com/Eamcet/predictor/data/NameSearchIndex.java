@@ -0,0 +1,250 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.model.College;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Trigram index over the institution names, places and districts of a snapshot.
+ * Every distinct institution (instcode) is one document, represented by its first row.
+ * Each trigram of the lower-cased fields maps to the sorted list of documents containing it,
+ * so a substring query is answered by intersecting the posting lists of its trigrams and
+ * verifying the few remaining candidates, instead of scanning and lower-casing every row.
+ *
+ * Queries shorter than a trigram fall back to a scan of the pre-lower-cased documents,
+ * which is still bounded by the number of institutions rather than the number of rows.
+ */
+public final class NameSearchIndex {
+
+    /**
+     * Match quality: the name equals the query.
+     */
+    private static final int EXACT = 0;
+
+    /**
+     * Match quality: the name starts with the query.
+     */
+    private static final int PREFIX = 1;
+
+    /**
+     * Match quality: a word of the name starts with the query.
+     */
+    private static final int WORD_PREFIX = 2;
+
+    /**
+     * Match quality: the name contains the query.
+     */
+    private static final int SUBSTRING = 3;
+
+    /**
+     * Match quality: the place or district contains the query.
+     */
+    private static final int LOCATION = 4;
+
+    /**
+     * Match quality: no match.
+     */
+    private static final int NONE = Integer.MAX_VALUE;
+
+    /**
+     * Row id of the representative row of every document.
+     */
+    private final int[] documentRows;
+
+    /**
+     * Lower-cased institution name of every document (empty if missing).
+     */
+    private final String[] names;
+
+    /**
+     * Lower-cased place of every document (empty if missing).
+     */
+    private final String[] places;
+
+    /**
+     * Lower-cased district of every document (empty if missing).
+     */
+    private final String[] districts;
+
+    /**
+     * Sorted document ids containing each trigram, keyed by the packed trigram.
+     */
+    private final Map<Long, int[]> postings;
+
+    /**
+     * Builds the index over the given rows.
+     *
+     * @param colleges The rows of a snapshot
+     */
+    NameSearchIndex(List<College> colleges) {
+        // One document per institution, represented by its first row
+        Map<String, Integer> firstRows = new LinkedHashMap<>();
+        for (int row = 0; row < colleges.size(); row++) {
+            firstRows.putIfAbsent(colleges.get(row).getInstcode(), row);
+        }
+        int count = firstRows.size();
+        this.documentRows = new int[count];
+        this.names = new String[count];
+        this.places = new String[count];
+        this.districts = new String[count];
+
+        Map<Long, List<Integer>> lists = new HashMap<>();
+        int document = 0;
+        for (int row : firstRows.values()) {
+            College college = colleges.get(row);
+            documentRows[document] = row;
+            names[document] = normalize(college.getInstitution_name());
+            places[document] = normalize(college.getPlace());
+            districts[document] = normalize(college.getDistrict());
+            for (String field : new String[] {names[document], places[document], districts[document]}) {
+                for (int i = 0; i + 3 <= field.length(); i++) {
+                    List<Integer> list = lists.computeIfAbsent(trigram(field, i), k -> new ArrayList<>());
+                    // Documents are added in increasing order; skip repeats within a document
+                    if (list.isEmpty() || list.get(list.size() - 1) != document) {
+                        list.add(document);
+                    }
+                }
+            }
+            document++;
+        }
+
+        this.postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, list) -> postings.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Finds the institutions whose name, place or district contains the query, ignoring case.
+     * Results are ordered by match quality (exact name, name prefix, word prefix, name
+     * substring, then place or district), then by name.
+     *
+     * @param query The search text
+     * @return Representative row ids of the matching institutions, best match first
+     */
+    public int[] search(String query) {
+        String needle = normalize(query).trim();
+        int[] candidates = needle.length() < 3 ? allDocuments() : candidates(needle);
+
+        // Verify the candidates and compute their match quality
+        int matched = 0;
+        int[] qualities = new int[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            int quality = quality(candidates[i], needle);
+            if (quality != NONE) {
+                candidates[matched] = candidates[i];
+                qualities[matched++] = quality;
+            }
+        }
+
+        // Order by quality, then name, then document order; the count is small after filtering
+        Integer[] order = new Integer[matched];
+        for (int i = 0; i < matched; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int compare = Integer.compare(qualities[a], qualities[b]);
+            if (compare == 0) compare = names[candidates[a]].compareTo(names[candidates[b]]);
+            return compare != 0 ? compare : Integer.compare(candidates[a], candidates[b]);
+        });
+        int[] rows = new int[matched];
+        for (int i = 0; i < matched; i++) {
+            rows[i] = documentRows[candidates[order[i]]];
+        }
+        return rows;
+    }
+
+    /**
+     * Intersects the posting lists of every trigram of the query, smallest list first.
+     *
+     * @param needle The normalized query, at least three characters long
+     * @return Candidate document ids, in increasing order
+     */
+    private int[] candidates(String needle) {
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            int[] list = postings.get(trigram(needle, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        int[] result = lists.get(0).clone();
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            int[] list = lists.get(l);
+            int kept = 0;
+            for (int i = 0, j = 0; i < size && j < list.length; ) {
+                if (result[i] < list[j]) {
+                    i++;
+                } else if (result[i] > list[j]) {
+                    j++;
+                } else {
+                    result[kept++] = result[i++];
+                    j++;
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Gets the ids of all documents.
+     */
+    private int[] allDocuments() {
+        int[] documents = new int[documentRows.length];
+        for (int i = 0; i < documents.length; i++) {
+            documents[i] = i;
+        }
+        return documents;
+    }
+
+    /**
+     * Computes how well a document matches the query.
+     *
+     * @param document The document id
+     * @param needle The normalized query
+     * @return The match quality (lower is better), or NONE if the document does not match
+     */
+    private int quality(int document, String needle) {
+        String name = names[document];
+        int position = name.indexOf(needle);
+        if (position == 0) {
+            return name.length() == needle.length() ? EXACT : PREFIX;
+        }
+        if (position > 0) {
+            // Look for an occurrence at the start of a word
+            for (int p = position; p >= 0; p = name.indexOf(needle, p + 1)) {
+                if (!Character.isLetterOrDigit(name.charAt(p - 1))) {
+                    return WORD_PREFIX;
+                }
+            }
+            return SUBSTRING;
+        }
+        if (places[document].contains(needle) || districts[document].contains(needle)) {
+            return LOCATION;
+        }
+        return NONE;
+    }
+
+    /**
+     * Lower-cases a field value, mapping null to the empty string.
+     */
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Packs the three characters starting at an offset into a key.
+     */
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+}
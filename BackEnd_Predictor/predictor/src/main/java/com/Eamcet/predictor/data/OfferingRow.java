@@ -0,0 +1,30 @@
+package com.Eamcet.predictor.data;
+
+/**
+ * Projection of one branch offering with its closing ranks for one admission year, as selected
+ * for the in-memory snapshot. The cutoff rows are pivoted into one column per category and
+ * gender in the database, so each offering arrives as a single row.
+ */
+public record OfferingRow(Integer id, Integer institutionId, String branchCode,
+                          Double highestPackage, Double averagePackage, String placementDriveQuality,
+                          Integer ocBoys, Integer ocGirls, Integer scBoys, Integer scGirls,
+                          Integer stBoys, Integer stGirls, Integer bcaBoys, Integer bcaGirls,
+                          Integer bcbBoys, Integer bcbGirls, Integer bccBoys, Integer bccGirls,
+                          Integer bcdBoys, Integer bcdGirls, Integer bceBoys, Integer bceGirls,
+                          Integer ocEwsBoys, Integer ocEwsGirls) {
+
+    /**
+     * Combines the offering with the details of its institution into one snapshot row.
+     *
+     * @param institution The institution offering the branch
+     * @return The row, with the offering id as serial number
+     */
+    public CollegeRow toRow(InstitutionRow institution) {
+        return new CollegeRow(id, institution.instcode(), institution.institutionName(), institution.division(),
+                institution.region(), institution.district(), institution.place(), institution.affl(),
+                branchCode, institution.tier(), highestPackage, averagePackage, placementDriveQuality,
+                ocBoys, ocGirls, scBoys, scGirls, stBoys, stGirls, bcaBoys, bcaGirls,
+                bcbBoys, bcbGirls, bccBoys, bccGirls, bcdBoys, bcdGirls, bceBoys, bceGirls,
+                ocEwsBoys, ocEwsGirls);
+    }
+}
@@ -0,0 +1,307 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.model.Category;
+import com.Eamcet.predictor.model.Gender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Import path from raw_table into the normalized college schema (institution, branch_offering
+ * and cutoff), from which the snapshot is read. raw_table holds one admission year in its
+ * original layout: one row per branch, with the institution details repeated on every row and
+ * one column per category and gender.
+ *
+ * Importing the latest year (or a newer one) makes the normalized schema mirror raw_table:
+ * institutions and offerings are inserted or updated, offerings no longer in raw_table are
+ * removed with their cutoffs, and the year's cutoffs are replaced. Importing an older year only
+ * replaces that year's cutoffs of the offerings that still exist, so history can be backfilled
+ * without touching the current offerings.
+ *
+ * Other sources may be partial: a source that does not replace the data only updates the
+ * columns it has and only replaces the cutoffs of its own offerings, and never removes anything.
+ *
+ * Institution details are taken from the first row of each institution; rows without an
+ * institution code or branch code are not imported. Every import runs in one transaction,
+ * through the {@link DatabaseGate}.
+ *
+ * The same statements import any table with the layout of raw_table, such as the staging
+ * table filled by {@link CutoffCsvImporter}. In the statements below, %1$s is the source table.
+ * Existing institutions and offerings are updated and new ones inserted in separate statements
+ * rather than with INSERT ... ON DUPLICATE KEY UPDATE: MySQL deprecates VALUES() in that clause,
+ * and its replacement (a row alias, or a derived table for INSERT ... SELECT) is not understood
+ * by H2, which the import tests run against.
+ */
+@Component
+public class RawTableImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(RawTableImporter.class);
+
+    /**
+     * Institution columns, taken from the first row of each institution.
+     */
+    private static final List<String> INSTITUTION_COLUMNS =
+            List.of("institution_name", "division", "region", "dist", "place", "affl", "tier");
+
+    /**
+     * Offering columns, taken from the offering's row.
+     */
+    private static final List<String> OFFERING_COLUMNS =
+            List.of("highest_package", "average_package", "placement_drive_quality");
+
+    /**
+     * Institution and placement columns, which a partial source may leave out.
+     */
+    private static final List<String> OPTIONAL_COLUMNS = Stream.concat(INSTITUTION_COLUMNS.stream(),
+            OFFERING_COLUMNS.stream()).toList();
+
+    /**
+     * Update of the existing institutions; %2$s is the list of {@link #INSTITUTION_VALUE} assignments.
+     */
+    private static final String UPDATE_INSTITUTIONS =
+            "UPDATE institution SET %2$s "
+            + "WHERE EXISTS (SELECT 1 FROM %1$s r WHERE r.instcode = institution.instcode AND r.branch_code IS NOT NULL)";
+
+    /**
+     * Assignment of one institution column (%2$s) from the first row of the institution.
+     */
+    private static final String INSTITUTION_VALUE =
+            "%2$s = (SELECT r.%2$s FROM %1$s r WHERE r.sno = (SELECT MIN(f.sno) FROM %1$s f "
+            + "WHERE f.instcode = institution.instcode AND f.branch_code IS NOT NULL))";
+
+    private static final String INSERT_INSTITUTIONS =
+            "INSERT INTO institution (instcode, institution_name, division, region, dist, place, affl, tier) "
+            + "SELECT r.instcode, r.institution_name, r.division, r.region, r.dist, r.place, r.affl, r.tier "
+            + "FROM %1$s r "
+            + "WHERE r.sno IN (SELECT MIN(f.sno) FROM %1$s f "
+            + "WHERE f.instcode IS NOT NULL AND f.branch_code IS NOT NULL GROUP BY f.instcode) "
+            + "AND NOT EXISTS (SELECT 1 FROM institution i WHERE i.instcode = r.instcode) "
+            + "ORDER BY r.sno";
+
+    /**
+     * Update of the existing offerings; %2$s is the list of {@link #OFFERING_VALUE} assignments.
+     */
+    private static final String UPDATE_OFFERINGS =
+            "UPDATE branch_offering SET %2$s "
+            + "WHERE EXISTS (SELECT 1 FROM %1$s r JOIN institution i ON i.instcode = r.instcode "
+            + "WHERE i.id = branch_offering.institution_id AND r.branch_code = branch_offering.branch_code)";
+
+    /**
+     * Assignment of one offering column (%2$s) from the offering's row.
+     */
+    private static final String OFFERING_VALUE =
+            "%2$s = (SELECT r.%2$s FROM %1$s r JOIN institution i ON i.instcode = r.instcode "
+            + "WHERE i.id = branch_offering.institution_id AND r.branch_code = branch_offering.branch_code)";
+
+    private static final String INSERT_OFFERINGS =
+            "INSERT INTO branch_offering (institution_id, branch_code, highest_package, average_package, "
+            + "placement_drive_quality) "
+            + "SELECT i.id, r.branch_code, r.highest_package, r.average_package, r.placement_drive_quality "
+            + "FROM %1$s r JOIN institution i ON i.instcode = r.instcode "
+            + "WHERE r.branch_code IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM branch_offering o WHERE o.institution_id = i.id "
+            + "AND o.branch_code = r.branch_code) "
+            + "ORDER BY r.sno";
+
+    private static final String DELETE_REMOVED_OFFERINGS =
+            "DELETE FROM branch_offering WHERE NOT EXISTS (SELECT 1 FROM %1$s r "
+            + "JOIN institution i ON i.instcode = r.instcode "
+            + "WHERE i.id = branch_offering.institution_id AND r.branch_code = branch_offering.branch_code)";
+
+    private static final String DELETE_EMPTY_INSTITUTIONS =
+            "DELETE FROM institution WHERE NOT EXISTS (SELECT 1 FROM branch_offering o "
+            + "WHERE o.institution_id = institution.id)";
+
+    private static final String DELETE_YEAR = "DELETE FROM cutoff WHERE cutoff_year = ?";
+
+    private static final String DELETE_YEAR_OF_SOURCE =
+            "DELETE FROM cutoff WHERE cutoff_year = ? AND offering_id IN (SELECT o.id FROM %1$s r "
+            + "JOIN institution i ON i.instcode = r.instcode "
+            + "JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code)";
+
+    /**
+     * Insert of one cutoff column (%2$s); the column name comes from the Category and Gender
+     * keys, never from user input.
+     */
+    private static final String INSERT_CUTOFFS =
+            "INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank) "
+            + "SELECT o.id, ?, ?, ?, r.%2$s FROM %1$s r "
+            + "JOIN institution i ON i.instcode = r.instcode "
+            + "JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code "
+            + "WHERE r.%2$s IS NOT NULL";
+
+    /**
+     * Fingerprint of raw_table: row count, highest sno and the sum over all rows of sno times
+     * the cutoffs, each weighted by its column's position so that values moved between columns
+     * or rows change it too. Computed in DECIMAL, so the products of INTEGER columns cannot
+     * overflow.
+     */
+    private static final String FINGERPRINT = fingerprintQuery();
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final DatabaseGate gate;
+
+    /**
+     * Admission year of the cutoffs in raw_table, used when no year is given.
+     */
+    private final int defaultYear;
+
+    /**
+     * Constructor for dependency injection of the database access and the default year.
+     *
+     * @param jdbc JDBC access to the database
+     * @param transactions Template running each import in one transaction
+     * @param gate The gate every database access goes through
+     * @param defaultYear Admission year of the cutoffs in raw_table
+     */
+    public RawTableImporter(JdbcTemplate jdbc, TransactionTemplate transactions, DatabaseGate gate,
+                            @Value("${predictor.data.raw-table-year:2024}") int defaultYear) {
+        this.jdbc = jdbc;
+        this.transactions = transactions;
+        this.gate = gate;
+        this.defaultYear = defaultYear;
+    }
+
+    /**
+     * Imports raw_table as the cutoffs of the configured admission year.
+     *
+     * @return Counts of the imported rows
+     */
+    public Result importRawTable() {
+        return importRawTable(defaultYear);
+    }
+
+    /**
+     * Imports raw_table as the cutoffs of the given admission year.
+     *
+     * @param year The admission year of the cutoffs in raw_table
+     * @return Counts of the imported rows
+     */
+    public Result importRawTable(int year) {
+        long start = System.nanoTime();
+        Result result = gate.call(() -> transactions.execute(status -> importInTransaction("raw_table", year,
+                Set.copyOf(OPTIONAL_COLUMNS), true)));
+        log.info("Imported raw_table as {} cutoffs: {} offerings updated, {} removed, {} cutoffs in {} ms",
+                year, result.offerings(), result.removedOfferings(), result.cutoffs(),
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * Computes a fingerprint of raw_table, so that hand edits to it can be detected without
+     * reading its rows. Added and removed rows change the row count or the highest sno, and
+     * edited cutoffs change the checksum; edits to the institution and placement columns alone
+     * are not detected.
+     *
+     * @return Row count, highest sno and a checksum over all cutoffs of raw_table
+     */
+    public DataFingerprint fingerprint() {
+        return gate.call(() -> jdbc.queryForObject(FINGERPRINT, (row, rowNum) -> {
+            BigDecimal checksum = row.getBigDecimal(3);
+            return new DataFingerprint(row.getLong(1), row.getObject(2, Integer.class),
+                    checksum != null ? checksum.longValueExact() : null);
+        }));
+    }
+
+    /**
+     * Runs the import statements; must be called inside a transaction.
+     *
+     * @param source The table to import, with the layout of raw_table (a trusted constant)
+     * @param year The admission year of the cutoffs in the table
+     * @param columns The institution and placement columns the source has values for; the
+     *                others keep their current values (new rows get null)
+     * @param replace Whether the source holds all the data: offerings not in it are removed and
+     *                all cutoffs of the year are replaced, instead of only those of its offerings
+     * @return Counts of the imported rows
+     */
+    Result importInTransaction(String source, int year, Set<String> columns, boolean replace) {
+        Integer latest = jdbc.queryForObject("SELECT MAX(cutoff_year) FROM cutoff", Integer.class);
+        int offerings = 0;
+        int removed = 0;
+        if (latest == null || year >= latest) {
+            List<String> institutionColumns = INSTITUTION_COLUMNS.stream().filter(columns::contains).toList();
+            if (!institutionColumns.isEmpty()) {
+                jdbc.update(UPDATE_INSTITUTIONS.formatted(source,
+                        assignments(INSTITUTION_VALUE, source, institutionColumns)));
+            }
+            jdbc.update(INSERT_INSTITUTIONS.formatted(source));
+            List<String> offeringColumns = OFFERING_COLUMNS.stream().filter(columns::contains).toList();
+            if (!offeringColumns.isEmpty()) {
+                offerings += jdbc.update(UPDATE_OFFERINGS.formatted(source,
+                        assignments(OFFERING_VALUE, source, offeringColumns)));
+            }
+            offerings += jdbc.update(INSERT_OFFERINGS.formatted(source));
+            if (replace) {
+                removed = jdbc.update(DELETE_REMOVED_OFFERINGS.formatted(source));
+                jdbc.update(DELETE_EMPTY_INSTITUTIONS);
+            }
+        }
+
+        if (replace) {
+            jdbc.update(DELETE_YEAR, year);
+        } else {
+            jdbc.update(DELETE_YEAR_OF_SOURCE.formatted(source), year);
+        }
+        int cutoffs = 0;
+        for (Category category : Category.values()) {
+            for (Gender gender : Gender.values()) {
+                String column = category.getKey() + "_" + gender.getKey();
+                cutoffs += jdbc.update(INSERT_CUTOFFS.formatted(source, column), year, category.getKey(),
+                        gender.getKey());
+            }
+        }
+        return new Result(year, offerings, removed, cutoffs);
+    }
+
+    /**
+     * Builds the {@link #FINGERPRINT} query over the Category and Gender cutoff columns.
+     *
+     * @return The query
+     */
+    private static String fingerprintQuery() {
+        StringBuilder weighted = new StringBuilder();
+        int weight = 0;
+        for (Category category : Category.values()) {
+            for (Gender gender : Gender.values()) {
+                weighted.append(weight == 0 ? "" : " + ").append(++weight)
+                        .append(" * COALESCE(").append(category.getKey()).append('_').append(gender.getKey()).append(", 0)");
+            }
+        }
+        return "SELECT COUNT(*), MAX(sno), SUM(CAST(sno AS DECIMAL(19)) * (" + weighted + ")) FROM raw_table";
+    }
+
+    /**
+     * Builds the SET list of an update, one assignment per column.
+     *
+     * @param assignment Assignment of one column, with %1$s for the source table and %2$s for the column
+     * @param source The source table
+     * @param columns The columns to assign
+     * @return The comma-separated assignments
+     */
+    private static String assignments(String assignment, String source, List<String> columns) {
+        return columns.stream()
+                .map(column -> assignment.formatted(source, column))
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Counts of an import.
+     *
+     * @param year The admission year imported
+     * @param offerings Offerings updated or inserted (0 when an older year was imported)
+     * @param removedOfferings Offerings removed because they are no longer in the source table
+     *                         (0 unless the source replaces the data)
+     * @param cutoffs Cutoffs imported for the year
+     */
+    public record Result(int year, int offerings, int removedOfferings, int cutoffs) {}
+}
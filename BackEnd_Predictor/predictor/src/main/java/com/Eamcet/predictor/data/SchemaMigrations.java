@@ -0,0 +1,80 @@
+package com.Eamcet.predictor.data;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Runs the schema migrations on startup without making startup depend on the database.
+ * If the database cannot be reached, the application starts anyway and serves the persisted
+ * snapshot (see {@link CollegeDataStore}); the migrations are retried before each background
+ * refresh until they succeed. Any other migration failure, such as a failed check or a
+ * changed migration, still fails startup.
+ */
+@Component
+public class SchemaMigrations implements FlywayMigrationStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    /**
+     * The migrations still to run because the database was unreachable, or null.
+     */
+    private volatile Flyway pending;
+
+    /**
+     * Migrates the schema, deferring the migrations if the database is unreachable.
+     *
+     * @param flyway The configured migrations
+     */
+    @Override
+    public void migrate(Flyway flyway) {
+        try {
+            flyway.migrate();
+        } catch (FlywayException e) {
+            if (!isUnreachable(e)) {
+                throw e;
+            }
+            pending = flyway;
+            log.warn("Database unreachable, starting without schema migrations; they are retried with the next refresh: {}",
+                    e.toString());
+        }
+    }
+
+    /**
+     * Runs the migrations deferred on startup, if any.
+     *
+     * @throws FlywayException if they fail again; they stay pending
+     */
+    public void migrateIfPending() {
+        Flyway deferred = pending;
+        if (deferred == null) {
+            return;
+        }
+        deferred.migrate();
+        pending = null;
+        log.info("Applied the schema migrations deferred on startup");
+    }
+
+    /**
+     * Checks whether a failure was caused by not getting a connection to the database: a
+     * connection exception, or an SQL state of class 08 (connection exception).
+     */
+    private static boolean isUnreachable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (cause instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
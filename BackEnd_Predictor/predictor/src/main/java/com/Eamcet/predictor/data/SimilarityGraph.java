@@ -0,0 +1,204 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.util.TopK;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Precomputed k-nearest-neighbour graph of similar colleges.
+ * For every cutoff column and every row, the graph stores the up to {@link #MAX_NEIGHBOURS}
+ * most similar rows of the same branch, best first, so a similarity query is an adjacency
+ * list lookup. Two rows are similar when their cutoffs differ by at most 15% and their
+ * average packages by at most 20% of the target's values; the similarity score weighs both
+ * relative differences equally.
+ *
+ * The graph of every column is built with the snapshot, before it is published, so no request
+ * pays for it. Each column is built with a sort-and-sweep: the rows of each branch are sorted
+ * by cutoff, so the candidates of every target form a contiguous window that slides along
+ * the sorted rows.
+ */
+public final class SimilarityGraph {
+
+    /**
+     * Maximum number of neighbours stored per row.
+     */
+    public static final int MAX_NEIGHBOURS = 25;
+
+    /**
+     * Maximum relative cutoff difference of similar rows.
+     */
+    private static final double MAX_CUTOFF_DIFF = 0.15;
+
+    /**
+     * Maximum relative average package difference of similar rows.
+     */
+    private static final double MAX_PACKAGE_DIFF = 0.20;
+
+    private final int[][] cutoffs;
+    private final double[] averagePackages;
+    private final DictionaryColumn branches;
+    private final List<College> colleges;
+
+    /**
+     * Adjacency lists of every column, in compressed form: [column][0] holds the offsets
+     * (row r's neighbours are at [offsets[r], offsets[r + 1])), [column][1] the neighbour rows.
+     */
+    private final int[][][] adjacency;
+
+    /**
+     * Builds the graph of every cutoff column of a snapshot's rows.
+     *
+     * @param cutoffs Cutoff ranks indexed by [column][row], {@link CollegeSnapshot#NO_CUTOFF} if missing
+     * @param averagePackages Average package of every row, NaN if missing
+     * @param branches Dictionary-encoded branch codes of the rows
+     * @param colleges The rows, for their institution codes
+     */
+    SimilarityGraph(int[][] cutoffs, double[] averagePackages, DictionaryColumn branches, List<College> colleges) {
+        this.cutoffs = cutoffs;
+        this.averagePackages = averagePackages;
+        this.branches = branches;
+        this.colleges = colleges;
+        this.adjacency = new int[cutoffs.length][][];
+        for (int column = 0; column < cutoffs.length; column++) {
+            adjacency[column] = build(column);
+        }
+    }
+
+    /**
+     * Computes the similarity score of a candidate to a target.
+     *
+     * @param targetCutoff The target's cutoff (positive)
+     * @param targetPackage The target's average package (positive)
+     * @param cutoff The candidate's cutoff
+     * @param averagePackage The candidate's average package
+     * @return The score (at most 100, higher is more similar), or NaN if the candidate is not similar
+     */
+    public static double score(int targetCutoff, double targetPackage, int cutoff, double averagePackage) {
+        double cutoffDiff = Math.abs(cutoff - targetCutoff) / (double) targetCutoff;
+        if (cutoffDiff > MAX_CUTOFF_DIFF) {
+            return Double.NaN;
+        }
+        double packageDiff = Math.abs(averagePackage - targetPackage) / targetPackage;
+        if (packageDiff > MAX_PACKAGE_DIFF) {
+            return Double.NaN;
+        }
+        return 100 - (cutoffDiff * 50 + packageDiff * 50);
+    }
+
+    /**
+     * Gets the most similar rows of the same branch, from another institution.
+     *
+     * @param column The cutoff column compared
+     * @param row The target row
+     * @param limit The maximum number of neighbours (at most {@link #MAX_NEIGHBOURS})
+     * @return The neighbour rows, most similar first (ties by lower row id)
+     */
+    public int[] neighbours(int column, int row, int limit) {
+        int[][] graph = adjacency[column];
+        int from = graph[0][row];
+        int to = Math.min(graph[0][row + 1], from + limit);
+        return Arrays.copyOfRange(graph[1], from, to);
+    }
+
+    /**
+     * Builds the adjacency lists of one column.
+     *
+     * @param column The cutoff column
+     * @return The offsets and neighbour rows
+     */
+    private int[][] build(int column) {
+        int rowCount = averagePackages.length;
+
+        // Bucket the rows with a cutoff and a package by branch, as (cutoff, row) sort keys
+        int[] counts = new int[branches.cardinality()];
+        for (int row = 0; row < rowCount; row++) {
+            if (eligible(column, row)) {
+                counts[branches.code(row)]++;
+            }
+        }
+        long[][] buckets = new long[counts.length][];
+        for (int code = 0; code < counts.length; code++) {
+            buckets[code] = new long[counts[code]];
+            counts[code] = 0;
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (eligible(column, row)) {
+                int code = branches.code(row);
+                buckets[code][counts[code]++] = ((long) cutoffs[column][row] << 32) | row;
+            }
+        }
+
+        int[][] neighbours = new int[rowCount][];
+        for (long[] bucket : buckets) {
+            Arrays.sort(bucket);
+            sweep(column, bucket, neighbours);
+        }
+
+        // Compress into offsets and one neighbour array
+        int[] offsets = new int[rowCount + 1];
+        for (int row = 0; row < rowCount; row++) {
+            offsets[row + 1] = offsets[row] + (neighbours[row] != null ? neighbours[row].length : 0);
+        }
+        int[] flat = new int[offsets[rowCount]];
+        for (int row = 0; row < rowCount; row++) {
+            if (neighbours[row] != null) {
+                System.arraycopy(neighbours[row], 0, flat, offsets[row], neighbours[row].length);
+            }
+        }
+        return new int[][] {offsets, flat};
+    }
+
+    /**
+     * Slides the candidate window along the rows of one branch, sorted by cutoff, and keeps
+     * the best neighbours of every row.
+     *
+     * @param column The cutoff column
+     * @param bucket Sort keys (cutoff, row) of the branch rows, in increasing order
+     * @param neighbours Output: neighbour rows by target row
+     */
+    private void sweep(int column, long[] bucket, int[][] neighbours) {
+        int low = 0;
+        int high = 0;
+        for (long target : bucket) {
+            int targetCutoff = (int) (target >>> 32);
+            int targetRow = (int) target;
+            double targetPackage = averagePackages[targetRow];
+            String targetInstcode = colleges.get(targetRow).getInstcode();
+
+            // Both window bounds only move forward as the target cutoff grows
+            while (Math.abs((int) (bucket[low] >>> 32) - targetCutoff) / (double) targetCutoff > MAX_CUTOFF_DIFF) {
+                low++;
+            }
+            if (high < low) {
+                high = low;
+            }
+            while (high < bucket.length
+                    && Math.abs((int) (bucket[high] >>> 32) - targetCutoff) / (double) targetCutoff <= MAX_CUTOFF_DIFF) {
+                high++;
+            }
+
+            TopK top = new TopK(MAX_NEIGHBOURS);
+            for (int i = low; i < high; i++) {
+                int row = (int) bucket[i];
+                double score = score(targetCutoff, targetPackage, (int) (bucket[i] >>> 32), averagePackages[row]);
+                if (Double.isNaN(score) || Objects.equals(targetInstcode, colleges.get(row).getInstcode())) {
+                    continue;
+                }
+                top.offer(row, score);
+            }
+            neighbours[targetRow] = top.drain();
+        }
+    }
+
+    /**
+     * Checks whether a row has both a cutoff in a column and an average package.
+     */
+    private boolean eligible(int column, int row) {
+        return cutoffs[column][row] != CollegeSnapshot.NO_CUTOFF
+                && !Double.isNaN(averagePackages[row])
+                && branches.code(row) != DictionaryColumn.NULL_CODE;
+    }
+}
@@ -0,0 +1,15 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.model.College;
+
+import java.util.List;
+
+/**
+ * Everything a snapshot is built from, read from the database in one transaction so that the
+ * fingerprint, the rows and the history describe the same state of the data.
+ *
+ * @param fingerprint Fingerprint of the rows
+ * @param colleges Every offering with the closing ranks of the latest admission year
+ * @param history Closing ranks of the earlier admission years
+ */
+public record SnapshotData(DataFingerprint fingerprint, List<College> colleges, CutoffHistory history) {}
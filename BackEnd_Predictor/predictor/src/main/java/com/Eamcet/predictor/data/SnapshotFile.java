@@ -0,0 +1,330 @@
+package com.Eamcet.predictor.data;
+
+import com.Eamcet.predictor.model.College;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk copy of the last published college snapshot.
+ * After every published reload the rows are written to a binary file, and on startup the file
+ * is memory-mapped and decoded, so the application can answer from the last good data without
+ * waiting for the database. The derived indexes are rebuilt from the rows, which takes
+ * milliseconds and keeps the file format independent of the in-memory layout.
+ *
+ * File layout (big-endian): a fixed header of magic number, format version, snapshot version,
+ * load time (epoch milliseconds), row count, payload length and the CRC32 of the payload,
+ * followed by the payload: the content hash, the rows and the cutoff history (its year, the
+ * number of points and each point as offering id, year, category, gender and rank). Strings are stored as a byte length
+ * (-1 for null) and UTF-8 bytes, integers as ints ({@link Integer#MIN_VALUE} for null), and
+ * doubles as a presence byte followed by the value. A file with an unknown format version, a
+ * checksum mismatch or a content hash mismatch is ignored.
+ *
+ * The file is written to a temporary file first and then moved into place atomically, so a
+ * crash during a write never leaves a truncated snapshot behind.
+ */
+@Component
+public class SnapshotFile {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotFile.class);
+
+    /**
+     * Magic number identifying snapshot files ("EAMC").
+     */
+    private static final int MAGIC = 0x45414D43;
+
+    /**
+     * Version of the file layout; files of other versions are ignored.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Size of the fixed header in bytes.
+     */
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 4 + 8;
+
+    /**
+     * Marker for null integers.
+     */
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    /**
+     * String columns, in file order.
+     */
+    private static final List<Function<College, String>> STRING_GETTERS = List.of(
+            College::getInstcode, College::getInstitution_name, College::getDivision, College::getRegion,
+            College::getDistrict, College::getPlace, College::getAffl, College::getBranchCode, College::getTier,
+            College::getPlacementDriveQuality);
+    private static final List<BiConsumer<College, String>> STRING_SETTERS = List.of(
+            College::setInstcode, College::setInstitution_name, College::setDivision, College::setRegion,
+            College::setDistrict, College::setPlace, College::setAffl, College::setBranchCode, College::setTier,
+            College::setPlacementDriveQuality);
+
+    /**
+     * Integer columns (serial number and cutoffs), in file order.
+     */
+    private static final List<Function<College, Integer>> INT_GETTERS = List.of(
+            College::getSno,
+            College::getOcBoys, College::getOcGirls, College::getScBoys, College::getScGirls,
+            College::getStBoys, College::getStGirls, College::getBcaBoys, College::getBcaGirls,
+            College::getBcbBoys, College::getBcbGirls, College::getBccBoys, College::getBccGirls,
+            College::getBcdBoys, College::getBcdGirls, College::getBceBoys, College::getBceGirls,
+            College::getOcEwsBoys, College::getOcEwsGirls);
+    private static final List<BiConsumer<College, Integer>> INT_SETTERS = List.of(
+            College::setSno,
+            College::setOcBoys, College::setOcGirls, College::setScBoys, College::setScGirls,
+            College::setStBoys, College::setStGirls, College::setBcaBoys, College::setBcaGirls,
+            College::setBcbBoys, College::setBcbGirls, College::setBccBoys, College::setBccGirls,
+            College::setBcdBoys, College::setBcdGirls, College::setBceBoys, College::setBceGirls,
+            College::setOcEwsBoys, College::setOcEwsGirls);
+
+    /**
+     * Double columns (packages), in file order.
+     */
+    private static final List<Function<College, Double>> DOUBLE_GETTERS = List.of(
+            College::getHighestPackage, College::getAveragePackage);
+    private static final List<BiConsumer<College, Double>> DOUBLE_SETTERS = List.of(
+            College::setHighestPackage, College::setAveragePackage);
+
+    /**
+     * Location of the file, or null if persistence is disabled.
+     */
+    private final Path path;
+
+    /**
+     * Constructor for a snapshot file at the configured location.
+     *
+     * @param location Path of the file (empty to disable persistence)
+     */
+    public SnapshotFile(@Value("${predictor.snapshot.file:}") String location) {
+        this.path = location == null || location.isBlank() ? null : Path.of(location);
+    }
+
+    /**
+     * Checks whether snapshots are persisted.
+     *
+     * @return true if a file location is configured
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Reads the persisted snapshot.
+     *
+     * @return The snapshot, or empty if persistence is disabled or the file is missing or invalid
+     */
+    public Optional<CollegeSnapshot> read() {
+        if (path == null) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CollegeSnapshot snapshot = decode(buffer);
+            if (snapshot == null) {
+                return Optional.empty();
+            }
+            log.info("Read persisted college snapshot v{} with {} rows from {} in {} ms",
+                    snapshot.getVersion(), snapshot.size(), path, (System.nanoTime() - start) / 1_000_000);
+            return Optional.of(snapshot);
+        } catch (NoSuchFileException e) {
+            log.info("No persisted college snapshot at {}", path);
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable college snapshot file {}: {}", path, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes a snapshot, replacing the persisted one atomically.
+     * Does nothing if persistence is disabled.
+     *
+     * @param snapshot The snapshot to persist
+     * @throws IOException if the file cannot be written
+     */
+    public void write(CollegeSnapshot snapshot) throws IOException {
+        if (path == null) {
+            return;
+        }
+        byte[] payload = encodeRows(snapshot);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(snapshot.getVersion())
+                .putLong(snapshot.getLoadedAt().toEpochMilli())
+                .putInt(snapshot.size())
+                .putInt(payload.length)
+                .putLong(crc.getValue())
+                .flip();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.write(new ByteBuffer[] {header, ByteBuffer.wrap(payload)});
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Encodes the content hash, rows and cutoff history of a snapshot.
+     *
+     * @param snapshot The snapshot
+     * @return The payload bytes
+     */
+    private static byte[] encodeRows(CollegeSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(snapshot.size() * 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, snapshot.getContentHash());
+        for (College college : snapshot.getColleges()) {
+            for (Function<College, String> getter : STRING_GETTERS) {
+                writeString(out, getter.apply(college));
+            }
+            for (Function<College, Integer> getter : INT_GETTERS) {
+                Integer value = getter.apply(college);
+                out.writeInt(value != null ? value : NULL_INT);
+            }
+            for (Function<College, Double> getter : DOUBLE_GETTERS) {
+                Double value = getter.apply(college);
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    out.writeDouble(value);
+                }
+            }
+        }
+        CutoffHistory history = snapshot.getHistory();
+        out.writeInt(history.year());
+        out.writeInt(history.points().size());
+        for (CutoffPoint point : history.points()) {
+            out.writeInt(point.offeringId());
+            out.writeInt(point.year());
+            writeString(out, point.category());
+            writeString(out, point.gender());
+            out.writeInt(point.closingRank());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes and verifies a mapped file.
+     *
+     * @param buffer The file contents
+     * @return The snapshot, or null if the file is not a valid snapshot of the current format
+     */
+    private CollegeSnapshot decode(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            log.warn("Ignoring {}: not a college snapshot file", path);
+            return null;
+        }
+        int format = buffer.getInt();
+        if (format != FORMAT_VERSION) {
+            log.warn("Ignoring {}: format version {} instead of {}", path, format, FORMAT_VERSION);
+            return null;
+        }
+        long version = buffer.getLong();
+        Instant loadedAt = Instant.ofEpochMilli(buffer.getLong());
+        int rowCount = buffer.getInt();
+        int payloadLength = buffer.getInt();
+        long checksum = buffer.getLong();
+        if (buffer.remaining() != payloadLength) {
+            log.warn("Ignoring {}: truncated payload", path);
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice());
+        if (crc.getValue() != checksum) {
+            log.warn("Ignoring {}: checksum mismatch", path);
+            return null;
+        }
+
+        String contentHash = readString(buffer);
+        List<College> colleges = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            College college = new College();
+            for (BiConsumer<College, String> setter : STRING_SETTERS) {
+                setter.accept(college, readString(buffer));
+            }
+            for (BiConsumer<College, Integer> setter : INT_SETTERS) {
+                int value = buffer.getInt();
+                setter.accept(college, value != NULL_INT ? value : null);
+            }
+            for (BiConsumer<College, Double> setter : DOUBLE_SETTERS) {
+                setter.accept(college, buffer.get() != 0 ? buffer.getDouble() : null);
+            }
+            colleges.add(college);
+        }
+        int historyYear = buffer.getInt();
+        int pointCount = buffer.getInt();
+        List<CutoffPoint> points = new ArrayList<>(pointCount);
+        for (int i = 0; i < pointCount; i++) {
+            points.add(new CutoffPoint(buffer.getInt(), buffer.getInt(), readString(buffer), readString(buffer),
+                    buffer.getInt()));
+        }
+
+        CollegeSnapshot snapshot = new CollegeSnapshot(colleges,
+                points.isEmpty() ? CutoffHistory.EMPTY : new CutoffHistory(historyYear, points), version, loadedAt);
+        if (!snapshot.getContentHash().equals(contentHash)) {
+            log.warn("Ignoring {}: content hash mismatch", path);
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Writes a nullable string as its UTF-8 byte length and bytes.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a nullable string written by {@link #writeString}.
+     */
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
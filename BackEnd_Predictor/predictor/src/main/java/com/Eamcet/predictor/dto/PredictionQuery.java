@@ -0,0 +1,52 @@
+package com.Eamcet.predictor.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parsed parameters of a college prediction request.
+ * Every filter is either null (not filtered) or a non-empty list of accepted values.
+ *
+ * @param rank The EAMCET rank of the student (null if not given)
+ * @param branches Preferred branches (can be null)
+ * @param category The reservation category (can be null)
+ * @param districts Preferred districts (can be null)
+ * @param regions Preferred regions (can be null)
+ * @param tiers Preferred college tiers (can be null)
+ * @param placementQualities Preferred placement qualities (can be null)
+ * @param gender The gender of the student (can be null)
+ */
+public record PredictionQuery(Integer rank, List<String> branches, String category, List<String> districts,
+                              List<String> regions, List<String> tiers, List<String> placementQualities,
+                              String gender) {
+
+    /**
+     * Checks whether any filter is provided.
+     *
+     * @return true if at least one filter or the category or gender is set
+     */
+    public boolean hasFilters() {
+        return branches != null || category != null || districts != null || regions != null
+                || tiers != null || placementQualities != null || gender != null;
+    }
+
+    /**
+     * Checks whether the request has neither a rank nor any filter, in which case
+     * every college is returned.
+     *
+     * @return true if the request asks for all colleges
+     */
+    public boolean returnsAllColleges() {
+        return rank == null && !hasFilters();
+    }
+
+    /**
+     * Gets the row filters of the query as a value usable as a map key.
+     * Queries with equal keys select the same rows.
+     *
+     * @return List of the branch, district, region, tier and placement quality filters
+     */
+    public List<List<String>> rowFilterKey() {
+        return Arrays.asList(branches, districts, regions, tiers, placementQualities);
+    }
+}
@@ -29,6 +29,11 @@ public class RecommendationDto {
      * Cutoff rank for the specific category.
      */
     private Integer cutoff;
+
+    /**
+     * Cutoff rank projected for the next admission, on which the probability is based.
+     */
+    private Integer projectedCutoff;
     
     /**
      * Calculated probability of admission based on rank and cutoff.
@@ -87,6 +92,7 @@ public class RecommendationDto {
         this.collegeName = college.getName();
         this.branch = college.getBranch();
         this.cutoff = college.getCutoff();
+        this.projectedCutoff = college.getProjectedCutoff();
         this.probability = college.getProbability();
         this.averagePackage = college.getAveragePackage();
         this.placementQuality = college.getPlacementDriveQuality();
@@ -154,6 +160,20 @@ public class RecommendationDto {
      * @param cutoff The cutoff rank to set
      */
     public void setCutoff(Integer cutoff) { this.cutoff = cutoff; }
+
+    /**
+     * Gets the projected cutoff rank.
+     * 
+     * @return The projected cutoff rank
+     */
+    public Integer getProjectedCutoff() { return projectedCutoff; }
+
+    /**
+     * Sets the projected cutoff rank.
+     * 
+     * @param projectedCutoff The projected cutoff rank to set
+     */
+    public void setProjectedCutoff(Integer projectedCutoff) { this.projectedCutoff = projectedCutoff; }
     
     /**
      * Gets the admission probability.
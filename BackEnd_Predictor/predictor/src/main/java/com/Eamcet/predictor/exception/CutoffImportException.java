@@ -0,0 +1,40 @@
+package com.Eamcet.predictor.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+/**
+ * Exception thrown when an uploaded cutoff file fails validation.
+ * Nothing of the file is imported; the exception carries every problem found (up to a limit),
+ * each prefixed with its line number, and results in a 400 Bad Request response.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CutoffImportException extends RuntimeException {
+
+    /**
+     * The problems found, in file order.
+     */
+    private final List<String> errors;
+
+    /**
+     * Constructs a new CutoffImportException with the problems found in the file.
+     *
+     * @param message Summary of the failure
+     * @param errors The problems found, in file order
+     */
+    public CutoffImportException(String message, List<String> errors) {
+        super(message);
+        this.errors = List.copyOf(errors);
+    }
+
+    /**
+     * Gets the problems found in the file.
+     *
+     * @return The problems, in file order
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+}
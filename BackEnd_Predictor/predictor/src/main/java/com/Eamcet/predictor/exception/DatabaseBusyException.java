@@ -0,0 +1,22 @@
+package com.Eamcet.predictor.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception for database accesses that could not start in time.
+ * This exception is thrown when too many requests need the database at once and a request
+ * waited longer than allowed for a connection, and it results in a 503 Service Unavailable
+ * response so that clients retry later.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DatabaseBusyException extends RuntimeException {
+    /**
+     * Constructs a new DatabaseBusyException with the specified detail message.
+     *
+     * @param message The detail message explaining why the access was rejected
+     */
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
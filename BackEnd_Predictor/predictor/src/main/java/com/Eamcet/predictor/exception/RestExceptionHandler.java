@@ -2,6 +2,7 @@ package com.Eamcet.predictor.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -20,7 +21,7 @@ import java.util.Map;
  * and provides appropriate error responses to clients.
  * 
  * The handler covers:
- * - Custom application exceptions (InvalidRequestException)
+ * - Custom application exceptions (InvalidRequestException, CutoffImportException, DatabaseBusyException)
  * - Spring framework exceptions (NoHandlerFoundException, NoResourceFoundException)
  * - Network/IO exceptions (AsyncRequestNotUsableException, IOException)
  * - Unexpected exceptions (Exception)
@@ -45,6 +46,40 @@ public class RestExceptionHandler {
         return new ResponseEntity<>(errorBody, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles CutoffImportException by returning a 400 Bad Request response that lists
+     * the problems found in the uploaded file.
+     * 
+     * @param ex The CutoffImportException that was thrown
+     * @param request The WebRequest that caused the exception
+     * @return ResponseEntity with error details, the problems found and 400 status
+     */
+    @ExceptionHandler(CutoffImportException.class)
+    public final ResponseEntity<?> handleCutoffImport(CutoffImportException ex, WebRequest request) {
+        log.warn("Rejected cutoff import: {}", ex.getMessage());
+        Map<String, Object> errorBody = Map.of("error", "Bad Request", "details", ex.getMessage(),
+                "errors", ex.getErrors());
+        return new ResponseEntity<>(errorBody, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles DatabaseBusyException by returning a 503 Service Unavailable response.
+     * This occurs when more requests need the database than it has connections for and
+     * the request waited too long; clients are asked to retry shortly.
+     * 
+     * @param ex The DatabaseBusyException that was thrown
+     * @param request The WebRequest that caused the exception
+     * @return ResponseEntity with error details, a Retry-After header and 503 status
+     */
+    @ExceptionHandler(DatabaseBusyException.class)
+    public final ResponseEntity<?> handleDatabaseBusy(DatabaseBusyException ex, WebRequest request) {
+        log.warn("Database busy: {}", ex.getMessage());
+        Map<String, String> errorBody = Map.of("error", "Service Unavailable", "details", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "5")
+            .body(errorBody);
+    }
+
     /**
      * Handles NoResourceFoundException by returning a 404 Not Found response.
      * This occurs when clients request static resources that don't exist.
@@ -0,0 +1,122 @@
+package com.Eamcet.predictor.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity class representing a branch offered by an institution in the normalized college schema.
+ * This class maps to the 'branch_offering' table; each row corresponds to one raw_table row.
+ * Placement figures are kept per branch, as raw_table records them per row.
+ *
+ * The application only reads this table; it is written by the raw_table import.
+ */
+@Entity
+@Table(name = "branch_offering")
+public class BranchOffering
+{
+
+    /**
+     * Primary key, auto-generated by the database. Offerings are imported in raw_table order,
+     * so ordering by id keeps the row order of raw_table.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * The institution offering the branch.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "institution_id", nullable = false)
+    private Institution institution;
+
+    /**
+     * Branch code representing the engineering branch (e.g., CSE, ECE).
+     */
+    @Column(name = "branch_code", nullable = false)
+    private String branchCode;
+
+    /**
+     * Highest package offered to students of the branch during placements.
+     */
+    @Column(name = "highest_package")
+    private Double highestPackage;
+
+    /**
+     * Average package offered to students of the branch during placements.
+     */
+    @Column(name = "average_package")
+    private Double averagePackage;
+
+    /**
+     * Quality rating of the placement drive (e.g., Excellent, Very Good, Good, Bad).
+     */
+    @Column(name = "placement_drive_quality")
+    private String placementDriveQuality;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public BranchOffering()
+    {
+    }
+
+    /**
+     * Gets the primary key of the offering.
+     *
+     * @return The offering id
+     */
+    public Integer getId()
+    {
+        return id;
+    }
+
+    /**
+     * Gets the institution offering the branch.
+     *
+     * @return The institution
+     */
+    public Institution getInstitution()
+    {
+        return institution;
+    }
+
+    /**
+     * Gets the branch code.
+     *
+     * @return The branch code
+     */
+    public String getBranchCode()
+    {
+        return branchCode;
+    }
+
+    /**
+     * Gets the highest placement package of the branch.
+     *
+     * @return The highest package
+     */
+    public Double getHighestPackage()
+    {
+        return highestPackage;
+    }
+
+    /**
+     * Gets the average placement package of the branch.
+     *
+     * @return The average package
+     */
+    public Double getAveragePackage()
+    {
+        return averagePackage;
+    }
+
+    /**
+     * Gets the placement drive quality of the branch.
+     *
+     * @return The placement drive quality
+     */
+    public String getPlacementDriveQuality()
+    {
+        return placementDriveQuality;
+    }
+}
@@ -0,0 +1,60 @@
+package com.Eamcet.predictor.model;
+
+import java.util.Locale;
+
+/**
+ * Reservation categories for which raw_table stores cutoff ranks.
+ * The declaration order matches the order of the cutoff columns, so the ordinal of a
+ * category combined with a {@link Gender} gives the index of its cutoff column.
+ */
+public enum Category {
+    OC("oc"),
+    SC("sc"),
+    ST("st"),
+    BCA("bca"),
+    BCB("bcb"),
+    BCC("bcc"),
+    BCD("bcd"),
+    BCE("bce"),
+    OC_EWS("oc_ews");
+
+    /**
+     * Lower-case key used in requests and in cutoff column names (e.g., "oc_ews").
+     */
+    private final String key;
+
+    /**
+     * Constructor for a category with its request key.
+     *
+     * @param key The lower-case key
+     */
+    Category(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Gets the lower-case key of this category.
+     *
+     * @return The category key
+     */
+    public String getKey() { return key; }
+
+    /**
+     * Parses a category key, ignoring case and surrounding whitespace.
+     *
+     * @param value The category key (e.g., "oc", "BCA")
+     * @return The category, or null if the value is blank or unknown
+     */
+    public static Category parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = value.trim().toLowerCase(Locale.ROOT);
+        for (Category category : values()) {
+            if (category.key.equals(key)) {
+                return category;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,163 @@
+package com.Eamcet.predictor.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Entity class representing one closing rank in the normalized college schema.
+ * This class maps to the 'cutoff' table, which holds one row per branch offering, admission
+ * year, category and gender. Missing cutoffs have no row.
+ *
+ * The application only reads this table; it is written by the raw_table import.
+ */
+@Entity
+@Table(name = "cutoff")
+public class Cutoff
+{
+
+    /**
+     * Composite primary key of the cutoff.
+     */
+    @EmbeddedId
+    private Key key;
+
+    /**
+     * Closing rank of the offering for the year, category and gender.
+     */
+    @Column(name = "closing_rank", nullable = false)
+    private Integer closingRank;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public Cutoff()
+    {
+    }
+
+    /**
+     * Gets the composite primary key.
+     *
+     * @return The key
+     */
+    public Key getKey()
+    {
+        return key;
+    }
+
+    /**
+     * Gets the closing rank.
+     *
+     * @return The closing rank
+     */
+    public Integer getClosingRank()
+    {
+        return closingRank;
+    }
+
+    /**
+     * Composite primary key of a cutoff: the offering, the admission year, the category key
+     * (see {@link Category#getKey()}) and the gender key (see {@link Gender#getKey()}).
+     */
+    @Embeddable
+    public static class Key implements Serializable
+    {
+
+        /**
+         * Id of the branch offering.
+         */
+        @Column(name = "offering_id")
+        private Integer offeringId;
+
+        /**
+         * Admission year the closing rank belongs to.
+         */
+        @Column(name = "cutoff_year")
+        private Integer year;
+
+        /**
+         * Category key, e.g. oc or bca.
+         */
+        @Column(name = "category")
+        private String category;
+
+        /**
+         * Gender key, boys or girls.
+         */
+        @Column(name = "gender")
+        private String gender;
+
+        /**
+         * Default constructor required by JPA.
+         */
+        public Key()
+        {
+        }
+
+        /**
+         * Gets the id of the branch offering.
+         *
+         * @return The offering id
+         */
+        public Integer getOfferingId()
+        {
+            return offeringId;
+        }
+
+        /**
+         * Gets the admission year.
+         *
+         * @return The year
+         */
+        public Integer getYear()
+        {
+            return year;
+        }
+
+        /**
+         * Gets the category key.
+         *
+         * @return The category key
+         */
+        public String getCategory()
+        {
+            return category;
+        }
+
+        /**
+         * Gets the gender key.
+         *
+         * @return The gender key
+         */
+        public String getGender()
+        {
+            return gender;
+        }
+
+        /**
+         * Checks if this key is equal to another object.
+         * Two keys are equal if all four components are equal.
+         *
+         * @param o The object to compare with
+         * @return true if the keys are equal, false otherwise
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(offeringId, other.offeringId) && Objects.equals(year, other.year)
+                    && Objects.equals(category, other.category) && Objects.equals(gender, other.gender);
+        }
+
+        /**
+         * Returns a hash code value for the key, based on all four components.
+         *
+         * @return The hash code value
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(offeringId, year, category, gender);
+        }
+    }
+}
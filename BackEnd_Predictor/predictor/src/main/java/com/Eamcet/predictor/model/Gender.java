@@ -0,0 +1,50 @@
+package com.Eamcet.predictor.model;
+
+import java.util.Locale;
+
+/**
+ * Genders for which raw_table stores separate cutoff ranks.
+ * The declaration order matches the order of the cutoff columns within each category.
+ */
+public enum Gender {
+    BOYS("boys"),
+    GIRLS("girls");
+
+    /**
+     * Lower-case key used in cutoff column names.
+     */
+    private final String key;
+
+    /**
+     * Constructor for a gender with its column key.
+     *
+     * @param key The lower-case key
+     */
+    Gender(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Gets the lower-case key of this gender.
+     *
+     * @return The gender key
+     */
+    public String getKey() { return key; }
+
+    /**
+     * Parses a gender, accepting "boys"/"male" and "girls"/"female" in any case.
+     *
+     * @param value The gender value
+     * @return The gender, or null if the value is blank or not recognized
+     */
+    public static Gender parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "boys", "male" -> BOYS;
+            case "girls", "female" -> GIRLS;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.Eamcet.predictor.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity class representing an institution in the normalized college schema.
+ * This class maps to the 'institution' table and holds the details shared by all branches
+ * of a college, which raw_table repeats on every branch row.
+ *
+ * The application only reads this table; it is written by the raw_table import.
+ */
+@Entity
+@Table(name = "institution")
+public class Institution
+{
+
+    /**
+     * Primary key, auto-generated by the database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * Institution code uniquely identifying the college.
+     */
+    @Column(name = "instcode", nullable = false)
+    private String instcode;
+
+    /**
+     * Full name of the institution.
+     */
+    @Column(name = "institution_name")
+    private String institutionName;
+
+    /**
+     * Division information of the college.
+     */
+    @Column(name = "division")
+    private String division;
+
+    /**
+     * Region where the college is located (e.g., AU, SVU, SW).
+     */
+    @Column(name = "region")
+    private String region;
+
+    /**
+     * District where the college is located.
+     */
+    @Column(name = "dist")
+    private String district;
+
+    /**
+     * Place/locality where the college is located.
+     */
+    @Column(name = "place")
+    private String place;
+
+    /**
+     * Affiliation information of the college.
+     */
+    @Column(name = "affl")
+    private String affl;
+
+    /**
+     * Tier classification of the college (e.g., Tier 1, Tier 2, Tier 3).
+     */
+    @Column(name = "tier")
+    private String tier;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public Institution()
+    {
+    }
+
+    /**
+     * Gets the primary key of the institution.
+     *
+     * @return The institution id
+     */
+    public Integer getId()
+    {
+        return id;
+    }
+
+    /**
+     * Gets the institution code.
+     *
+     * @return The institution code
+     */
+    public String getInstcode()
+    {
+        return instcode;
+    }
+
+    /**
+     * Gets the institution name.
+     *
+     * @return The institution name
+     */
+    public String getInstitutionName()
+    {
+        return institutionName;
+    }
+
+    /**
+     * Gets the division of the institution.
+     *
+     * @return The division
+     */
+    public String getDivision()
+    {
+        return division;
+    }
+
+    /**
+     * Gets the region of the institution.
+     *
+     * @return The region
+     */
+    public String getRegion()
+    {
+        return region;
+    }
+
+    /**
+     * Gets the district of the institution.
+     *
+     * @return The district
+     */
+    public String getDistrict()
+    {
+        return district;
+    }
+
+    /**
+     * Gets the place of the institution.
+     *
+     * @return The place
+     */
+    public String getPlace()
+    {
+        return place;
+    }
+
+    /**
+     * Gets the affiliation of the institution.
+     *
+     * @return The affiliation
+     */
+    public String getAffl()
+    {
+        return affl;
+    }
+
+    /**
+     * Gets the tier of the institution.
+     *
+     * @return The tier
+     */
+    public String getTier()
+    {
+        return tier;
+    }
+}
@@ -1,9 +1,25 @@
 package com.Eamcet.predictor.repository;
 
+import com.Eamcet.predictor.data.CollegeRow;
+import com.Eamcet.predictor.data.CutoffHistory;
+import com.Eamcet.predictor.data.CutoffPoint;
+import com.Eamcet.predictor.data.DataFingerprint;
+import com.Eamcet.predictor.data.InstitutionRow;
+import com.Eamcet.predictor.data.OfferingRow;
+import com.Eamcet.predictor.data.SnapshotData;
 import com.Eamcet.predictor.model.College;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Repository interface for College entities.
@@ -11,8 +27,151 @@ import org.springframework.stereotype.Repository;
  * 
  * This interface extends JpaRepository for basic database operations and 
  * JpaSpecificationExecutor for dynamic query building based on filter criteria.
+ *
+ * The snapshot is read from the normalized schema (institution, branch_offering and cutoff),
+ * which raw_table is imported into by {@link com.Eamcet.predictor.data.RawTableImporter}, and
+ * is returned in the College shape of raw_table. raw_table itself is not read here: edits to
+ * it reach the snapshot through a re-import, which the background refresh runs when raw_table
+ * changed (see {@link com.Eamcet.predictor.data.CollegeDataRefresher}).
+ *
+ * The application only reads through this repository, so every method runs in a read-only
+ * transaction: Hibernate skips dirty checking and flushing, and the connection is flagged read-only.
  */
 @Repository
+@Transactional(readOnly = true)
 public interface CollegeRepository extends JpaRepository<College, Integer>, JpaSpecificationExecutor<College> {
 
-}
\ No newline at end of file
+    /**
+     * Reads every institution as a projection of the columns the snapshot uses.
+     *
+     * @return All institutions, without creating managed entities
+     */
+    @Query("select new com.Eamcet.predictor.data.InstitutionRow(i.id, i.instcode, i.institutionName, i.division, "
+            + "i.region, i.district, i.place, i.affl, i.tier) from Institution i")
+    List<InstitutionRow> findAllInstitutions();
+
+    /**
+     * Reads every branch offering with its closing ranks of one admission year, pivoted into
+     * one column per category and gender, in offering id order.
+     *
+     * @param year The admission year (offerings without cutoffs in that year have null ranks)
+     * @return All offerings, without creating managed entities
+     */
+    @Query("select new com.Eamcet.predictor.data.OfferingRow(o.id, o.institution.id, o.branchCode, "
+            + "o.highestPackage, o.averagePackage, o.placementDriveQuality, "
+            + "max(case when c.key.category = 'oc' and c.key.gender = 'boys' then c.closingRank end), "
+            + "max(case when c.key.category = 'oc' and c.key.gender = 'girls' then c.closingRank end), "
+            + "max(case when c.key.category = 'sc' and c.key.gender = 'boys' then c.closingRank end), "
+            + "max(case when c.key.category = 'sc' and c.key.gender = 'girls' then c.closingRank end), "
+            + "max(case when c.key.category = 'st' and c.key.gender = 'boys' then c.closingRank end), "
+            + "max(case when c.key.category = 'st' and c.key.gender = 'girls' then c.closingRank end), "
+            + "max(case when c.key.category = 'bca' and c.key.gender = 'boys' then c.closingRank end), "
+            + "max(case when c.key.category = 'bca' and c.key.gender = 'girls' then c.closingRank end), "
+            + "max(case when c.key.category = 'bcb' and c.key.gender = 'boys' then c.closingRank end), "
+            + "max(case when c.key.category = 'bcb' and c.key.gender = 'girls' then c.closingRank end), "
+            + "max(case when c.key.category = 'bcc' and c.key.gender = 'boys' then c.closingRank end), "
+            + "max(case when c.key.category = 'bcc' and c.key.gender = 'girls' then c.closingRank end), "
+            + "max(case when c.key.category = 'bcd' and c.key.gender = 'boys' then c.closingRank end), "
+            + "max(case when c.key.category = 'bcd' and c.key.gender = 'girls' then c.closingRank end), "
+            + "max(case when c.key.category = 'bce' and c.key.gender = 'boys' then c.closingRank end), "
+            + "max(case when c.key.category = 'bce' and c.key.gender = 'girls' then c.closingRank end), "
+            + "max(case when c.key.category = 'oc_ews' and c.key.gender = 'boys' then c.closingRank end), "
+            + "max(case when c.key.category = 'oc_ews' and c.key.gender = 'girls' then c.closingRank end)"
+            + ") from BranchOffering o left join Cutoff c on c.key.offeringId = o.id and c.key.year = :year "
+            + "group by o.id, o.institution.id, o.branchCode, o.highestPackage, o.averagePackage, "
+            + "o.placementDriveQuality order by o.id")
+    List<OfferingRow> findAllOfferings(@Param("year") Integer year);
+
+    /**
+     * Finds the most recent admission year with cutoffs.
+     *
+     * @return The latest year, or null if there are no cutoffs
+     */
+    @Query("select max(c.key.year) from Cutoff c")
+    Integer findLatestCutoffYear();
+
+    /**
+     * Reads every offering for the in-memory snapshot, with the closing ranks of the latest
+     * admission year, as detached College objects. Institution details are read once per
+     * institution and joined to their offerings in memory.
+     *
+     * @return All offerings, in offering id order
+     */
+    default List<College> findAllForSnapshot() {
+        return findAllForSnapshot(findLatestCutoffYear());
+    }
+
+    /**
+     * Reads every offering for the in-memory snapshot, with the closing ranks of one admission
+     * year, as detached College objects.
+     *
+     * @param year The admission year (null if there are no cutoffs)
+     * @return All offerings, in offering id order
+     */
+    default List<College> findAllForSnapshot(Integer year) {
+        Map<Integer, InstitutionRow> institutions = findAllInstitutions().stream()
+                .collect(Collectors.toMap(InstitutionRow::id, Function.identity()));
+        return findAllOfferings(year).stream()
+                .map(offering -> offering.toRow(institutions.get(offering.institutionId())))
+                .map(CollegeRow::toCollege)
+                .toList();
+    }
+
+    /**
+     * Reads the closing ranks of every admission year before the given one.
+     *
+     * @param year The admission year the snapshot serves
+     * @return The closing ranks, ordered by offering, category, gender and year
+     */
+    @Query("select new com.Eamcet.predictor.data.CutoffPoint(c.key.offeringId, c.key.year, c.key.category, "
+            + "c.key.gender, c.closingRank) from Cutoff c where c.key.year < :year "
+            + "order by c.key.offeringId, c.key.category, c.key.gender, c.key.year")
+    List<CutoffPoint> findCutoffsBefore(@Param("year") Integer year);
+
+    /**
+     * Reads the closing ranks of the admission years before the latest one, from which the
+     * snapshot derives the trend of every cutoff.
+     *
+     * @return The history, empty if there are no earlier years
+     */
+    default CutoffHistory findHistoryForSnapshot() {
+        return findHistoryForSnapshot(findLatestCutoffYear());
+    }
+
+    /**
+     * Reads the closing ranks of the admission years before the given one.
+     *
+     * @param year The admission year the snapshot serves (null if there are no cutoffs)
+     * @return The history, empty if there are no earlier years
+     */
+    default CutoffHistory findHistoryForSnapshot(Integer year) {
+        return year != null ? new CutoffHistory(year, findCutoffsBefore(year)) : CutoffHistory.EMPTY;
+    }
+
+    /**
+     * Computes a fingerprint of the offerings and cutoffs in the database, so that changes can
+     * be detected without transferring the rows.
+     *
+     * @return Row count, highest offering id and a checksum over all closing ranks
+     */
+    @Query("select new com.Eamcet.predictor.data.DataFingerprint(count(o), max(o.id), "
+            + "sum(cast(o.id as Long) * (cast(coalesce(c.closingRank, 0) as Long) + coalesce(c.key.year, 0)))) "
+            + "from BranchOffering o left join Cutoff c on c.key.offeringId = o.id")
+    DataFingerprint fingerprint();
+
+    /**
+     * Reads everything a snapshot is built from in a single repeatable-read transaction: the
+     * fingerprint, the offerings with the cutoffs of the latest admission year, and the cutoffs
+     * of the earlier years. The latest year is resolved once, and every query sees the same
+     * state of the data, so an import committed meanwhile is either fully in the snapshot or
+     * not at all (and then detected by the next refresh).
+     *
+     * @return The fingerprint, rows and history
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    default SnapshotData loadSnapshotData() {
+        DataFingerprint fingerprint = fingerprint();
+        Integer year = findLatestCutoffYear();
+        return new SnapshotData(fingerprint, findAllForSnapshot(year), findHistoryForSnapshot(year));
+    }
+}
@@ -1,17 +1,25 @@
 package com.Eamcet.predictor.service;
 
-import com.Eamcet.predictor.dto.CollegeDataDto;
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.data.CutoffIndex;
+import com.Eamcet.predictor.data.CutoffTrends;
+import com.Eamcet.predictor.dto.PredictionQuery;
+import com.Eamcet.predictor.model.Category;
 import com.Eamcet.predictor.model.College;
-import com.Eamcet.predictor.repository.CollegeRepository;
-import jakarta.persistence.criteria.Predicate;
+import com.Eamcet.predictor.model.Gender;
+import com.Eamcet.predictor.util.TopK;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 /**
  * Service class for the College Predictor application.
@@ -28,15 +36,76 @@ import java.util.stream.Collectors;
 public class CollegePredictorService {
 
     private static final Logger log = LoggerFactory.getLogger(CollegePredictorService.class);
-    private final CollegeRepository repo;
 
     /**
-     * Constructor for dependency injection of the college repository.
+     * Maximum number of results returned by {@link #findColleges}.
+     */
+    private static final int MAX_RESULTS = 100;
+
+    /**
+     * Rank, as a multiple of the cutoff, beyond which admission is not considered possible.
+     */
+    private static final double AMBITIOUS_BOUNDARY = 1.25;
+    private final CollegeDataStore store;
+
+    /**
+     * Time spent resolving the filters and effective cutoff columns of a prediction.
+     */
+    private final Timer filterTimer;
+
+    /**
+     * Time spent scoring and ordering candidates (a single selection pass).
+     */
+    private final Timer selectTimer;
+
+    /**
+     * Time spent mapping the selected candidates to result DTOs.
+     */
+    private final Timer mapTimer;
+
+    /**
+     * Number of (row, category) candidates examined by predictions.
+     */
+    private final Counter rowsScanned;
+
+    /**
+     * Number of results returned by predictions.
+     */
+    private final Counter resultsReturned;
+
+    /**
+     * Constructor for dependency injection of the college data store and meter registry.
      * 
-     * @param repo The college repository for database operations
+     * @param store The in-memory college data store
+     * @param registry The registry the prediction stage metrics are published to
      */
-    public CollegePredictorService(CollegeRepository repo) {
-        this.repo = repo;
+    public CollegePredictorService(CollegeDataStore store, MeterRegistry registry) {
+        this.store = store;
+        this.filterTimer = stageTimer(registry, "filter");
+        this.selectTimer = stageTimer(registry, "select");
+        this.mapTimer = stageTimer(registry, "map");
+        this.rowsScanned = Counter.builder("predictor.find.rows.scanned")
+                .description("Candidates examined by college predictions")
+                .register(registry);
+        this.resultsReturned = Counter.builder("predictor.find.results")
+                .description("Results returned by college predictions")
+                .register(registry);
+    }
+
+    /**
+     * Registers the timer of one stage of {@link #findColleges}.
+     *
+     * @param registry The meter registry
+     * @param stage The stage name
+     * @return The stage timer, publishing p50/p95/p99 and a percentile histogram
+     */
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder("predictor.find.stage")
+                .description("Time spent in each stage of a college prediction")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
     /**
@@ -61,9 +130,16 @@ public class CollegePredictorService {
         private final String branch;
         
         /**
-         * Cutoff rank for the specific category.
+         * Cutoff rank for the specific category, of the latest admission year.
          */
         private final Integer cutoff;
+
+        /**
+         * Cutoff rank projected for the next admission from the earlier years; results are
+         * ordered by its distance from the rank and their probability is based on it. Equal
+         * to the cutoff without earlier years.
+         */
+        private final Integer projectedCutoff;
         
         /**
          * District where the college is located.
@@ -125,14 +201,17 @@ public class CollegePredictorService {
          * 
          * @param college The college entity containing basic information
          * @param cutoff The cutoff rank for the specific category
+         * @param projectedCutoff The cutoff rank projected for the next admission
          * @param category The category for which the cutoff applies
          * @param probability The calculated admission probability
          */
-        public CollegeResult(College college, Integer cutoff, String category, Double probability) {
+        public CollegeResult(College college, Integer cutoff, Integer projectedCutoff, String category,
+                             Double probability) {
             this.instcode = college.getInstcode();
             this.name = college.getInstitution_name();
             this.branch = college.getBranchCode();
             this.cutoff = cutoff;
+            this.projectedCutoff = projectedCutoff;
             this.district = college.getDistrict();
             this.region = college.getRegion();
             this.tier = college.getTier();
@@ -165,216 +244,375 @@ public class CollegePredictorService {
             Integer rank, List<String> branches, String category, List<String> districts, 
             List<String> regions, List<String> tiers, List<String> placementQualities, String gender) {
 
-        // Build specification for dynamic filtering based on provided criteria
-        Specification<College> spec = (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            
-            // Add branch filter if provided
-            if (branches != null && !branches.isEmpty()) {
-                predicates.add(root.get("branchCode").in(branches));
-            }
-            
-            // Add district filter if provided
-            if (districts != null && !districts.isEmpty()) {
-                predicates.add(root.get("district").in(districts));
+        long start = System.nanoTime();
+
+        // Filter the in-memory snapshot on the provided criteria
+        CollegeSnapshot snapshot = store.snapshot();
+        BitSet rows = snapshot.matchingRows(branches, districts, regions, tiers, placementQualities);
+        log.debug("Found {} colleges after applying filters", rows.cardinality());
+
+        return predict(snapshot, rows, rank, category, gender, start);
+    }
+
+    /**
+     * Finds colleges for a parsed prediction request.
+     * 
+     * @param query The parsed request parameters
+     * @return List of CollegeResult objects matching the criteria
+     */
+    public List<CollegeResult> findColleges(PredictionQuery query) {
+        return findColleges(query.rank(), query.branches(), query.category(), query.districts(),
+                query.regions(), query.tiers(), query.placementQualities(), query.gender());
+    }
+
+    /**
+     * Finds colleges for many prediction requests at once, against a single snapshot.
+     * Each distinct set of row filters is resolved to a row bitmap only once and shared by
+     * every request using it; the predictions themselves then run in parallel.
+     * 
+     * @param queries The parsed request parameters
+     * @return The results of every query, in the order of the queries
+     */
+    public List<List<CollegeResult>> findCollegesBatch(List<PredictionQuery> queries) {
+        CollegeSnapshot snapshot = store.snapshot();
+
+        // Resolve every distinct filter set once; the bitmaps are only read afterwards
+        Map<List<List<String>>, BitSet> rowsByFilter = new HashMap<>();
+        BitSet[] rows = new BitSet[queries.size()];
+        for (int i = 0; i < rows.length; i++) {
+            PredictionQuery query = queries.get(i);
+            rows[i] = rowsByFilter.computeIfAbsent(query.rowFilterKey(), key -> snapshot.matchingRows(
+                    query.branches(), query.districts(), query.regions(), query.tiers(), query.placementQualities()));
+        }
+        log.debug("Resolved {} distinct filter sets for {} queries", rowsByFilter.size(), rows.length);
+
+        return IntStream.range(0, rows.length)
+                .parallel()
+                .mapToObj(i -> {
+                    PredictionQuery query = queries.get(i);
+                    return predict(snapshot, rows[i], query.rank(), query.category(), query.gender(), System.nanoTime());
+                })
+                .toList();
+    }
+
+    /**
+     * Runs a prediction over already filtered rows.
+     * 
+     * @param snapshot The snapshot to read from
+     * @param rows Bitmap of the rows passing the filters (not modified)
+     * @param rank The EAMCET rank of the student (can be null)
+     * @param category The reservation category (can be null)
+     * @param gender The gender of the student (can be null)
+     * @param start Time the prediction started, in {@link System#nanoTime()} units
+     * @return List of CollegeResult objects matching the criteria
+     */
+    private List<CollegeResult> predict(CollegeSnapshot snapshot, BitSet rows, Integer rank, String category,
+                                        String gender, long start) {
+        // Determine the effective cutoff columns once per request from category and gender
+        int columnMask = getEffectiveColumns(category, gender);
+        int[] columns = new int[Integer.bitCount(columnMask)];
+        for (int i = 0, mask = columnMask; mask != 0; i++, mask &= mask - 1) {
+            columns[i] = Integer.numberOfTrailingZeros(mask);
+        }
+        log.debug("Effective cutoff columns to check: {}", Arrays.toString(columns));
+        long filtered = System.nanoTime();
+        filterTimer.record(filtered - start, TimeUnit.NANOSECONDS);
+
+        Selection selection = rank != null && rank > 0
+                ? findNearestToRank(snapshot, rows, rank, columns)
+                : findByCutoff(snapshot, rows, rank, columns);
+        long selected = System.nanoTime();
+        selectTimer.record(selected - filtered, TimeUnit.NANOSECONDS);
+
+        // Materialize only the selected results
+        List<CollegeResult> results = new ArrayList<>(selection.size);
+        for (int i = 0; i < selection.size; i++) {
+            int cutoff = selection.cutoffs[i];
+            int projected = selection.projected[i];
+            double probability = selection.probabilities[i];
+            results.add(new CollegeResult(snapshot.college(selection.rows[i]),
+                    cutoff == CollegeSnapshot.NO_CUTOFF ? null : cutoff,
+                    projected == CollegeSnapshot.NO_CUTOFF ? null : projected,
+                    CollegeSnapshot.CUTOFF_COLUMNS.get(selection.columns[i]),
+                    Double.isNaN(probability) ? null : probability));
+        }
+        mapTimer.record(System.nanoTime() - selected, TimeUnit.NANOSECONDS);
+        rowsScanned.increment(selection.scanned);
+        resultsReturned.increment(results.size());
+
+        log.debug("Returning {} college results after all processing", results.size());
+        return results;
+    }
+
+    /**
+     * Candidates selected by a prediction, in result order, before mapping to DTOs.
+     */
+    private static final class Selection {
+        final int[] rows = new int[MAX_RESULTS];
+        final int[] columns = new int[MAX_RESULTS];
+        final int[] cutoffs = new int[MAX_RESULTS];
+        final int[] projected = new int[MAX_RESULTS];
+        final double[] probabilities = new double[MAX_RESULTS];
+        int size;
+
+        /**
+         * Number of candidates examined to make the selection.
+         */
+        long scanned;
+
+        void add(int row, int column, int cutoff, int projectedCutoff, double probability) {
+            rows[size] = row;
+            columns[size] = column;
+            cutoffs[size] = cutoff;
+            projected[size] = projectedCutoff;
+            probabilities[size] = probability;
+            size++;
+        }
+    }
+
+    /**
+     * Finds the results closest to a rank using the sorted index of projected cutoffs.
+     * For every effective category the rank is located by binary search, and two cursors
+     * expand outwards from it: upwards through cutoffs at or above the rank, and downwards
+     * through cutoffs below it until the rank falls outside the widest ambitious boundary
+     * of the category (the projection times its largest spread).
+     * The cursors are merged nearest-first, which yields the results already ordered by
+     * distance from the projected cutoff (ties broken by higher probability), so the scan
+     * stops as soon as {@link #MAX_RESULTS} results have been collected. Results report
+     * the cutoff of the latest year and the projected cutoff their order and probability are
+     * based on; without earlier years the two are equal.
+     * 
+     * @param snapshot The snapshot to read from
+     * @param rows Bitmap of the rows passing the filters
+     * @param rank The EAMCET rank of the student (positive)
+     * @param columns The effective cutoff columns
+     * @return Up to MAX_RESULTS candidates ordered by distance from the rank
+     */
+    private Selection findNearestToRank(CollegeSnapshot snapshot, BitSet rows, int rank,
+                                        int[] columns) {
+        CutoffIndex index = snapshot.getCutoffIndex();
+        CutoffTrends trends = snapshot.getTrends();
+
+        // Position the cursors of every category around the rank
+        int[] up = new int[columns.length];
+        int[] down = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            up[i] = index.lowerBound(columns[i], rank);
+            down[i] = up[i] - 1;
+        }
+
+        Selection selection = new Selection();
+        while (selection.size < MAX_RESULTS) {
+            // Pick the cursor whose next cutoff is nearest to the rank; at equal distance the
+            // cutoff above the rank wins because it carries the higher probability
+            int best = -1;
+            boolean bestUp = false;
+            long bestDistance = Long.MAX_VALUE;
+            for (int i = 0; i < columns.length; i++) {
+                if (up[i] < index.size(columns[i])) {
+                    long distance = (long) index.cutoffAt(columns[i], up[i]) - rank;
+                    if (distance < bestDistance || (distance == bestDistance && !bestUp)) {
+                        best = i;
+                        bestUp = true;
+                        bestDistance = distance;
+                    }
+                }
+                if (down[i] >= 0) {
+                    long distance = rank - (long) index.cutoffAt(columns[i], down[i]);
+                    if (distance < bestDistance) {
+                        best = i;
+                        bestUp = false;
+                        bestDistance = distance;
+                    }
+                }
             }
-            
-            // Add region filter if provided
-            if (regions != null && !regions.isEmpty()) {
-                predicates.add(root.get("region").in(regions));
+            if (best < 0) {
+                break; // Every cursor is exhausted
             }
-            
-            // Add tier filter if provided
-            if (tiers != null && !tiers.isEmpty()) {
-                predicates.add(root.get("tier").in(tiers));
+
+            int column = columns[best];
+            int position = bestUp ? up[best]++ : down[best]--;
+            int projected = index.cutoffAt(column, position);
+            int row = index.rowAt(column, position);
+            selection.scanned++;
+            Double probability = calculateProbability(rank, projected, trends.spread(column, row));
+            if (probability == null) {
+                // Cutoffs further below the rank are beyond the ambitious boundary as well,
+                // once the rank is beyond the boundary of the widest spread in the category
+                if (rank > projected * AMBITIOUS_BOUNDARY * trends.maxSpread(column)) {
+                    down[best] = -1;
+                }
+                continue;
             }
-            
-            // Add placement quality filter if provided
-            if (placementQualities != null && !placementQualities.isEmpty()) {
-                predicates.add(root.get("placementDriveQuality").in(placementQualities));
+
+            if (rows.get(row)) {
+                selection.add(row, column, snapshot.cutoff(column, row), projected, probability);
             }
+        }
+        return selection;
+    }
+
+    /**
+     * Finds results without a positive rank by scanning the filtered rows.
+     * Results are ordered by cutoff (higher first), with rows lacking a cutoff last;
+     * those rows are only included when no rank was given at all. Only the best
+     * MAX_RESULTS candidates are kept while scanning, in a bounded top-K heap.
+     * 
+     * @param snapshot The snapshot to read from
+     * @param rows Bitmap of the rows passing the filters
+     * @param rank The rank given in the request (null or non-positive)
+     * @param columns The effective cutoff columns
+     * @return Up to MAX_RESULTS candidates ordered by cutoff
+     */
+    private Selection findByCutoff(CollegeSnapshot snapshot, BitSet rows, Integer rank,
+                                   int[] columns) {
+        // Select the best candidates by primitive cutoff key; each candidate id encodes
+        // (row, category) in scan order so ties keep the original order
+        TopK top = new TopK(MAX_RESULTS);
+        Selection selection = new Selection();
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            for (int i = 0; i < columns.length; i++) {
+                int cutoff = snapshot.cutoff(columns[i], row);
+                selection.scanned++;
 
-            // If no predicates, return null to avoid unnecessary filtering
-            if (predicates.isEmpty()) {
-                return null;
+                // Allow colleges without cutoffs to pass through (ranked last) when no rank is provided
+                if (cutoff == CollegeSnapshot.NO_CUTOFF && rank != null) {
+                    continue;
+                }
+                top.offer(row * columns.length + i, cutoff == CollegeSnapshot.NO_CUTOFF ? -1 : cutoff);
             }
+        }
 
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
+        for (int id : top.drain()) {
+            int row = id / columns.length;
+            int column = columns[id % columns.length];
+            selection.add(row, column, snapshot.cutoff(column, row), snapshot.getTrends().projected(column, row),
+                    Double.NaN);
+        }
+        return selection;
+    }
+    
+    /**
+     * Calculates the admission probability for a rank against a cutoff.
+     * Uses fixed bands relative to the cutoff: up to 95% of the cutoff is assured (85-99%),
+     * up to 110% is reachable (40-85%) and up to 125% is ambitious (5-40%).
+     * 
+     * @param rank The EAMCET rank of the student (positive)
+     * @param cutoff The cutoff rank (positive)
+     * @return The probability in percent, or null if the rank is beyond the ambitious boundary
+     */
+    public Double calculateProbability(int rank, int cutoff) {
+        double probability = bandProbability(rank, cutoff);
+        return probability > 0 ? probability : null;
+    }
 
-        // Find colleges matching the filter criteria
-        List<College> colleges = repo.findAll(spec);
-        log.debug("Found {} colleges after applying filters", colleges.size());
-
-        // Determine effective categories to check based on provided category and gender
-        Set<String> categoriesToCheck = getEffectiveCategories(category, gender);
-        log.debug("Effective categories to check: {}", categoriesToCheck);
-
-        // Process each college for each category and calculate probabilities
-        List<CollegeResult> results = colleges.stream()
-                .flatMap(college -> categoriesToCheck.stream()
-                        .map(cat -> {
-                            // Get cutoff for the specific category
-                            Integer cutoff = getCutoffForCategory(college, cat);
-                            log.debug("College: {}, Category: {}, Cutoff: {}", college.getInstcode(), cat, cutoff);
-                            
-                            // Allow colleges with null cutoffs to pass through when no rank is provided
-                            if (cutoff == null || cutoff == 0) {
-                                if (rank != null) {
-                                    return null; // Only filter out null cutoffs when rank is provided
-                                }
-                                // When no rank is provided, include colleges even with null cutoffs
-                                return new CollegeResult(college, cutoff, cat, null);
-                            }
-
-                            // Calculate admission probability based on rank and cutoff
-                            Double probability = null;
-
-                            if (rank != null && rank > 0) {
-                                // Define probability boundaries based on cutoff
-                                double assuredBoundary = cutoff * 0.95;      // 95% chance of admission
-                                double reachableBoundary = cutoff * 1.10;    // 40% chance of admission
-                                double ambitiousBoundary = cutoff * 1.25;    // 5% chance of admission
-
-                                if (rank <= assuredBoundary) {
-                                    // High probability (85-99%)
-                                    double score = ((double) cutoff - rank) / cutoff;
-                                    probability = 85.0 + 14.0 * score;
-                                    probability = Math.min(99.0, probability);
-
-                                } else if (rank <= reachableBoundary) {
-                                    // Moderate probability (40-85%)
-                                    double range = reachableBoundary - assuredBoundary;
-                                    double score = (reachableBoundary - rank) / range;
-                                    probability = 40.0 + 45.0 * score;
-
-                                } else if (rank <= ambitiousBoundary) {
-                                    // Low probability (5-40%)
-                                    double range = ambitiousBoundary - reachableBoundary;
-                                    double score = (ambitiousBoundary - rank) / range;
-                                    probability = 5.0 + 35.0 * score;
-
-                                } else {
-                                    // Very low probability, exclude from results
-                                    return null;
-                                }
-                            }
-
-                            // Create and return CollegeResult with calculated probability
-                            return new CollegeResult(college, cutoff, cat, probability);
-                        })
-                        .filter(Objects::nonNull)
-                )
-                .sorted((a, b) -> {
-                    // Sort results based on rank and probability
-                    if (rank != null && rank > 0) {
-                        Integer cutoffA = a.getCutoff();
-                        Integer cutoffB = b.getCutoff();
-                        
-                        // Handle null cutoffs
-                        if (cutoffA == null && cutoffB == null) return 0;
-                        if (cutoffA == null) return 1;
-                        if (cutoffB == null) return -1;
-                        
-                        // Sort by distance from rank (closer is better)
-                        int distanceA = Math.abs(cutoffA - rank);
-                        int distanceB = Math.abs(cutoffB - rank);
-                        
-                        int distanceComparison = Integer.compare(distanceA, distanceB);
-                        if (distanceComparison != 0) {
-                            return distanceComparison;
-                        }
-                        
-                        // If distances are equal, sort by probability (higher is better)
-                        Double probA = a.getProbability();
-                        Double probB = b.getProbability();
-                        if (probA != null && probB != null) {
-                            return Double.compare(probB, probA);
-                        }
-                        if (probA != null) return -1;
-                        if (probB != null) return 1;
-                        return 0;
-                    } else {
-                        // When no rank is provided, sort by cutoff (higher is better)
-                        Integer cutoffA = a.getCutoff();
-                        Integer cutoffB = b.getCutoff();
-                        
-                        if (cutoffA == null && cutoffB == null) return 0;
-                        if (cutoffA == null) return 1;
-                        if (cutoffB == null) return -1;
-                        
-                        return Integer.compare(cutoffB, cutoffA);
-                    }
-                })
-                .limit(100) // Limit results to 100 for performance
-                .collect(Collectors.toList());
-        
-        log.debug("Returning {} college results after all processing", results.size());
-        return results;
+    /**
+     * Calculates the admission probability for a rank against a projected cutoff with an
+     * uncertain outcome. The fixed bands are averaged over the cutoff's log-normal spread with
+     * a three-point Gauss-Hermite rule: the projection weighs 2/3, and the projection divided and
+     * multiplied by the spread weigh 1/6 each. A spread of 1 (no earlier years) gives exactly
+     * {@link #calculateProbability(int, int)}.
+     * 
+     * @param rank The EAMCET rank of the student (positive)
+     * @param projected The projected cutoff rank (positive)
+     * @param spread The spread of the projection, exp(sqrt(3) * volatility), at least 1
+     * @return The probability in percent, or null if the rank is beyond the ambitious boundary
+     *         of even the most favourable outcome
+     */
+    public Double calculateProbability(int rank, int projected, double spread) {
+        if (spread == 1.0) {
+            return calculateProbability(rank, projected);
+        }
+        double high = bandProbability(rank, projected * spread);
+        if (high == 0) {
+            return null;
+        }
+        return (bandProbability(rank, projected / spread) + 4 * bandProbability(rank, projected) + high) / 6;
+    }
+
+    /**
+     * Applies the fixed probability bands to a rank and a cutoff.
+     * 
+     * @param rank The EAMCET rank of the student (positive)
+     * @param cutoff The cutoff rank (positive)
+     * @return The probability in percent, or 0 if the rank is beyond the ambitious boundary
+     */
+    private static double bandProbability(int rank, double cutoff) {
+        // Define probability boundaries based on cutoff
+        double assuredBoundary = cutoff * 0.95;      // 95% chance of admission
+        double reachableBoundary = cutoff * 1.10;    // 40% chance of admission
+        double ambitiousBoundary = cutoff * AMBITIOUS_BOUNDARY;    // 5% chance of admission
+
+        if (rank <= assuredBoundary) {
+            // High probability (85-99%)
+            double score = (cutoff - rank) / cutoff;
+            return Math.min(99.0, 85.0 + 14.0 * score);
+        } else if (rank <= reachableBoundary) {
+            // Moderate probability (40-85%)
+            double range = reachableBoundary - assuredBoundary;
+            double score = (reachableBoundary - rank) / range;
+            return 40.0 + 45.0 * score;
+        } else if (rank <= ambitiousBoundary) {
+            // Low probability (5-40%)
+            double range = ambitiousBoundary - reachableBoundary;
+            double score = (ambitiousBoundary - rank) / range;
+            return 5.0 + 35.0 * score;
+        }
+        // Very low probability
+        return 0;
     }
     
     /**
-     * Determines the effective categories to check based on provided category and gender.
-     * Handles various combinations and defaults to comprehensive checking when parameters are missing.
+     * Determines the effective cutoff columns to check based on provided category and gender.
+     * Handles various combinations and defaults to comprehensive checking when parameters are missing:
+     * a missing category checks every category, and a missing or unrecognized gender checks both
+     * genders (unless a category was given too, in which case the gender must be recognized).
      * 
      * @param category The reservation category (can be null)
      * @param gender The gender (can be null)
-     * @return Set of effective category strings in format "category_gender"
+     * @return Bitmask with bit {@code CollegeSnapshot.cutoffColumn(category, gender)} set for each
+     *         effective combination; 0 if the category is not recognized
      */
-    public Set<String> getEffectiveCategories(String category, String gender) {
-        Set<String> effectiveCategories = new HashSet<>();
-
-        // If both category and gender are explicitly provided, use only that specific combination
-        if (category != null && !category.trim().isEmpty() && 
-            gender != null && !gender.trim().isEmpty()) {
-            String categoryLower = category.toLowerCase();
-            String genderLower = gender.toLowerCase();
-            
-            // Normalize gender values
-            String normalizedGender;
-            if ("boys".equals(genderLower) || "male".equals(genderLower)) {
-                normalizedGender = "boys";
-            } else if ("girls".equals(genderLower) || "female".equals(genderLower)) {
-                normalizedGender = "girls";
-            } else {
-                normalizedGender = genderLower; // fallback to the original value
-            }
-            
-            effectiveCategories.add(categoryLower + "_" + normalizedGender);
-            return effectiveCategories;
-        }
+    public int getEffectiveColumns(String category, String gender) {
+        boolean hasCategory = category != null && !category.trim().isEmpty();
+        boolean hasGender = gender != null && !gender.trim().isEmpty();
 
-        // Original logic for when one or both parameters are missing
-        List<String> gendersToCheck = new ArrayList<>();
-        if (gender != null && !gender.trim().isEmpty()) {
-            String genderLower = gender.toLowerCase();
-            if ("boys".equals(genderLower) || "male".equals(genderLower)) {
-                gendersToCheck.add("boys");
-            } else if ("girls".equals(genderLower) || "female".equals(genderLower)) {
-                gendersToCheck.add("girls");
-            } else {
-                gendersToCheck.add("boys");
-                gendersToCheck.add("girls");
-            }
-        } else {
-            gendersToCheck.add("boys");
-            gendersToCheck.add("girls");
+        Category parsedCategory = hasCategory ? Category.parse(category) : null;
+        Gender parsedGender = hasGender ? Gender.parse(gender) : null;
+        if (hasCategory && parsedCategory == null) {
+            return 0; // Unknown category has no cutoff column
         }
-
-        List<String> categoriesToCheck = new ArrayList<>();
-        if (category != null && !category.trim().isEmpty()) {
-            categoriesToCheck.add(category.toLowerCase());
-        } else {
-            categoriesToCheck.addAll(Arrays.asList("oc", "sc", "st", "bca", "bcb", "bcc", "bcd", "bce", "oc_ews"));
+        if (hasCategory && hasGender && parsedGender == null) {
+            return 0; // Explicit combination with an unknown gender has no cutoff column
         }
 
-        // Create all combinations of categories and genders
-        for (String cat : categoriesToCheck) {
-            for (String gen : gendersToCheck) {
-                effectiveCategories.add(cat + "_" + gen);
+        int mask = 0;
+        for (Category cat : Category.values()) {
+            if (parsedCategory != null && cat != parsedCategory) continue;
+            for (Gender gen : Gender.values()) {
+                if (parsedGender != null && gen != parsedGender) continue;
+                mask |= 1 << CollegeSnapshot.cutoffColumn(cat, gen);
             }
         }
+        return mask;
+    }
 
+    /**
+     * Determines the effective categories to check based on provided category and gender.
+     * String form of {@link #getEffectiveColumns(String, String)}.
+     * 
+     * @param category The reservation category (can be null)
+     * @param gender The gender (can be null)
+     * @return Set of effective category strings in format "category_gender"
+     */
+    public Set<String> getEffectiveCategories(String category, String gender) {
+        Set<String> effectiveCategories = new LinkedHashSet<>();
+        int mask = getEffectiveColumns(category, gender);
+        for (int column = 0; column < CollegeSnapshot.CUTOFF_COLUMNS.size(); column++) {
+            if ((mask & (1 << column)) != 0) {
+                effectiveCategories.add(CollegeSnapshot.CUTOFF_COLUMNS.get(column));
+            }
+        }
         return effectiveCategories;
     }
 
@@ -0,0 +1,111 @@
+package com.Eamcet.predictor.service;
+
+import com.Eamcet.predictor.data.CutoffCsvImporter;
+import com.Eamcet.predictor.exception.CutoffImportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command line entry point of the CSV cutoff import. Started with
+ * --import-cutoffs=&lt;file&gt; --import-year=&lt;year&gt; (and --import-replace if the file
+ * replaces all data, removing the offerings not in it), the application imports the file
+ * without starting the web server, logs the progress and the result, and exits with status 0
+ * on success or 1 if the file was rejected or the import failed.
+ *
+ * Running instances pick up the imported data with their next background refresh.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CutoffImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CutoffImportRunner.class);
+
+    static final String FILE_OPTION = "import-cutoffs";
+    static final String YEAR_OPTION = "import-year";
+    static final String REPLACE_OPTION = "import-replace";
+
+    private final CutoffCsvImporter importer;
+    private final ApplicationContext context;
+
+    /**
+     * Constructor for dependency injection of the importer and the application context.
+     *
+     * @param importer The CSV cutoff file importer
+     * @param context The application context, closed when the import is done
+     */
+    public CutoffImportRunner(CutoffCsvImporter importer, ApplicationContext context) {
+        this.importer = importer;
+        this.context = context;
+    }
+
+    /**
+     * Checks whether the command line asks for a cutoff import.
+     *
+     * @param args The command line arguments
+     * @return true if the --import-cutoffs option is present
+     */
+    public static boolean isRequested(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith("--" + FILE_OPTION + "="));
+    }
+
+    /**
+     * Imports the file given on the command line, if any, and exits.
+     *
+     * @param args The application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(FILE_OPTION)) {
+            return;
+        }
+        int status = importFile(args.getOptionValues(FILE_OPTION), args.getOptionValues(YEAR_OPTION),
+                args.containsOption(REPLACE_OPTION));
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+
+    /**
+     * Runs the import and logs its outcome.
+     *
+     * @param files Values of the file option
+     * @param years Values of the year option (null if absent)
+     * @param replace Whether the replace option is present
+     * @return The exit status
+     */
+    private int importFile(List<String> files, List<String> years, boolean replace) {
+        if (files.size() != 1 || years == null || years.size() != 1 || !years.get(0).matches("\\d{4}")) {
+            log.error("Usage: --{}=<file.csv> --{}=<admission year> [--{}]", FILE_OPTION, YEAR_OPTION,
+                    REPLACE_OPTION);
+            return 1;
+        }
+        Path file = Path.of(files.get(0));
+        int year = Integer.parseInt(years.get(0));
+        try (InputStream in = Files.newInputStream(file)) {
+            CutoffCsvImporter.Report report = importer.importCsv(in, year, replace);
+            log.info("Imported {}: {} rows in {} batches, {} cutoffs for {}, {} offerings removed in {} ms", file,
+                    report.rows(), report.batches(), report.normalized().cutoffs(), year,
+                    report.normalized().removedOfferings(), report.millis());
+            return 0;
+        } catch (CutoffImportException e) {
+            log.error("Rejected {}: {}", file, e.getMessage());
+            e.getErrors().forEach(error -> log.error("  {}", error));
+            return 1;
+        } catch (IOException | RuntimeException e) {
+            log.error("Importing {} failed", file, e);
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.Eamcet.predictor.service;
+
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.dto.PredictionQuery;
+import com.Eamcet.predictor.model.Category;
+import com.Eamcet.predictor.model.Gender;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Warm-up stage run once at startup, before the instance reports ready.
+ * Spring Boot keeps the readiness state at REFUSING_TRAFFIC until all application runners
+ * have finished, so load balancers and uptime checks probing /actuator/health/readiness only
+ * see the instance once it is warm.
+ *
+ * The warm-up:
+ * - opens the pool's minimum number of database connections in the background (readiness
+ *   does not wait for them, so an instance with a persisted snapshot becomes ready even while
+ *   the database is unreachable),
+ * - loads the college snapshot (from disk or the database),
+ * - runs representative predictions in-process and serializes the results until the hot
+ *   loops are compiled, bounded by an iteration count and a time budget,
+ * - sends a few requests to every main endpoint through the local HTTP port, so that the
+ *   dispatcher, message converters and Jackson serializers are initialized.
+ *
+ * Every step is best effort: failures are logged and never prevent startup.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+    private final CollegeDataStore store;
+    private final CollegePredictorService service;
+    private final ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final ApplicationContext context;
+
+    /**
+     * Whether the warm-up runs at all.
+     */
+    private final boolean enabled;
+
+    /**
+     * Number of in-process prediction rounds.
+     */
+    private final int iterations;
+
+    /**
+     * Number of rounds of requests through the HTTP port.
+     */
+    private final int httpRounds;
+
+    /**
+     * Upper bound on the time spent on in-process predictions.
+     */
+    private final Duration maxDuration;
+
+    /**
+     * Constructor for dependency injection of the warmed-up components and settings.
+     *
+     * @param store The college data store
+     * @param service The prediction service
+     * @param objectMapper The JSON mapper used for responses
+     * @param dataSource The database connection pool
+     * @param context The application context, used to find the HTTP port
+     * @param enabled Whether to warm up
+     * @param iterations Number of in-process prediction rounds
+     * @param httpRounds Number of rounds of requests through the HTTP port
+     * @param maxDuration Time budget of the in-process predictions
+     */
+    public WarmUpRunner(CollegeDataStore store, CollegePredictorService service, ObjectMapper objectMapper,
+                        DataSource dataSource, ApplicationContext context,
+                        @Value("${predictor.warmup.enabled:true}") boolean enabled,
+                        @Value("${predictor.warmup.iterations:1000}") int iterations,
+                        @Value("${predictor.warmup.http-rounds:3}") int httpRounds,
+                        @Value("${predictor.warmup.max-duration:30s}") Duration maxDuration) {
+        this.store = store;
+        this.service = service;
+        this.objectMapper = objectMapper;
+        this.dataSource = dataSource;
+        this.context = context;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.httpRounds = httpRounds;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Runs the warm-up steps in order.
+     *
+     * @param args The application arguments (unused)
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Thread.ofVirtual().name("warm-up-connections").start(this::openConnections);
+
+        CollegeSnapshot snapshot;
+        try {
+            snapshot = store.snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up skipped: college data is not available yet ({})", e.toString());
+            return;
+        }
+        if (snapshot.size() == 0) {
+            log.warn("Warm-up skipped: college data is empty");
+            return;
+        }
+
+        int rounds = predictInProcess(snapshot);
+        requestEndpoints(snapshot);
+        log.info("Warm-up finished in {} ms ({} prediction rounds, {} HTTP rounds)",
+                (System.nanoTime() - start) / 1_000_000, rounds, httpRounds);
+    }
+
+    /**
+     * Opens the pool's minimum number of idle connections at once, so the first requests
+     * don't pay for TLS handshakes with the database.
+     */
+    private void openConnections() {
+        int count = dataSource instanceof HikariDataSource hikari ? Math.max(1, hikari.getMinimumIdle()) : 1;
+        List<Connection> connections = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(5);
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Warm-up could not open database connections: {}", e.toString());
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Closing warm-up connection failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs varied predictions against the snapshot and serializes their results.
+     *
+     * @param snapshot The loaded snapshot
+     * @return Number of rounds run within the time budget
+     */
+    private int predictInProcess(CollegeSnapshot snapshot) {
+        List<String> branches = snapshot.getAnalytics().getBranches();
+        Category[] categories = Category.values();
+        Gender[] genders = Gender.values();
+        Random random = new Random(42);
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+
+        int round = 0;
+        for (; round < iterations && System.nanoTime() < deadline; round++) {
+            List<String> branchFilter = branches.isEmpty() || round % 3 == 0 ? null
+                    : List.of(branches.get(random.nextInt(branches.size())));
+            PredictionQuery query = new PredictionQuery(
+                    round % 5 == 4 ? null : 1 + random.nextInt(200_000),
+                    branchFilter,
+                    round % 4 == 3 ? null : categories[random.nextInt(categories.length)].getKey(),
+                    null, null, null, null,
+                    genders[random.nextInt(genders.length)].getKey());
+            try {
+                objectMapper.writeValueAsBytes(service.findColleges(query));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Warm-up prediction failed: {}", e.toString());
+                break;
+            }
+        }
+        return round;
+    }
+
+    /**
+     * Sends requests to the main endpoints through the local HTTP port.
+     *
+     * @param snapshot The loaded snapshot, used to pick existing colleges and branches
+     */
+    private void requestEndpoints(CollegeSnapshot snapshot) {
+        if (httpRounds <= 0 || !(context instanceof WebServerApplicationContext web) || web.getWebServer() == null) {
+            return;
+        }
+        String base = "http://127.0.0.1:" + web.getWebServer().getPort() + "/api";
+        String instcode = snapshot.college(0).getInstcode();
+        String branch = snapshot.college(0).getBranchCode();
+        String prediction = json(Map.of("rank", 25000, "category", "oc", "gender", "boys"));
+        String recommendation = json(Map.of("rank", 25000, "category", "oc", "gender", "boys",
+                "branch", branch != null ? branch : "CSE"));
+
+        List<HttpRequest> requests = new ArrayList<>();
+        requests.add(post(base + "/predict-colleges", prediction));
+        requests.add(post(base + "/recommendations", recommendation));
+        requests.add(get(base + "/analytics/summary"));
+        requests.add(get(base + "/analytics/branches"));
+        requests.add(get(base + "/search/by-name?query=eng"));
+        if (instcode != null && branch != null) {
+            requests.add(get(base + "/analytics/branch-stats/" + encode(branch)));
+            requests.add(get(base + "/similar-colleges/" + encode(instcode) + "/" + encode(branch)
+                    + "?category=oc_boys"));
+            requests.add(get(base + "/cutoff-distribution/" + encode(instcode) + "/" + encode(branch)));
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        for (int round = 0; round < httpRounds; round++) {
+            for (HttpRequest request : requests) {
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() >= 400) {
+                        log.debug("Warm-up request {} answered {}", request.uri(), response.statusCode());
+                    }
+                } catch (IOException e) {
+                    log.warn("Warm-up request {} failed: {}", request.uri(), e.toString());
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Serializes a request body.
+     */
+    private String json(Map<String, Object> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builds a GET request.
+     */
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    /**
+     * Builds a JSON POST request.
+     */
+    private static HttpRequest post(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Encodes a path segment or query value.
+     */
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,186 @@
+package com.Eamcet.predictor.util;
+
+/**
+ * Bounded top-K selection over primitive sort keys.
+ * Candidates are offered as an int id with a primary and a secondary double key; only the
+ * best K are kept in a fixed-size binary heap, so selecting K out of n candidates costs
+ * O(n log K) time and O(K) memory instead of materializing and sorting all n.
+ *
+ * Ordering: higher primary key first, then higher secondary key, then lower id. Offering
+ * candidates with increasing ids therefore reproduces a stable sort followed by a limit.
+ */
+public final class TopK {
+
+    /**
+     * Maximum number of candidates kept.
+     */
+    private final int capacity;
+
+    /**
+     * Ids of the kept candidates, arranged as a heap with the worst candidate at the root.
+     */
+    private final int[] ids;
+
+    /**
+     * Primary keys of the kept candidates, parallel to {@link #ids}.
+     */
+    private final double[] primaryKeys;
+
+    /**
+     * Secondary keys of the kept candidates, parallel to {@link #ids}.
+     */
+    private final double[] secondaryKeys;
+
+    /**
+     * Number of candidates currently kept.
+     */
+    private int size;
+
+    /**
+     * Constructor for a selection keeping at most k candidates.
+     *
+     * @param k The number of candidates to keep
+     */
+    public TopK(int k) {
+        this.capacity = k;
+        this.ids = new int[k];
+        this.primaryKeys = new double[k];
+        this.secondaryKeys = new double[k];
+    }
+
+    /**
+     * Offers a candidate with a single sort key.
+     *
+     * @param id The candidate id
+     * @param key The sort key (higher is better)
+     */
+    public void offer(int id, double key) {
+        offer(id, key, 0.0);
+    }
+
+    /**
+     * Offers a candidate with a primary and a secondary sort key.
+     *
+     * @param id The candidate id
+     * @param primary The primary sort key (higher is better)
+     * @param secondary The secondary sort key, used when primary keys are equal (higher is better)
+     */
+    public void offer(int id, double primary, double secondary) {
+        if (capacity == 0) {
+            return;
+        }
+        if (size < capacity) {
+            ids[size] = id;
+            primaryKeys[size] = primary;
+            secondaryKeys[size] = secondary;
+            siftUp(size++);
+        } else if (better(id, primary, secondary, 0)) {
+            // Replace the worst kept candidate
+            ids[0] = id;
+            primaryKeys[0] = primary;
+            secondaryKeys[0] = secondary;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Gets the number of candidates currently kept.
+     *
+     * @return The number of kept candidates
+     */
+    public int size() { return size; }
+
+    /**
+     * Returns the ids of the kept candidates, best first, and empties the selection.
+     *
+     * @return The selected ids in order
+     */
+    public int[] drain() {
+        int[] ordered = new int[size];
+        while (size > 0) {
+            ordered[size - 1] = ids[0];
+            size--;
+            if (size > 0) {
+                move(size, 0);
+                siftDown(0);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Checks whether a candidate ranks strictly before the kept candidate at a heap slot.
+     */
+    private boolean better(int id, double primary, double secondary, int slot) {
+        int compare = Double.compare(primary, primaryKeys[slot]);
+        if (compare == 0) {
+            compare = Double.compare(secondary, secondaryKeys[slot]);
+        }
+        if (compare == 0) {
+            compare = Integer.compare(ids[slot], id);
+        }
+        return compare > 0;
+    }
+
+    /**
+     * Checks whether the candidate at one heap slot ranks after the one at another.
+     */
+    private boolean worse(int slot, int other) {
+        return better(ids[other], primaryKeys[other], secondaryKeys[other], slot);
+    }
+
+    /**
+     * Restores the heap property upwards from a slot.
+     */
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!worse(slot, parent)) {
+                break;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    /**
+     * Restores the heap property downwards from a slot.
+     */
+    private void siftDown(int slot) {
+        while (true) {
+            int left = 2 * slot + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int worst = right < size && worse(right, left) ? right : left;
+            if (!worse(worst, slot)) {
+                break;
+            }
+            swap(slot, worst);
+            slot = worst;
+        }
+    }
+
+    /**
+     * Copies the candidate at one heap slot into another.
+     */
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        primaryKeys[to] = primaryKeys[from];
+        secondaryKeys[to] = secondaryKeys[from];
+    }
+
+    /**
+     * Swaps the candidates at two heap slots.
+     */
+    private void swap(int a, int b) {
+        int id = ids[a];
+        double primary = primaryKeys[a];
+        double secondary = secondaryKeys[a];
+        move(b, a);
+        ids[b] = id;
+        primaryKeys[b] = primary;
+        secondaryKeys[b] = secondary;
+    }
+}
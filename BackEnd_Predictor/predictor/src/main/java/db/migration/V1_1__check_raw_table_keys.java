@@ -0,0 +1,92 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that raw_table fits the V2 migration before it runs. V2 narrows the key and filter
+ * columns and makes (instcode, branch_code) unique; MySQL rejects longer values (or truncates
+ * them outside strict mode) and cannot build the unique key over duplicate rows. Instead of
+ * failing halfway through V2, the migration stops here with the rows to fix, and raw_table is
+ * left unchanged.
+ *
+ * Duplicates are found with the database's own comparison, so they are the rows the unique
+ * key would reject (with MySQL's default collation, "CSE" and "cse" are duplicates).
+ */
+public class V1_1__check_raw_table_keys extends BaseJavaMigration {
+
+    /**
+     * Columns narrowed by V2, with their new lengths.
+     */
+    private static final Map<String, Integer> NARROWED_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        NARROWED_COLUMNS.put("instcode", 32);
+        NARROWED_COLUMNS.put("branch_code", 32);
+        NARROWED_COLUMNS.put("region", 32);
+        NARROWED_COLUMNS.put("tier", 32);
+        NARROWED_COLUMNS.put("dist", 64);
+        NARROWED_COLUMNS.put("placement_drive_quality", 32);
+    }
+
+    /**
+     * Most problems listed in the error; the rest are counted.
+     */
+    private static final int MAX_REPORTED = 20;
+
+    private static final String DUPLICATES = """
+            SELECT r.sno, r.instcode, r.branch_code
+            FROM raw_table r
+            JOIN (SELECT instcode, branch_code FROM raw_table
+                  WHERE instcode IS NOT NULL AND branch_code IS NOT NULL
+                  GROUP BY instcode, branch_code HAVING COUNT(*) > 1) d
+              ON d.instcode = r.instcode AND d.branch_code = r.branch_code
+            ORDER BY d.instcode, d.branch_code, r.sno""";
+
+    /**
+     * Fails if any row holds a value longer than its narrowed column, or repeats the
+     * (instcode, branch_code) of another row.
+     *
+     * @param context The migration context
+     */
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        List<String> problems = new ArrayList<>();
+
+        NARROWED_COLUMNS.forEach((column, length) -> jdbc.query(
+                "SELECT sno, " + column + " FROM raw_table WHERE CHAR_LENGTH(" + column + ") > " + length
+                        + " ORDER BY sno",
+                row -> {
+                    problems.add("sno " + row.getInt(1) + ": " + column + " '" + row.getString(2)
+                            + "' is longer than " + length + " characters");
+                }));
+
+        Map<String, List<Integer>> duplicates = new LinkedHashMap<>();
+        jdbc.query(DUPLICATES, row -> {
+            String key = "instcode '" + row.getString(2) + "', branch_code '" + row.getString(3) + "'";
+            duplicates.computeIfAbsent(key, k -> new ArrayList<>()).add(row.getInt(1));
+        });
+        duplicates.forEach((key, rows) -> problems.add("sno " + rows.stream().map(String::valueOf)
+                .collect(Collectors.joining(", ")) + ": duplicate " + key));
+
+        if (!problems.isEmpty()) {
+            StringBuilder message = new StringBuilder("raw_table has ").append(problems.size())
+                    .append(" problem(s) to fix before the V2 migration can index it:");
+            problems.stream().limit(MAX_REPORTED).forEach(problem -> message.append("\n  ").append(problem));
+            if (problems.size() > MAX_REPORTED) {
+                message.append("\n  ... and ").append(problems.size() - MAX_REPORTED).append(" more");
+            }
+            throw new FlywayException(message.toString());
+        }
+    }
+}
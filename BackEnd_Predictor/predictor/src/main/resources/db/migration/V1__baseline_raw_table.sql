@@ -0,0 +1,37 @@
+-- Baseline: raw_table as it existed before the schema was managed by migrations.
+-- Databases that already hold raw_table are baselined at this version (see
+-- spring.flyway.baseline-on-migrate), so this script only runs on empty databases.
+CREATE TABLE IF NOT EXISTS raw_table (
+    sno                     INT          NOT NULL AUTO_INCREMENT,
+    instcode                VARCHAR(255),
+    institution_name        VARCHAR(255),
+    division                VARCHAR(255),
+    region                  VARCHAR(255),
+    dist                    VARCHAR(255),
+    place                   VARCHAR(255),
+    affl                    VARCHAR(255),
+    branch_code             VARCHAR(255),
+    tier                    VARCHAR(255),
+    highest_package         DOUBLE,
+    average_package         DOUBLE,
+    placement_drive_quality VARCHAR(255),
+    oc_boys                 INT,
+    oc_girls                INT,
+    sc_boys                 INT,
+    sc_girls                INT,
+    st_boys                 INT,
+    st_girls                INT,
+    bca_boys                INT,
+    bca_girls               INT,
+    bcb_boys                INT,
+    bcb_girls               INT,
+    bcc_boys                INT,
+    bcc_girls               INT,
+    bcd_boys                INT,
+    bcd_girls               INT,
+    bce_boys                INT,
+    bce_girls               INT,
+    oc_ews_boys             INT,
+    oc_ews_girls            INT,
+    PRIMARY KEY (sno)
+);
@@ -0,0 +1,25 @@
+-- Indexes matched to the filter shapes of the prediction and lookup queries.
+-- Every filter combines an optional branch list with optional district, region, tier and
+-- placement quality filters, and colleges are looked up by (instcode, branch_code).
+-- V1_1 (db.migration.V1_1__check_raw_table_keys) has checked that every value fits its narrowed
+-- column and that no (instcode, branch_code) repeats, and reported the rows to fix otherwise.
+
+-- Narrow the indexed columns so the composite keys stay small
+ALTER TABLE raw_table MODIFY COLUMN instcode VARCHAR(32);
+ALTER TABLE raw_table MODIFY COLUMN branch_code VARCHAR(32);
+ALTER TABLE raw_table MODIFY COLUMN region VARCHAR(32);
+ALTER TABLE raw_table MODIFY COLUMN tier VARCHAR(32);
+ALTER TABLE raw_table MODIFY COLUMN dist VARCHAR(64);
+ALTER TABLE raw_table MODIFY COLUMN placement_drive_quality VARCHAR(32);
+
+-- One row per college and branch; also serves the similar-colleges and cutoff-distribution lookups
+CREATE UNIQUE INDEX ux_raw_table_instcode_branch ON raw_table (instcode, branch_code);
+
+-- Branch filters, optionally narrowed by region and tier
+CREATE INDEX ix_raw_table_branch_region_tier ON raw_table (branch_code, region, tier);
+
+-- District filters, with or without a branch filter
+CREATE INDEX ix_raw_table_dist_branch ON raw_table (dist, branch_code);
+
+-- Placement quality filters, with or without a branch filter
+CREATE INDEX ix_raw_table_quality_branch ON raw_table (placement_drive_quality, branch_code);
@@ -0,0 +1,189 @@
+-- Normalized college schema: one row per institution, one per branch offered by an
+-- institution, and one per closing rank, keyed by admission year, category and gender.
+-- raw_table stays as the import source (see RawTableImporter); the college snapshot is read
+-- from these tables.
+
+CREATE TABLE institution (
+    id               INT          NOT NULL AUTO_INCREMENT,
+    instcode         VARCHAR(32)  NOT NULL,
+    institution_name VARCHAR(255),
+    division         VARCHAR(255),
+    region           VARCHAR(32),
+    dist             VARCHAR(64),
+    place            VARCHAR(255),
+    affl             VARCHAR(255),
+    tier             VARCHAR(32),
+    PRIMARY KEY (id),
+    CONSTRAINT ux_institution_instcode UNIQUE (instcode)
+);
+
+-- Placement figures stay per branch: raw_table records them per row, and they can differ
+-- between the branches of one institution
+CREATE TABLE branch_offering (
+    id                      INT         NOT NULL AUTO_INCREMENT,
+    institution_id          INT         NOT NULL,
+    branch_code             VARCHAR(32) NOT NULL,
+    highest_package         DOUBLE,
+    average_package         DOUBLE,
+    placement_drive_quality VARCHAR(32),
+    PRIMARY KEY (id),
+    CONSTRAINT ux_branch_offering_institution_branch UNIQUE (institution_id, branch_code),
+    CONSTRAINT fk_branch_offering_institution FOREIGN KEY (institution_id) REFERENCES institution (id)
+);
+
+CREATE INDEX ix_branch_offering_branch ON branch_offering (branch_code);
+
+-- Missing cutoffs have no row. The primary key clusters all cutoffs of an offering together.
+CREATE TABLE cutoff (
+    offering_id  INT        NOT NULL,
+    cutoff_year  INT        NOT NULL,
+    category     VARCHAR(8) NOT NULL,
+    gender       VARCHAR(8) NOT NULL,
+    closing_rank INT        NOT NULL,
+    PRIMARY KEY (offering_id, cutoff_year, category, gender),
+    CONSTRAINT fk_cutoff_offering FOREIGN KEY (offering_id) REFERENCES branch_offering (id) ON DELETE CASCADE
+);
+
+-- Initial import of raw_table, as the cutoffs of admission year ${raw_table_year}.
+-- Institution details are taken from the first row of each institution; rows without an
+-- institution code or branch code are not imported.
+INSERT INTO institution (instcode, institution_name, division, region, dist, place, affl, tier)
+SELECT r.instcode, r.institution_name, r.division, r.region, r.dist, r.place, r.affl, r.tier
+FROM raw_table r
+WHERE r.sno IN (SELECT MIN(f.sno) FROM raw_table f
+                WHERE f.instcode IS NOT NULL AND f.branch_code IS NOT NULL GROUP BY f.instcode)
+ORDER BY r.sno;
+
+-- Offerings are inserted in raw_table order, so the snapshot keeps the same row order
+INSERT INTO branch_offering (institution_id, branch_code, highest_package, average_package, placement_drive_quality)
+SELECT i.id, r.branch_code, r.highest_package, r.average_package, r.placement_drive_quality
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+WHERE r.branch_code IS NOT NULL
+ORDER BY r.sno;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'oc', 'boys', r.oc_boys
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.oc_boys IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'oc', 'girls', r.oc_girls
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.oc_girls IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'sc', 'boys', r.sc_boys
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.sc_boys IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'sc', 'girls', r.sc_girls
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.sc_girls IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'st', 'boys', r.st_boys
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.st_boys IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'st', 'girls', r.st_girls
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.st_girls IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bca', 'boys', r.bca_boys
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bca_boys IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bca', 'girls', r.bca_girls
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bca_girls IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bcb', 'boys', r.bcb_boys
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bcb_boys IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bcb', 'girls', r.bcb_girls
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bcb_girls IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bcc', 'boys', r.bcc_boys
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bcc_boys IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bcc', 'girls', r.bcc_girls
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bcc_girls IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bcd', 'boys', r.bcd_boys
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bcd_boys IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bcd', 'girls', r.bcd_girls
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bcd_girls IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bce', 'boys', r.bce_boys
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bce_boys IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'bce', 'girls', r.bce_girls
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.bce_girls IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'oc_ews', 'boys', r.oc_ews_boys
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.oc_ews_boys IS NOT NULL;
+
+INSERT INTO cutoff (offering_id, cutoff_year, category, gender, closing_rank)
+SELECT o.id, ${raw_table_year}, 'oc_ews', 'girls', r.oc_ews_girls
+FROM raw_table r
+JOIN institution i ON i.instcode = r.instcode
+JOIN branch_offering o ON o.institution_id = i.id AND o.branch_code = r.branch_code
+WHERE r.oc_ews_girls IS NOT NULL;
@@ -0,0 +1,38 @@
+-- Staging table of the CSV cutoff import (see CutoffCsvImporter), with the layout of raw_table.
+-- Rows are batch-inserted while the file is streamed, then imported into the normalized schema
+-- with set-based upserts in the same transaction. The table is empty outside an import.
+CREATE TABLE cutoff_import (
+    sno                     INT          NOT NULL,
+    instcode                VARCHAR(32)  NOT NULL,
+    institution_name        VARCHAR(255),
+    division                VARCHAR(255),
+    region                  VARCHAR(32),
+    dist                    VARCHAR(64),
+    place                   VARCHAR(255),
+    affl                    VARCHAR(255),
+    branch_code             VARCHAR(32)  NOT NULL,
+    tier                    VARCHAR(32),
+    highest_package         DOUBLE,
+    average_package         DOUBLE,
+    placement_drive_quality VARCHAR(32),
+    oc_boys                 INT,
+    oc_girls                INT,
+    sc_boys                 INT,
+    sc_girls                INT,
+    st_boys                 INT,
+    st_girls                INT,
+    bca_boys                INT,
+    bca_girls               INT,
+    bcb_boys                INT,
+    bcb_girls               INT,
+    bcc_boys                INT,
+    bcc_girls               INT,
+    bcd_boys                INT,
+    bcd_girls               INT,
+    bce_boys                INT,
+    bce_girls               INT,
+    oc_ews_boys             INT,
+    oc_ews_girls            INT,
+    PRIMARY KEY (sno),
+    CONSTRAINT ux_cutoff_import_instcode_branch UNIQUE (instcode, branch_code)
+);
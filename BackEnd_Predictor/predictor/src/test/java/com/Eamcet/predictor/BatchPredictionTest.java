@@ -0,0 +1,121 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.controller.CollegePredictorController;
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.exception.RestExceptionHandler;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.service.CollegePredictorService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the batch prediction endpoint.
+ * These tests verify that every profile gets the same results as a single prediction
+ * request, keyed by profile id in request order, and that invalid batches are rejected.
+ */
+public class BatchPredictionTest {
+
+    /**
+     * MockMvc instance for the controller under test.
+     */
+    private MockMvc mockMvc;
+
+    /**
+     * JSON mapper shared by the controller and the assertions.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Setup method executed before each test.
+     * Creates the controller over a data store holding pseudo-random colleges.
+     */
+    @BeforeEach
+    public void setUp() {
+        Random random = new Random(7);
+        List<College> colleges = new ArrayList<>();
+        String[] branches = {"CSE", "ECE", "MEC"};
+        for (int i = 0; i < 200; i++) {
+            College college = new College();
+            college.setInstcode("C" + i);
+            college.setBranchCode(branches[i % branches.length]);
+            college.setRegion(i % 2 == 0 ? "AU" : "SVU");
+            college.setOcBoys(1 + random.nextInt(50000));
+            college.setScGirls(1 + random.nextInt(90000));
+            colleges.add(college);
+        }
+        CollegeDataStore store = new CollegeDataFixture(colleges).store();
+        CollegePredictorService service = new CollegePredictorService(store, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new CollegePredictorController(service, store, objectMapper))
+            .setControllerAdvice(new RestExceptionHandler())
+            .build();
+    }
+
+    /**
+     * Tests that each profile gets the results of the equivalent single request.
+     */
+    @Test
+    public void testBatchMatchesSingleRequests() throws Exception {
+        String[] profiles = {
+            "{\"rank\":12000,\"category\":\"oc\",\"gender\":\"boys\",\"branch\":\"CSE,ECE\"}",
+            "{\"rank\":40000,\"category\":\"sc\",\"gender\":\"girls\",\"region\":\"AU\"}",
+            "{\"rank\":15000,\"category\":\"oc\",\"gender\":\"boys\",\"branch\":\"CSE,ECE\"}",
+            "{\"branch\":\"MEC\"}"
+        };
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < profiles.length; i++) {
+            if (i > 0) batch.append(',');
+            batch.append("{\"id\":\"s").append(profiles.length - i).append("\",").append(profiles[i].substring(1));
+        }
+        batch.append(']');
+
+        JsonNode results = objectMapper.readTree(mockMvc.perform(post("/api/predict-colleges/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch.toString()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+
+        // Keyed by id, in request order
+        Iterator<String> ids = results.fieldNames();
+        for (int i = 0; i < profiles.length; i++) {
+            String id = ids.next();
+            assertEquals("s" + (profiles.length - i), id);
+            JsonNode single = objectMapper.readTree(mockMvc.perform(post("/api/predict-colleges")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(profiles[i]))
+                .andReturn().getResponse().getContentAsString());
+            assertFalse(single.isEmpty());
+            assertEquals(single, results.get(id), "profile " + id);
+        }
+    }
+
+    /**
+     * Tests that batches with missing or duplicate ids, or no profiles, are rejected.
+     */
+    @Test
+    public void testInvalidBatchesRejected() throws Exception {
+        for (String batch : new String[] {
+                "[]",
+                "[{\"rank\":100}]",
+                "[{\"id\":1,\"rank\":100},{\"id\":\"1\",\"rank\":200}]"}) {
+            mockMvc.perform(post("/api/predict-colleges/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(batch))
+                .andExpect(status().isBadRequest());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.data.CutoffHistory;
+import com.Eamcet.predictor.data.DataFingerprint;
+import com.Eamcet.predictor.data.DatabaseGate;
+import com.Eamcet.predictor.data.SnapshotData;
+import com.Eamcet.predictor.data.SnapshotFile;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.repository.CollegeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Shared test setup of the college data behind a {@link CollegeDataStore}: a mock repository
+ * serving rows, earlier-year cutoffs and a fingerprint that a test sets and changes, and the
+ * stores built over it. Tests describe the data they need; how the store reads it from the
+ * repository is kept here, so a change to the loading path only touches this class.
+ */
+final class CollegeDataFixture {
+
+    private final CollegeRepository repo = mock(CollegeRepository.class);
+
+    /**
+     * Number of times the rows were read, including failed reads.
+     */
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private volatile List<College> colleges;
+    private volatile CutoffHistory history = CutoffHistory.EMPTY;
+    private volatile DataFingerprint fingerprint;
+
+    /**
+     * Failure thrown by the snapshot reads while the database is down, or null.
+     */
+    private volatile RuntimeException failure;
+
+    /**
+     * Creates a fixture without rows.
+     */
+    CollegeDataFixture() {
+        this(List.of());
+    }
+
+    /**
+     * Creates a fixture serving the given rows.
+     *
+     * @param colleges The rows, read again on every load so later changes to the list are seen
+     */
+    CollegeDataFixture(List<College> colleges) {
+        this.colleges = colleges;
+        when(repo.loadSnapshotData()).thenAnswer(invocation -> {
+            loads.incrementAndGet();
+            return read(() -> new SnapshotData(fingerprint, List.copyOf(this.colleges), history));
+        });
+        when(repo.fingerprint()).thenAnswer(invocation -> fingerprint);
+    }
+
+    /**
+     * Replaces the rows served by the repository.
+     *
+     * @param colleges The new rows
+     * @return This fixture
+     */
+    CollegeDataFixture colleges(List<College> colleges) {
+        this.colleges = colleges;
+        return this;
+    }
+
+    /**
+     * Sets the cutoffs of earlier years served by the repository.
+     *
+     * @param history The history
+     * @return This fixture
+     */
+    CollegeDataFixture history(CutoffHistory history) {
+        this.history = history;
+        return this;
+    }
+
+    /**
+     * Sets the fingerprint of the data; null until set, which makes every refresh reload.
+     *
+     * @param fingerprint The fingerprint
+     * @return This fixture
+     */
+    CollegeDataFixture fingerprint(DataFingerprint fingerprint) {
+        this.fingerprint = fingerprint;
+        return this;
+    }
+
+    /**
+     * Makes the snapshot reads fail, as if the database went down after the refresh checked
+     * the fingerprint.
+     *
+     * @param failure The exception thrown by the reads
+     * @return This fixture
+     */
+    CollegeDataFixture failWith(RuntimeException failure) {
+        this.failure = failure;
+        return this;
+    }
+
+    /**
+     * Makes reads succeed again.
+     *
+     * @return This fixture
+     */
+    CollegeDataFixture recover() {
+        this.failure = null;
+        return this;
+    }
+
+    /**
+     * Gets the number of times the rows were read, including failed reads.
+     *
+     * @return The number of loads
+     */
+    int loads() {
+        return loads.get();
+    }
+
+    /**
+     * Waits until the rows were read at least the given number of times.
+     *
+     * @param count The number of loads to wait for
+     * @param timeout How long to wait
+     * @return true if the loads happened in time
+     */
+    boolean awaitLoads(int count, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (loads.get() < count) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * Creates a store over the data that does not persist its snapshots.
+     *
+     * @return A new store
+     */
+    CollegeDataStore store() {
+        return store(new SimpleMeterRegistry());
+    }
+
+    /**
+     * Creates a store over the data whose database gate reports to the given registry.
+     *
+     * @param registry Meter registry of the database gate
+     * @return A new store
+     */
+    CollegeDataStore store(MeterRegistry registry) {
+        return store(registry, new SnapshotFile(""));
+    }
+
+    /**
+     * Creates a store over the data that persists its snapshots to the given file.
+     *
+     * @param file The snapshot file
+     * @return A new store
+     */
+    CollegeDataStore store(SnapshotFile file) {
+        return store(new SimpleMeterRegistry(), file);
+    }
+
+    private CollegeDataStore store(MeterRegistry registry, SnapshotFile file) {
+        return new CollegeDataStore(repo, new DatabaseGate(5, Duration.ofSeconds(30), registry), file);
+    }
+
+    /**
+     * Returns a value unless the database is down.
+     */
+    private <T> T read(Supplier<T> value) {
+        RuntimeException down = failure;
+        if (down != null) {
+            throw down;
+        }
+        return value.get();
+    }
+}
@@ -0,0 +1,161 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.controller.CollegePredictorController;
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.exception.RestExceptionHandler;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.service.CollegePredictorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the endpoints that look up one college through the (instcode, branch) index:
+ * the reverse calculator, the cutoff distribution and the branches of an institution.
+ * These tests verify the results for known colleges, that the first of duplicate rows is used,
+ * and the responses for unknown institutions and colleges without cutoffs.
+ */
+public class CollegeLookupTest {
+
+    /**
+     * MockMvc instance for the controller under test.
+     */
+    private MockMvc mockMvc;
+
+    /**
+     * Setup method executed before each test.
+     * Creates the controller over an institution with two branches (one of them duplicated)
+     * and an institution without cutoffs.
+     */
+    @BeforeEach
+    public void setUp() {
+        College cse = createTestCollege("JNTA", "CSE", 10000);
+        cse.setScGirls(40000);
+        College ece = createTestCollege("JNTA", "ECE", 20000);
+        College duplicate = createTestCollege("JNTA", "CSE", 99999);
+        College withoutCutoffs = createTestCollege("AUCE", "MEC", null);
+
+        CollegeDataStore store = new CollegeDataFixture(List.of(cse, ece, duplicate, withoutCutoffs)).store();
+        CollegePredictorService service = new CollegePredictorService(store, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new CollegePredictorController(service, store, new ObjectMapper()))
+            .setControllerAdvice(new RestExceptionHandler())
+            .build();
+    }
+
+    /**
+     * Tests the required rank in each probability band, from the first row of the college.
+     */
+    @Test
+    public void testReverseCalculator() throws Exception {
+        mockMvc.perform(reverse("JNTA", "CSE", "oc_boys", 90))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.collegeName").value("JNTA College"))
+            .andExpect(jsonPath("$.branch").value("CSE"))
+            .andExpect(jsonPath("$.cutoff").value(10000))
+            .andExpect(jsonPath("$.requiredRank").value(9500))
+            .andExpect(jsonPath("$.probability").value(90.0));
+        mockMvc.perform(reverse("JNTA", "CSE", "oc_boys", 62.5))
+            .andExpect(jsonPath("$.requiredRank").value(10250));
+        mockMvc.perform(reverse("JNTA", "ECE", "oc_boys", 20))
+            .andExpect(jsonPath("$.requiredRank").value(22000));
+    }
+
+    /**
+     * Tests that unknown colleges and categories without a cutoff are rejected.
+     */
+    @Test
+    public void testReverseCalculatorRejectsUnknownCollege() throws Exception {
+        mockMvc.perform(reverse("NONE", "CSE", "oc_boys", 90))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.details").value("College not found"));
+        mockMvc.perform(reverse("JNTA", "MEC", "oc_boys", 90))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.details").value("College not found"));
+        mockMvc.perform(reverse("AUCE", "MEC", "oc_boys", 90))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.details").value("No cutoff data for this category"));
+        mockMvc.perform(reverse("JNTA", "CSE", "unknown_boys", 90))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.details").value("No cutoff data for this category"));
+    }
+
+    /**
+     * Tests the cutoffs and statistics of a college, and the empty distribution of a college
+     * without cutoffs.
+     */
+    @Test
+    public void testCutoffDistribution() throws Exception {
+        mockMvc.perform(get("/api/cutoff-distribution/JNTA/CSE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.collegeName").value("JNTA College"))
+            .andExpect(jsonPath("$.cutoffByCategory.oc_boys").value(10000))
+            .andExpect(jsonPath("$.cutoffByCategory.sc_girls").value(40000))
+            .andExpect(jsonPath("$.cutoffByCategory.st_boys").value(nullValue()))
+            .andExpect(jsonPath("$.minCutoff").value(10000))
+            .andExpect(jsonPath("$.maxCutoff").value(40000))
+            .andExpect(jsonPath("$.avgCutoff").value(25000));
+
+        mockMvc.perform(get("/api/cutoff-distribution/AUCE/MEC"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cutoffByCategory.oc_boys").value(nullValue()))
+            .andExpect(jsonPath("$.minCutoff").value(0))
+            .andExpect(jsonPath("$.maxCutoff").value(0))
+            .andExpect(jsonPath("$.avgCutoff").value(0));
+
+        mockMvc.perform(get("/api/cutoff-distribution/NONE/CSE"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.details").value("College not found"));
+    }
+
+    /**
+     * Tests that the branches of an institution are sorted and distinct, and that an unknown
+     * institution has none.
+     */
+    @Test
+    public void testBranchesOfInstitution() throws Exception {
+        mockMvc.perform(get("/api/colleges/JNTA/branches"))
+            .andExpect(status().isOk())
+            .andExpect(content().json("[\"CSE\",\"ECE\"]", JsonCompareMode.STRICT));
+        mockMvc.perform(get("/api/colleges/AUCE/branches"))
+            .andExpect(content().json("[\"MEC\"]", JsonCompareMode.STRICT));
+        mockMvc.perform(get("/api/colleges/NONE/branches"))
+            .andExpect(status().isOk())
+            .andExpect(content().json("[]", JsonCompareMode.STRICT));
+    }
+
+    /**
+     * Helper method to build a reverse calculator request.
+     */
+    private static MockHttpServletRequestBuilder reverse(String instcode, String branch, String category,
+                                                         double probability) {
+        return post("/api/reverse-calculator")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"instcode\":\"" + instcode + "\",\"branch\":\"" + branch + "\",\"category\":\""
+                    + category + "\",\"desiredProbability\":" + probability + "}");
+    }
+
+    /**
+     * Helper method to create a college with an OC boys cutoff.
+     */
+    private static College createTestCollege(String instcode, String branch, Integer ocBoys) {
+        College college = new College();
+        college.setInstcode(instcode);
+        college.setInstitution_name(instcode + " College");
+        college.setBranchCode(branch);
+        college.setOcBoys(ocBoys);
+        return college;
+    }
+}
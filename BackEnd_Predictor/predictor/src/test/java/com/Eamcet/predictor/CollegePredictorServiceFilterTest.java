@@ -1,25 +1,20 @@
 package com.Eamcet.predictor;
 
 import com.Eamcet.predictor.model.College;
-import com.Eamcet.predictor.repository.CollegeRepository;
 import com.Eamcet.predictor.service.CollegePredictorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
-import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for the filtering functionality in CollegePredictorService.
  * These tests verify that the service correctly applies various filters when
- * searching for colleges and that the repository is called with appropriate specifications.
+ * searching for colleges and that the filters are applied to the in-memory snapshot loaded from the repository.
  * 
  * The tests cover:
  * - Branch filtering
@@ -29,34 +24,33 @@ import static org.mockito.Mockito.*;
  * - Placement quality filtering
  * 
  * Note: These are primarily integration-style tests that verify the interaction
- * between the service and repository layers.
+ * between the service and the snapshot loaded from the repository layer.
  */
 public class CollegePredictorServiceFilterTest {
 
     /**
-     * Mock repository to simulate database operations without actual database access.
+     * College data served by a mock repository, without actual database access.
      */
-    @Mock
-    private CollegeRepository repo;
+    private CollegeDataFixture data;
 
     /**
-     * Service instance under test, injected with the mock repository.
+     * Service instance under test, reading a snapshot loaded from the mock repository.
      */
     private CollegePredictorService service;
 
     /**
      * Setup method executed before each test.
-     * Initializes mocks and creates the service instance with the mock repository.
+     * Creates the service instance over a data store backed by the mock repository.
      */
     @BeforeEach
     public void setUp() {
-        MockitoAnnotations.openMocks(this);
-        service = new CollegePredictorService(repo);
+        data = new CollegeDataFixture();
+        service = new CollegePredictorService(data.store(), new SimpleMeterRegistry());
     }
 
     /**
      * Tests that the service correctly applies branch filtering when finding colleges.
-     * Verifies that the repository is called with a specification and that the
+     * Verifies that the snapshot is loaded from the repository and that the
      * filtering logic works as expected.
      */
     @Test
@@ -73,7 +67,7 @@ public class CollegePredictorServiceFilterTest {
         List<College> testData = Arrays.asList(college1, college2);
         
         // Mock repository response to return test data
-        when(repo.findAll(any(Specification.class))).thenReturn(testData);
+        data.colleges(testData);
         
         // Call service method with branch filter
         List<CollegePredictorService.CollegeResult> results = service.findColleges(
@@ -87,8 +81,8 @@ public class CollegePredictorServiceFilterTest {
             "boys" // gender
         );
         
-        // Verify repository was called with specification
-        verify(repo).findAll(any(Specification.class));
+        // Verify the snapshot was loaded from the repository and the filter applied in memory
+        assertEquals(1, data.loads());
         
         // Check results - may be empty because of cutoff filtering logic
         // The important thing is that the repository was called with the right specification
@@ -0,0 +1,136 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.service.CollegePredictorService;
+import com.Eamcet.predictor.service.CollegePredictorService.CollegeResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for rank-based predictions in CollegePredictorService.
+ * These tests verify that the nearest-first search over the sorted cutoff index returns
+ * the same results, in the same order, as scoring every row and sorting by distance from rank.
+ */
+public class CollegePredictorServiceRankTest {
+
+    /**
+     * Randomly generated colleges used as the snapshot contents.
+     */
+    private List<College> colleges;
+
+    /**
+     * Service instance under test, reading a snapshot loaded from a mock repository.
+     */
+    private CollegePredictorService service;
+
+    /**
+     * Registry receiving the prediction metrics of the service under test.
+     */
+    private SimpleMeterRegistry registry;
+
+    /**
+     * Setup method executed before each test.
+     * Generates a fixed pseudo-random dataset and creates the service over it.
+     */
+    @BeforeEach
+    public void setUp() {
+        Random random = new Random(42);
+        colleges = new ArrayList<>();
+        String[] branches = {"CSE", "ECE", "MEC"};
+        for (int i = 0; i < 300; i++) {
+            College college = new College();
+            college.setInstcode("C" + i);
+            college.setBranchCode(branches[i % branches.length]);
+            college.setOcBoys(random.nextInt(10) == 0 ? null : 1 + random.nextInt(60000));
+            college.setOcGirls(1 + random.nextInt(60000));
+            college.setScBoys(random.nextInt(5) == 0 ? 0 : 1 + random.nextInt(120000));
+            colleges.add(college);
+        }
+
+        registry = new SimpleMeterRegistry();
+        service = new CollegePredictorService(new CollegeDataFixture(colleges).store(), registry);
+    }
+
+    /**
+     * Tests a single category query against a brute-force scan of all rows.
+     */
+    @Test
+    public void testSingleCategoryMatchesFullScan() {
+        for (int rank : new int[] {1, 500, 12000, 45000, 90000}) {
+            List<CollegeResult> results = service.findColleges(rank, null, "oc", null, null, null, null, "boys");
+            assertSameOrder(bruteForce(rank, List.of("oc_boys"), null), results);
+        }
+    }
+
+    /**
+     * Tests a multi-category query with a branch filter against a brute-force scan.
+     */
+    @Test
+    public void testMultipleCategoriesWithBranchFilterMatchFullScan() {
+        for (int rank : new int[] {700, 30000, 70000}) {
+            List<CollegeResult> results = service.findColleges(rank, List.of("ECE"), null, null, null, null, null, null);
+            for (CollegeResult result : results) {
+                assertEquals("ECE", result.getBranch());
+            }
+            assertSameOrder(bruteForce(rank, List.of("oc_boys", "oc_girls", "sc_boys"), "ECE"), results);
+        }
+    }
+
+    /**
+     * Tests that every prediction records its stage timings and row/result counters.
+     */
+    @Test
+    public void testFindCollegesRecordsStageMetrics() {
+        List<CollegeResult> byRank = service.findColleges(12000, null, "oc", null, null, null, null, "boys");
+        List<CollegeResult> byCutoff = service.findColleges(null, null, "oc", null, null, null, null, "boys");
+
+        for (String stage : new String[] {"filter", "select", "map"}) {
+            assertEquals(2, registry.get("predictor.find.stage").tag("stage", stage).timer().count());
+        }
+        assertEquals(byRank.size() + byCutoff.size(), registry.get("predictor.find.results").counter().count(), 0.0);
+        // The scan without a rank examines every row once for the single category
+        assertTrue(registry.get("predictor.find.rows.scanned").counter().count() >= colleges.size());
+    }
+
+    /**
+     * Asserts that two result lists have the same cutoffs and probabilities in the same order.
+     * Rows with equal cutoffs are interchangeable, so only the values are compared.
+     */
+    private void assertSameOrder(List<double[]> expected, List<CollegeResult> actual) {
+        assertEquals(Math.min(100, expected.size()), actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals(expected.get(i)[0], actual.get(i).getCutoff(), 0.0, "cutoff at " + i);
+            assertEquals(expected.get(i)[1], actual.get(i).getProbability(), 1e-9, "probability at " + i);
+        }
+    }
+
+    /**
+     * Scores every row and category and sorts by distance from rank, then by probability.
+     *
+     * @return Pairs of (cutoff, probability) in expected order
+     */
+    private List<double[]> bruteForce(int rank, List<String> categories, String branch) {
+        List<double[]> expected = new ArrayList<>();
+        for (College college : colleges) {
+            if (branch != null && !branch.equals(college.getBranchCode())) continue;
+            for (String category : categories) {
+                Integer cutoff = service.getCutoffForCategory(college, category);
+                if (cutoff == null) continue;
+                Double probability = service.calculateProbability(rank, cutoff);
+                if (probability == null) continue;
+                expected.add(new double[] {cutoff, probability});
+            }
+        }
+        expected.sort(Comparator.<double[]>comparingDouble(e -> Math.abs(e[0] - rank))
+                .thenComparing(e -> -e[1]));
+        return expected;
+    }
+}
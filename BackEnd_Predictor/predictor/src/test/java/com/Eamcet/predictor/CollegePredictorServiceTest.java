@@ -1,6 +1,10 @@
 package com.Eamcet.predictor;
 
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.model.Category;
+import com.Eamcet.predictor.model.Gender;
 import com.Eamcet.predictor.service.CollegePredictorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
 import java.util.Set;
@@ -21,10 +25,10 @@ import static org.mockito.Mockito.mock;
 public class CollegePredictorServiceTest {
 
     /**
-     * Service instance under test. Note that the repository dependency is set to null
+     * Service instance under test. Note that the data store dependency is set to null
      * since these tests only focus on the category/gender logic.
      */
-    private final CollegePredictorService service = new CollegePredictorService(null);
+    private final CollegePredictorService service = new CollegePredictorService(null, new SimpleMeterRegistry());
 
     /**
      * Tests that when both category and gender are specified as "oc" and "boys",
@@ -75,4 +79,24 @@ public class CollegePredictorServiceTest {
         assertFalse(categories.contains("oc_girls"));
         assertFalse(categories.contains("sc_girls"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that gender aliases map to the same cutoff column as the canonical value,
+     * and that the column mask selects exactly that column.
+     */
+    @Test
+    public void testGetEffectiveColumns_GenderAlias() {
+        int expected = 1 << CollegeSnapshot.cutoffColumn(Category.BCA, Gender.GIRLS);
+        assertEquals(expected, service.getEffectiveColumns("BCA", "female"));
+        assertEquals(expected, service.getEffectiveColumns("bca", "girls"));
+    }
+
+    /**
+     * Tests that no parameters select all eighteen columns and an unknown category selects none.
+     */
+    @Test
+    public void testGetEffectiveColumns_AllAndUnknown() {
+        assertEquals(18, Integer.bitCount(service.getEffectiveColumns(null, null)));
+        assertEquals(0, service.getEffectiveColumns("xyz", "boys"));
+    }
+}
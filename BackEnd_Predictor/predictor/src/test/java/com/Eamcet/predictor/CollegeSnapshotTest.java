@@ -0,0 +1,253 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.data.SimilarityGraph;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.util.TopK;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar layout of CollegeSnapshot.
+ * These tests verify that cutoffs are copied into the primitive columns with the
+ * missing-value sentinel, and that the dictionary-encoded filters select the right rows.
+ */
+public class CollegeSnapshotTest {
+
+    /**
+     * Tests that cutoffs land in the right column and that null or zero cutoffs
+     * are stored as the NO_CUTOFF sentinel.
+     */
+    @Test
+    public void testCutoffColumnsUseSentinelForMissingValues() {
+        College college = createTestCollege("CSE", "Hyderabad", "Tier 1");
+        college.setOcBoys(1000);
+        college.setScGirls(0);
+        college.setOcEwsGirls(4200);
+
+        CollegeSnapshot snapshot = new CollegeSnapshot(List.of(college), 1, Instant.now());
+
+        assertEquals(1000, snapshot.cutoff(CollegeSnapshot.cutoffColumn("oc_boys"), 0));
+        assertEquals(4200, snapshot.cutoff(CollegeSnapshot.cutoffColumn("OC_EWS_GIRLS"), 0));
+        assertEquals(CollegeSnapshot.NO_CUTOFF, snapshot.cutoff(CollegeSnapshot.cutoffColumn("sc_girls"), 0));
+        assertEquals(CollegeSnapshot.NO_CUTOFF, snapshot.cutoff(CollegeSnapshot.cutoffColumn("st_boys"), 0));
+        assertEquals(-1, CollegeSnapshot.cutoffColumn("unknown_boys"));
+    }
+
+    /**
+     * Tests that multi-select filters are combined with AND across attributes,
+     * OR within an attribute, and match values ignoring case.
+     */
+    @Test
+    public void testMatchingRowsCombinesAttributeFilters() {
+        College college1 = createTestCollege("CSE", "Hyderabad", "Tier 1");
+        College college2 = createTestCollege("ECE", "Hyderabad", "Tier 2");
+        College college3 = createTestCollege("CSE", "Guntur", "Tier 2");
+        CollegeSnapshot snapshot = new CollegeSnapshot(List.of(college1, college2, college3), 1, Instant.now());
+
+        int[] rows = snapshot.matchingRows(Arrays.asList("cse", "ECE"), Arrays.asList("Hyderabad"), null, null, null).stream().toArray();
+        assertArrayEquals(new int[] {0, 1}, rows);
+
+        rows = snapshot.matchingRows(Arrays.asList("CSE"), null, null, Arrays.asList("Tier 2"), null).stream().toArray();
+        assertArrayEquals(new int[] {2}, rows);
+
+        rows = snapshot.matchingRows(null, Arrays.asList("Nowhere"), null, null, null).stream().toArray();
+        assertEquals(0, rows.length);
+    }
+
+    /**
+     * Tests that combined district, region and tier filters select the same rows as comparing
+     * every row, including values in another case, values not in the dictionary and rows
+     * without a value.
+     */
+    @Test
+    public void testIndexedFiltersMatchLinearScan() {
+        Random random = new Random(5);
+        String[] branches = {"CSE", "ECE", "MEC", "cse"};
+        String[] districts = {"Guntur", "Krishna", "GUNTUR", null};
+        String[] regions = {"AU", "SVU", "OU", null};
+        String[] tiers = {"Tier 1", "Tier 2", "tier 3", null};
+        String[] qualities = {"Good", "Excellent", null};
+        List<College> colleges = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            College college = createTestCollege(pick(random, branches), pick(random, districts), pick(random, tiers));
+            college.setRegion(pick(random, regions));
+            college.setPlacementDriveQuality(pick(random, qualities));
+            colleges.add(college);
+        }
+        CollegeSnapshot snapshot = new CollegeSnapshot(colleges, 1, Instant.now());
+
+        String[] requested = {"cse", "Ece", "guntur", "Krishna", "au", "SVU", "TIER 1", "Tier 3", "good", "Nowhere", ""};
+        for (int query = 0; query < 400; query++) {
+            List<String> branchFilter = filter(random, requested);
+            List<String> districtFilter = filter(random, requested);
+            List<String> regionFilter = filter(random, requested);
+            List<String> tierFilter = filter(random, requested);
+            List<String> qualityFilter = filter(random, requested);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int row = 0; row < colleges.size(); row++) {
+                College college = colleges.get(row);
+                if (matches(branchFilter, college.getBranchCode()) && matches(districtFilter, college.getDistrict())
+                        && matches(regionFilter, college.getRegion()) && matches(tierFilter, college.getTier())
+                        && matches(qualityFilter, college.getPlacementDriveQuality())) {
+                    expected.add(row);
+                }
+            }
+            assertEquals(expected, snapshot.matchingRows(branchFilter, districtFilter, regionFilter, tierFilter,
+                    qualityFilter).stream().boxed().toList(),
+                    branchFilter + " " + districtFilter + " " + regionFilter + " " + tierFilter + " " + qualityFilter);
+        }
+
+        // Every row for no filters; no row for a value that is not in the dictionary
+        assertEquals(colleges.size(), snapshot.matchingRows(null, List.of(), null, null, null).cardinality());
+        assertTrue(snapshot.matchingRows(null, null, List.of("Nowhere"), null, null).isEmpty());
+        assertTrue(snapshot.matchingRows(null, List.of("Guntur"), List.of("AU"), List.of("Nowhere"), null).isEmpty());
+    }
+
+    /**
+     * Tests that the analytics aggregates are materialized with the snapshot.
+     */
+    @Test
+    public void testAnalyticsViewAggregates() {
+        College college1 = createTestCollege("CSE", "Hyderabad", "Tier 1");
+        college1.setAveragePackage(6.0);
+        College college2 = createTestCollege("CSE", "Guntur", "Tier 2");
+        college2.setAveragePackage(4.0);
+        College college3 = createTestCollege("ECE", "Guntur", "Tier 2");
+        CollegeSnapshot snapshot = new CollegeSnapshot(List.of(college1, college2, college3), 1, Instant.now());
+
+        assertEquals(List.of("CSE", "ECE"), snapshot.getAnalytics().getBranches());
+        assertEquals(3, snapshot.getAnalytics().getSummary().getTotalColleges());
+        assertEquals(2L, snapshot.getAnalytics().getSummary().getCollegesByTier().get("Tier 2"));
+        assertEquals(5.0, snapshot.getAnalytics().getBranchStats("CSE").getAvgPackage(), 1e-9);
+        assertEquals(6.0, snapshot.getAnalytics().getBranchStats("CSE").getMaxPackage(), 1e-9);
+        assertEquals(0.0, snapshot.getAnalytics().getBranchStats("ECE").getAvgPackage(), 1e-9);
+        assertEquals(0, snapshot.getAnalytics().getBranchStats("MEC").getTotalColleges());
+    }
+
+    /**
+     * Tests that name search returns distinct institutions ranked by match quality,
+     * matching names, places and districts ignoring case.
+     */
+    @Test
+    public void testNameSearchRanksDistinctInstitutions() {
+        College jntu = createTestCollege("CSE", "Anantapur", "Tier 1");
+        jntu.setInstcode("JNTA");
+        jntu.setInstitution_name("JNTU College of Engineering");
+        College jntuEce = createTestCollege("ECE", "Anantapur", "Tier 1");
+        jntuEce.setInstcode("JNTA");
+        jntuEce.setInstitution_name("JNTU College of Engineering");
+        College andhra = createTestCollege("CSE", "Visakhapatnam", "Tier 1");
+        andhra.setInstcode("AUCE");
+        andhra.setInstitution_name("Andhra University College of Engineering");
+        College gitam = createTestCollege("CSE", "Visakhapatnam", "Tier 2");
+        gitam.setInstcode("GITM");
+        gitam.setInstitution_name("Gitam Institute of Technology");
+        gitam.setPlace("Rushikonda");
+        CollegeSnapshot snapshot = new CollegeSnapshot(List.of(jntu, jntuEce, andhra, gitam), 1, Instant.now());
+
+        // JNTU appears once although it offers two branches
+        assertArrayEquals(new int[] {0}, snapshot.getNameSearch().search("jntu"));
+        // Name prefix ranks before substrings inside a word, ties are ordered by name
+        assertArrayEquals(new int[] {3, 2, 0}, snapshot.getNameSearch().search("gi"));
+        assertArrayEquals(new int[] {3}, snapshot.getNameSearch().search("TECH"));
+        // Place and district matches
+        assertArrayEquals(new int[] {2, 3}, snapshot.getNameSearch().search("VISAKHA"));
+        assertArrayEquals(new int[] {3}, snapshot.getNameSearch().search("konda"));
+        assertEquals(0, snapshot.getNameSearch().search("xyz").length);
+    }
+
+    /**
+     * Tests that the similarity graph holds the same neighbours as scanning every row of the branch.
+     */
+    @Test
+    public void testSimilarityGraphMatchesFullScan() {
+        Random random = new Random(11);
+        String[] branches = {"CSE", "ECE", "MEC"};
+        List<College> colleges = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            College college = createTestCollege(branches[random.nextInt(branches.length)], "D", "Tier 1");
+            college.setInstcode("C" + random.nextInt(150));
+            if (random.nextInt(10) > 0) college.setOcBoys(1000 + random.nextInt(4000));
+            if (random.nextInt(10) > 0) college.setAveragePackage(3 + random.nextInt(6) * 0.5);
+            colleges.add(college);
+        }
+        CollegeSnapshot snapshot = new CollegeSnapshot(colleges, 1, Instant.now());
+        int column = CollegeSnapshot.cutoffColumn("oc_boys");
+
+        for (int target = 0; target < snapshot.size(); target++) {
+            TopK top = new TopK(SimilarityGraph.MAX_NEIGHBOURS);
+            int targetCutoff = snapshot.cutoff(column, target);
+            double targetPackage = snapshot.averagePackage(target);
+            if (targetCutoff != CollegeSnapshot.NO_CUTOFF && !Double.isNaN(targetPackage)) {
+                for (int row = 0; row < snapshot.size(); row++) {
+                    if (!colleges.get(row).getBranchCode().equals(colleges.get(target).getBranchCode())
+                            || colleges.get(row).getInstcode().equals(colleges.get(target).getInstcode())
+                            || snapshot.cutoff(column, row) == CollegeSnapshot.NO_CUTOFF
+                            || Double.isNaN(snapshot.averagePackage(row))) continue;
+                    double score = SimilarityGraph.score(targetCutoff, targetPackage,
+                            snapshot.cutoff(column, row), snapshot.averagePackage(row));
+                    if (!Double.isNaN(score)) top.offer(row, score);
+                }
+            }
+            assertArrayEquals(top.drain(), snapshot.getSimilarity().neighbours(column, target, SimilarityGraph.MAX_NEIGHBOURS),
+                    "row " + target);
+        }
+        assertEquals(3, snapshot.getSimilarity().neighbours(column, 0, 3).length);
+    }
+
+    /**
+     * Helper method to pick a random value.
+     */
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Helper method to create a random multi-select filter: null, empty, or up to three values.
+     */
+    private static List<String> filter(Random random, String[] values) {
+        int size = random.nextInt(5) - 1;
+        if (size < 0) {
+            return null;
+        }
+        List<String> filter = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            filter.add(pick(random, values));
+        }
+        return filter;
+    }
+
+    /**
+     * Helper method applying a multi-select filter to one value the way a linear scan does.
+     */
+    private static boolean matches(List<String> filter, String value) {
+        return filter == null || filter.isEmpty()
+                || value != null && filter.stream().anyMatch(value::equalsIgnoreCase);
+    }
+
+    /**
+     * Helper method to create test college objects with common properties.
+     *
+     * @param branch The branch code
+     * @param district The district name
+     * @param tier The tier classification
+     * @return A new College object with the specified properties
+     */
+    private College createTestCollege(String branch, String district, String tier) {
+        College college = new College();
+        college.setInstcode(branch + "-" + district);
+        college.setBranchCode(branch);
+        college.setDistrict(district);
+        college.setTier(tier);
+        return college;
+    }
+}
@@ -0,0 +1,171 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.controller.CollegePredictorController;
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.service.CollegePredictorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for conditional GET and cached response bodies on the read-mostly endpoints.
+ * These tests verify that responses carry validators derived from the data, that a matching
+ * If-None-Match is answered with 304 regardless of the cache-buster parameter, that the
+ * validators change when the data changes, and that gzip bodies are served when accepted.
+ */
+public class ConditionalGetTest {
+
+    /**
+     * Rows returned by the mock repository.
+     */
+    private List<College> colleges;
+
+    /**
+     * Data store under test, loaded from the mock repository.
+     */
+    private CollegeDataStore store;
+
+    /**
+     * MockMvc instance for the controller under test.
+     */
+    private MockMvc mockMvc;
+
+    /**
+     * Setup method executed before each test.
+     * Creates the controller over a data store backed by a mock repository.
+     */
+    @BeforeEach
+    public void setUp() {
+        colleges = new ArrayList<>(List.of(createTestCollege("CSE", 5.0), createTestCollege("ECE", 4.0)));
+        store = new CollegeDataFixture(colleges).store();
+        CollegePredictorService service = new CollegePredictorService(store, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new CollegePredictorController(service, store, new ObjectMapper())).build();
+    }
+
+    /**
+     * Tests that a repeated request with the ETag is answered with 304 even when the
+     * cache-buster parameter differs.
+     */
+    @Test
+    public void testMatchingETagReturnsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/analytics/summary").param("_", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("Last-Modified"))
+            .andExpect(header().string("Cache-Control", "no-cache"))
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/analytics/summary").param("_", "2").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        mockMvc.perform(get("/api/analytics/branch-stats/CSE").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+    }
+
+    /**
+     * Tests that the ETag is kept when a reload finds identical data and changes otherwise.
+     */
+    @Test
+    public void testETagChangesOnlyWithData() throws Exception {
+        String etag = mockMvc.perform(get("/api/analytics/branches"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        store.reload();
+        mockMvc.perform(get("/api/analytics/branches").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+
+        colleges.get(0).setAveragePackage(6.0);
+        store.reload();
+        mockMvc.perform(get("/api/analytics/branches").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(etag)));
+    }
+
+    /**
+     * Tests that the pre-compressed body is served to clients accepting gzip and decodes to
+     * the same JSON as the uncompressed body.
+     */
+    @Test
+    public void testGzipBodyServedWhenAccepted() throws Exception {
+        MockHttpServletResponse plain = mockMvc.perform(get("/api/analytics/branch-stats/CSE"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+            .andReturn().getResponse();
+        assertTrue(plain.getContentType().startsWith("application/json"));
+
+        MockHttpServletResponse gzip = mockMvc.perform(get("/api/analytics/branch-stats/CSE")
+                .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn().getResponse();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))) {
+            assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+        }
+
+        mockMvc.perform(get("/api/analytics/branch-stats/CSE").header("Accept-Encoding", "gzip;q=0"))
+            .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    /**
+     * Tests that the gzip and identity variants have different ETags, that each only
+     * revalidates the variant the client is served, and that 304 responses carry Vary.
+     */
+    @Test
+    public void testGzipVariantHasOwnETag() throws Exception {
+        String identity = mockMvc.perform(get("/api/analytics/summary"))
+            .andReturn().getResponse().getHeader("ETag");
+        String gzip = mockMvc.perform(get("/api/analytics/summary").header("Accept-Encoding", "gzip"))
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(identity, gzip);
+
+        mockMvc.perform(get("/api/analytics/summary").header("Accept-Encoding", "gzip").header("If-None-Match", gzip))
+            .andExpect(status().isNotModified())
+            .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")));
+        mockMvc.perform(get("/api/analytics/summary").header("If-None-Match", identity))
+            .andExpect(status().isNotModified())
+            .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")));
+
+        // A copy in the other coding is not current for this client
+        mockMvc.perform(get("/api/analytics/summary").header("If-None-Match", gzip))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(header().string("ETag", identity));
+        mockMvc.perform(get("/api/analytics/summary").header("Accept-Encoding", "gzip").header("If-None-Match", identity))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", gzip));
+    }
+
+    /**
+     * Helper method to create test college objects with common properties.
+     *
+     * @param branch The branch code
+     * @param averagePackage The average package
+     * @return A new College object with the specified properties
+     */
+    private College createTestCollege(String branch, double averagePackage) {
+        College college = new College();
+        college.setInstcode("INST");
+        college.setInstitution_name("Test Institute");
+        college.setBranchCode(branch);
+        college.setAveragePackage(averagePackage);
+        return college;
+    }
+}
@@ -0,0 +1,278 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.data.CutoffCsvImporter;
+import com.Eamcet.predictor.data.DataFingerprint;
+import com.Eamcet.predictor.data.DatabaseGate;
+import com.Eamcet.predictor.data.RawTableImporter;
+import com.Eamcet.predictor.exception.CutoffImportException;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.repository.CollegeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CSV cutoff import, run against H2 in MySQL mode. The tests run outside a test
+ * transaction so that the import's own transaction, and its rollback, are what is verified.
+ * These tests verify that a large file is imported completely, that spreadsheet exports are
+ * parsed, that partial files leave the rest of the data alone, that invalid files are
+ * rejected without changing the data, and that files are read before taking a connection.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrated;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+public class CutoffCsvImportTest {
+
+    private static final String HEADER = "instcode,institution_name,dist,branch_code,highest_package,"
+            + "oc_boys,oc_girls,sc_boys,sc_girls,st_boys,st_girls,bca_boys,bca_girls,bcb_boys,bcb_girls,"
+            + "bcc_boys,bcc_girls,bcd_boys,bcd_girls,bce_boys,bce_girls,oc_ews_boys,oc_ews_girls\n";
+
+    @Autowired
+    private CollegeRepository repo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CutoffCsvImporter importer;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        registry = new SimpleMeterRegistry();
+        DatabaseGate gate = new DatabaseGate(5, Duration.ofSeconds(30), registry);
+        importer = new CutoffCsvImporter(jdbc, transactions, gate,
+                new RawTableImporter(jdbc, transactions, gate, 2024));
+    }
+
+    /**
+     * Removes the imported data, which is committed by the import.
+     */
+    @AfterEach
+    public void tearDown() {
+        jdbc.update("delete from cutoff");
+        jdbc.update("delete from branch_offering");
+        jdbc.update("delete from institution");
+    }
+
+    /**
+     * Tests that 50,000 rows are imported completely, in batches, within seconds.
+     */
+    @Test
+    public void testImportsLargeFile() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int institution = 0; institution < 5000; institution++) {
+            for (int branch = 0; branch < 10; branch++) {
+                int rank = institution * 10 + branch + 1;
+                csv.append("I").append(institution).append(",College ").append(institution).append(",Guntur,B")
+                        .append(branch).append(",12.5,").append(rank).append(",".repeat(17))
+                        .append('\n');
+            }
+        }
+
+        CutoffCsvImporter.Report report = importer.importCsv(stream(csv.toString()), 2025);
+        assertEquals(50_000, report.rows());
+        assertEquals(50, report.batches());
+        assertEquals(50_000, report.normalized().cutoffs());
+        assertTrue(report.millis() < 30_000, "import took " + report.millis() + " ms");
+
+        List<College> snapshot = repo.findAllForSnapshot();
+        assertEquals(50_000, snapshot.size());
+        College last = snapshot.get(snapshot.size() - 1);
+        assertEquals("I4999", last.getInstcode());
+        assertEquals("B9", last.getBranchCode());
+        assertEquals(50_000, last.getOcBoys());
+        assertNull(last.getOcGirls());
+        assertEquals(2025, repo.findLatestCutoffYear());
+        assertEquals(0, jdbc.queryForObject("select count(*) from cutoff_import", Integer.class));
+    }
+
+    /**
+     * Tests that a spreadsheet export is read: byte order mark, CRLF line ends, header names in
+     * another case, quoted fields, thousands separators and markers for missing cutoffs.
+     */
+    @Test
+    public void testParsesSpreadsheetExport() throws IOException {
+        String csv = "\uFEFFS.No,INSTCODE,Institution Name,District,Branch Code,Highest Package,"
+                + "OC Boys,OC Girls,SC Boys,SC Girls,ST Boys,ST Girls,BCA Boys,BCA Girls,BCB Boys,BCB Girls,"
+                + "BCC Boys,BCC Girls,BCD Boys,BCD Girls,BCE Boys,BCE Girls,OC-EWS Boys,OC-EWS Girls\r\n"
+                + "1,JNTU,\"JNTU College of Engineering, Anantapur\",Anantapur,CSE,18.5,"
+                + "\"1,500\",NA,-,N/A,,,,,,,,,,,,,,9000\r\n"
+                + "\r\n"
+                + "2,AUCE,\"Andhra University \"\"AU\"\" College\",Visakhapatnam,ECE,,"
+                + "4200,,,,,,,,,,,,,,,,,\r\n";
+
+        CutoffCsvImporter.Report report = importer.importCsv(stream(csv), 2024);
+        assertEquals(2, report.rows());
+        assertEquals(3, report.normalized().cutoffs());
+
+        List<College> snapshot = repo.findAllForSnapshot();
+        assertEquals(2, snapshot.size());
+        College jntu = snapshot.get(0);
+        assertEquals("JNTU College of Engineering, Anantapur", jntu.getInstitution_name());
+        assertEquals("Anantapur", jntu.getDistrict());
+        assertEquals(18.5, jntu.getHighestPackage());
+        assertEquals(1500, jntu.getOcBoys());
+        assertNull(jntu.getOcGirls());
+        assertNull(jntu.getScBoys());
+        assertEquals(9000, jntu.getOcEwsGirls());
+        assertEquals("Andhra University \"AU\" College", snapshot.get(1).getInstitution_name());
+        assertNull(snapshot.get(1).getHighestPackage());
+    }
+
+    /**
+     * Tests that a file with only the required columns and some of the offerings updates their
+     * cutoffs and keeps the institution and placement details, the other offerings and their
+     * cutoffs, and that only a file replacing all data removes offerings.
+     */
+    @Test
+    public void testPartialFileKeepsOtherData() throws IOException {
+        importer.importCsv(stream(HEADER
+                + "JNTU,JNTU College,Anantapur,CSE,18.5,1500" + ",".repeat(17) + "\n"
+                + "JNTU,JNTU College,Anantapur,ECE,12.0,4000" + ",".repeat(17) + "\n"
+                + "AUCE,AU College,Visakhapatnam,MEC,9.0,7000" + ",".repeat(17) + "\n"), 2024);
+        importer.importCsv(stream(HEADER + "JNTU,JNTU College,Anantapur,CSE,18.5,1400" + ",".repeat(17) + "\n"),
+                2023);
+
+        String cutoffsOnly = HEADER.replace("institution_name,dist,", "").replace("highest_package,", "");
+        CutoffCsvImporter.Report report = importer.importCsv(stream(cutoffsOnly
+                + "JNTU,CSE,1600" + ",".repeat(17) + "\n"), 2024);
+        assertEquals(0, report.normalized().removedOfferings());
+
+        List<College> snapshot = repo.findAllForSnapshot();
+        assertEquals(List.of("CSE", "ECE", "MEC"), snapshot.stream().map(College::getBranchCode).toList());
+        College cse = snapshot.get(0);
+        assertEquals(1600, cse.getOcBoys());
+        assertEquals("JNTU College", cse.getInstitution_name());
+        assertEquals("Anantapur", cse.getDistrict());
+        assertEquals(18.5, cse.getHighestPackage());
+        assertEquals(4000, snapshot.get(1).getOcBoys());
+        assertEquals(12.0, snapshot.get(1).getHighestPackage());
+        assertEquals("AU College", snapshot.get(2).getInstitution_name());
+        assertEquals(7000, snapshot.get(2).getOcBoys());
+        assertEquals(1, repo.findHistoryForSnapshot().points().size());
+
+        report = importer.importCsv(stream(cutoffsOnly + "JNTU,CSE,1700" + ",".repeat(17) + "\n"), 2024, true);
+        assertEquals(2, report.normalized().removedOfferings());
+        snapshot = repo.findAllForSnapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals(1700, snapshot.get(0).getOcBoys());
+        assertEquals("JNTU College", snapshot.get(0).getInstitution_name());
+        assertEquals(0, jdbc.queryForObject("select count(*) from institution where instcode = 'AUCE'", Integer.class));
+    }
+
+    /**
+     * Tests that a file with invalid rows is rejected with every problem and its line, and that
+     * nothing of it is imported.
+     */
+    @Test
+    public void testInvalidRowsRollBack() throws IOException {
+        importer.importCsv(stream(HEADER + "JNTU,JNTU College,Anantapur,CSE,,1500" + ",".repeat(17) + "\n"), 2024);
+        DataFingerprint before = repo.fingerprint();
+
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int row = 0; row < 2500; row++) {
+            csv.append("C").append(row).append(",,,CSE,,").append(row + 1).append(",".repeat(17)).append('\n');
+        }
+        csv.append("C1,,,CSE,,100").append(",".repeat(17)).append('\n');
+        csv.append(",,,ECE,,100").append(",".repeat(17)).append('\n');
+        csv.append("C9,,,ECE,,first").append(",".repeat(17)).append('\n');
+
+        CutoffImportException e = assertThrows(CutoffImportException.class,
+                () -> importer.importCsv(stream(csv.toString()), 2025));
+        assertEquals(List.of(
+                "line 2502: duplicate row for C1 CSE (first on line 3)",
+                "line 2503: instcode is missing",
+                "line 2504: oc_boys is not a whole number: \"first\""), e.getErrors());
+
+        assertEquals(before, repo.fingerprint());
+        assertEquals(2024, repo.findLatestCutoffYear());
+        assertEquals(0, jdbc.queryForObject("select count(*) from cutoff_import", Integer.class));
+    }
+
+    /**
+     * Tests that the file is read completely before the import takes a database permit or
+     * opens a transaction, so a slow upload holds neither.
+     */
+    @Test
+    public void testReadsFileBeforeTakingConnection() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int row = 0; row < 2500; row++) {
+            csv.append("C").append(row).append(",,,CSE,,").append(row + 1).append(",".repeat(17)).append('\n');
+        }
+        AtomicBoolean heldWhileReading = new AtomicBoolean();
+        InputStream upload = new FilterInputStream(stream(csv.toString())) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (registry.get("predictor.db.gate.active").gauge().value() > 0
+                        || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    heldWhileReading.set(true);
+                }
+                return super.read(buffer, offset, length);
+            }
+        };
+
+        CutoffCsvImporter.Report report = importer.importCsv(upload, 2025);
+        assertFalse(heldWhileReading.get());
+        assertEquals(2500, report.rows());
+        assertEquals(3, report.batches());
+        assertEquals(2500, repo.findAllForSnapshot().size());
+        assertEquals(0, registry.get("predictor.db.gate.active").gauge().value());
+    }
+
+    /**
+     * Tests that a header without the required columns or with unknown ones is rejected.
+     */
+    @Test
+    public void testRejectsUnexpectedHeader() {
+        String header = HEADER.replace(",oc_ews_girls", ",rank_2025");
+
+        CutoffImportException e = assertThrows(CutoffImportException.class,
+                () -> importer.importCsv(stream(header + "JNTU,,,CSE,,1500" + ",".repeat(17) + "\n"), 2024));
+        assertEquals(List.of("line 1: unknown column \"rank_2025\"",
+                "line 1: required column oc_ews_girls is missing"), e.getErrors());
+        assertThrows(CutoffImportException.class, () -> importer.importCsv(stream(""), 2024));
+    }
+
+    /**
+     * Helper method to stream a file content.
+     */
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
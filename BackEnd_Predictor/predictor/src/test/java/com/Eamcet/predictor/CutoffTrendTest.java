@@ -0,0 +1,157 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.data.CutoffHistory;
+import com.Eamcet.predictor.data.CutoffPoint;
+import com.Eamcet.predictor.data.CutoffTrends;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.service.CollegePredictorService;
+import com.Eamcet.predictor.service.CollegePredictorService.CollegeResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the multi-year cutoff trends and the trend-aware probabilities.
+ * These tests verify the precomputed slopes, volatilities and projections, that cutoffs
+ * without earlier years keep the fixed probability bands, and that predictions use, and
+ * report, the projected cutoff and its spread.
+ */
+public class CutoffTrendTest {
+
+    private static final int OC_BOYS = CollegeSnapshot.cutoffColumn("oc_boys");
+
+    private CollegeDataStore store;
+
+    private CollegePredictorService service;
+
+    /**
+     * Setup method executed before each test.
+     * Creates three offerings: one rising steadily over three years, one with a single earlier
+     * year, and one without history.
+     */
+    @BeforeEach
+    public void setUp() {
+        store = new CollegeDataFixture(List.of(
+                college(1, "STDY", 1210), college(2, "VOLT", 1100), college(3, "FLAT", 5000)))
+                .history(new CutoffHistory(2024, List.of(
+                new CutoffPoint(1, 2022, "oc", "boys", 1000),
+                new CutoffPoint(1, 2023, "oc", "boys", 1100),
+                new CutoffPoint(2, 2023, "oc", "boys", 1000),
+                new CutoffPoint(3, 2024, "oc", "boys", 9999),
+                new CutoffPoint(99, 2023, "oc", "boys", 1000))))
+                .store();
+        service = new CollegePredictorService(store, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Tests the slope, volatility, spread and projection of each offering.
+     */
+    @Test
+    public void testTrendStatistics() {
+        CutoffTrends trends = store.snapshot().getTrends();
+        assertTrue(trends.hasHistory());
+
+        // Steady 10% rise: no volatility, projected one more year
+        assertEquals(Math.log(1.1), trends.slope(OC_BOYS, 0), 1e-9);
+        assertEquals(0.0, trends.volatility(OC_BOYS, 0), 1e-9);
+        assertEquals(1331, trends.projected(OC_BOYS, 0));
+
+        // A single change is its own deviation, widened by the uncertainty of the slope
+        double volatility = Math.log(1.1) * Math.sqrt(2);
+        assertEquals(Math.log(1.1), trends.slope(OC_BOYS, 1), 1e-9);
+        assertEquals(volatility, trends.volatility(OC_BOYS, 1), 1e-9);
+        assertEquals(Math.exp(Math.sqrt(3) * volatility), trends.spread(OC_BOYS, 1), 1e-9);
+        assertEquals(1210, trends.projected(OC_BOYS, 1));
+        assertEquals(trends.spread(OC_BOYS, 1), trends.maxSpread(OC_BOYS));
+
+        // Points of the current year and of unknown offerings are ignored
+        assertEquals(0.0, trends.slope(OC_BOYS, 2));
+        assertEquals(0.0, trends.volatility(OC_BOYS, 2));
+        assertEquals(1.0, trends.spread(OC_BOYS, 2));
+        assertEquals(5000, trends.projected(OC_BOYS, 2));
+    }
+
+    /**
+     * Tests that an offering without earlier years gets exactly the fixed-band probability,
+     * and that results report the latest cutoff while the probability uses the projection.
+     */
+    @Test
+    public void testProjectionDrivesProbability() {
+        List<CollegeResult> results = service.findColleges(1300, null, "oc", null, null, null, null, "boys");
+        CollegeResult steady = result(results, "STDY");
+        assertEquals(1210, steady.getCutoff());
+        assertEquals(service.calculateProbability(1300, 1331), steady.getProbability(), 1e-9);
+
+        results = service.findColleges(5500, null, "oc", null, null, null, null, "boys");
+        assertEquals(service.calculateProbability(5500, 5000), result(results, "FLAT").getProbability());
+    }
+
+    /**
+     * Tests that results come in order of their projected cutoff's distance from the rank, and
+     * that the response carries the projected cutoff next to the latest one, so the order is
+     * visible to the client even where the latest cutoffs would order differently.
+     */
+    @Test
+    public void testResultsOrderedByReportedProjection() {
+        List<CollegeResult> results = service.findColleges(1250, null, "oc", null, null, null, null, "boys");
+        assertEquals(List.of("VOLT", "STDY", "FLAT"), results.stream().map(CollegeResult::getInstcode).toList());
+        assertEquals(List.of(1210, 1331, 5000), results.stream().map(CollegeResult::getProjectedCutoff).toList());
+        assertEquals(List.of(1100, 1210, 5000), results.stream().map(CollegeResult::getCutoff).toList());
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(Math.abs(results.get(i).getProjectedCutoff() - 1250)
+                    >= Math.abs(results.get(i - 1).getProjectedCutoff() - 1250), "result " + i);
+        }
+
+        JsonNode json = new ObjectMapper().valueToTree(results.get(0));
+        assertEquals(1100, json.get("cutoff").asInt());
+        assertEquals(1210, json.get("projectedCutoff").asInt());
+    }
+
+    /**
+     * Tests that a volatile cutoff stays reachable beyond the fixed ambitious boundary, and
+     * that its probability near the projection is tempered by the uncertainty.
+     */
+    @Test
+    public void testVolatilityWidensBands() {
+        double spread = store.snapshot().getTrends().spread(OC_BOYS, 1);
+        assertNull(service.calculateProbability(1600, 1210));
+
+        List<CollegeResult> results = service.findColleges(1600, null, "oc", null, null, null, null, "boys");
+        assertEquals(List.of("STDY", "VOLT", "FLAT"), results.stream()
+                .map(result -> result.getInstcode()).toList());
+        Double probability = result(results, "VOLT").getProbability();
+        assertEquals(service.calculateProbability(1600, 1210, spread), probability);
+        assertTrue(probability > 0 && probability < 40);
+
+        assertTrue(service.calculateProbability(1210, 1210, spread) < service.calculateProbability(1210, 1210));
+        assertNull(service.calculateProbability(2000, 1210, spread));
+    }
+
+    /**
+     * Helper method to find the result of an institution.
+     */
+    private static CollegeResult result(List<CollegeResult> results, String instcode) {
+        return results.stream().filter(result -> instcode.equals(result.getInstcode()))
+                .findFirst().orElseThrow();
+    }
+
+    /**
+     * Helper method to create an offering with an OC boys cutoff.
+     */
+    private static College college(int sno, String instcode, int ocBoys) {
+        College college = new College();
+        college.setSno(sno);
+        college.setInstcode(instcode);
+        college.setBranchCode("CSE");
+        college.setOcBoys(ocBoys);
+        return college;
+    }
+}
@@ -0,0 +1,208 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.controller.AdminController;
+import com.Eamcet.predictor.data.CollegeDataRefresher;
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.data.CutoffCsvImporter;
+import com.Eamcet.predictor.data.DataFingerprint;
+import com.Eamcet.predictor.data.RawTableImporter;
+import com.Eamcet.predictor.data.SchemaMigrations;
+import com.Eamcet.predictor.model.College;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.exception.FlywaySqlException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for hot reloading of the college data.
+ * These tests verify that the refresher reloads only when the table fingerprint changes,
+ * that edits to raw_table are imported before the reload, that reloads are timed, that migrations deferred on startup run before the next refresh,
+ * and that the admin endpoint forces a reload only with the token.
+ */
+public class DataRefreshTest {
+
+    /**
+     * College data whose rows and fingerprint the tests change.
+     */
+    private CollegeDataFixture data;
+
+    private CollegeDataStore store;
+    private CollegeDataRefresher refresher;
+    private SchemaMigrations migrations;
+    private SimpleMeterRegistry registry;
+
+    /**
+     * Importer whose raw_table fingerprint the tests change.
+     */
+    private RawTableImporter importer;
+    private volatile DataFingerprint rawTable = new DataFingerprint(1L, 1, 1000L);
+
+    /**
+     * Setup method executed before each test.
+     * Creates a store over one college and loads it.
+     */
+    @BeforeEach
+    public void setUp() {
+        data = new CollegeDataFixture(List.of(college(1000))).fingerprint(new DataFingerprint(1L, 1, 1000L));
+        registry = new SimpleMeterRegistry();
+        store = data.store(registry);
+        migrations = new SchemaMigrations();
+        importer = mock(RawTableImporter.class);
+        when(importer.fingerprint()).thenAnswer(invocation -> rawTable);
+        refresher = new CollegeDataRefresher(store, migrations, importer, registry);
+        store.snapshot();
+    }
+
+    /**
+     * Tests that an unchanged fingerprint skips the reload and a changed one publishes new data.
+     */
+    @Test
+    public void testRefreshReloadsOnlyOnChange() {
+        CollegeSnapshot first = store.snapshot();
+
+        refresher.refreshIfChanged();
+        assertSame(first, store.snapshot());
+        assertEquals(1, data.loads());
+
+        data.colleges(List.of(college(1200))).fingerprint(new DataFingerprint(1L, 1, 1200L));
+        refresher.refreshIfChanged();
+        CollegeSnapshot second = store.snapshot();
+        assertNotSame(first, second);
+        assertEquals(1200, second.college(0).getOcBoys());
+        assertEquals(2, second.getVersion());
+
+        assertEquals(1, registry.get("predictor.data.reload").tag("outcome", "unchanged").timer().count());
+        assertEquals(1, registry.get("predictor.data.reload").tag("outcome", "reloaded").timer().count());
+        assertEquals(2, registry.get("predictor.data.version").gauge().value());
+    }
+
+    /**
+     * Tests that an edit to raw_table is imported by the next check and its cutoff served,
+     * that a failed import is retried, and that an unchanged raw_table is not imported again.
+     */
+    @Test
+    public void testRawTableEditIsImported() {
+        refresher.refreshIfChanged();
+        verify(importer, never()).importRawTable();
+
+        // The import writes the edited cutoff to the normalized schema the snapshot is read from
+        rawTable = new DataFingerprint(1L, 1, 1300L);
+        when(importer.importRawTable())
+            .thenThrow(new IllegalStateException("database down"))
+            .thenAnswer(invocation -> {
+                data.colleges(List.of(college(1300))).fingerprint(new DataFingerprint(1L, 1, 1300L));
+                return new RawTableImporter.Result(2024, 1, 0, 1);
+            });
+
+        refresher.refreshIfChanged();
+        assertEquals(1000, store.snapshot().college(0).getOcBoys());
+        assertEquals(1, registry.get("predictor.data.reload").tag("outcome", "failed").timer().count());
+
+        refresher.refreshIfChanged();
+        assertEquals(1300, store.snapshot().college(0).getOcBoys());
+        assertEquals(2, store.snapshot().getVersion());
+
+        refresher.refreshIfChanged();
+        verify(importer, times(2)).importRawTable();
+        assertEquals(2, store.snapshot().getVersion());
+    }
+
+    /**
+     * Tests that a failing refresh keeps the current snapshot.
+     */
+    @Test
+    public void testFailedRefreshKeepsSnapshot() {
+        CollegeSnapshot first = store.snapshot();
+        data.fingerprint(new DataFingerprint(2L, 2, 0L)).failWith(new IllegalStateException("database down"));
+
+        refresher.refreshIfChanged();
+        assertSame(first, store.snapshot());
+        assertEquals(1, registry.get("predictor.data.reload").tag("outcome", "failed").timer().count());
+    }
+
+    /**
+     * Tests that migrations are deferred while the database is unreachable on startup and run
+     * before the next refresh, and that other migration failures still fail startup.
+     */
+    @Test
+    public void testMigrationsDeferredWhileDatabaseIsDown() {
+        Flyway flyway = mock(Flyway.class);
+        when(flyway.migrate())
+            .thenThrow(new FlywaySqlException("Unable to obtain connection from database",
+                    new SQLNonTransientConnectionException("Communications link failure", "08S01")))
+            .thenThrow(new FlywaySqlException("Unable to obtain connection from database",
+                    new SQLTransientConnectionException("Connection is not available", "08001")))
+            .thenReturn(null);
+
+        migrations.migrate(flyway);
+        verify(flyway, times(1)).migrate();
+
+        // Still down: the refresh fails before reading the data, and the migrations stay pending
+        refresher.refreshIfChanged();
+        assertEquals(1, registry.get("predictor.data.reload").tag("outcome", "failed").timer().count());
+        refresher.refreshIfChanged();
+        refresher.refreshIfChanged();
+        verify(flyway, times(3)).migrate();
+        assertEquals(1, data.loads());
+
+        Flyway broken = mock(Flyway.class);
+        when(broken.migrate()).thenThrow(new FlywayException("Validate failed: migration checksum mismatch"));
+        assertThrows(FlywayException.class, () -> new SchemaMigrations().migrate(broken));
+    }
+
+    /**
+     * Tests that the admin endpoint requires the token and then reloads.
+     */
+    @Test
+    public void testAdminReloadRequiresToken() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AdminController(refresher, mock(RawTableImporter.class),
+                mock(CutoffCsvImporter.class), "secret")).build();
+        data.colleges(List.of(college(1000), college(2000)));
+
+        mockMvc.perform(post("/api/admin/reload"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/admin/reload").header("X-Admin-Token", "wrong"))
+            .andExpect(status().isForbidden());
+        assertEquals(1, store.snapshot().size());
+
+        mockMvc.perform(post("/api/admin/reload").header("X-Admin-Token", "secret"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(2))
+            .andExpect(jsonPath("$.rows").value(2));
+        assertEquals(2, store.snapshot().size());
+
+        // Disabled entirely without a configured token
+        MockMvcBuilders.standaloneSetup(new AdminController(refresher, mock(RawTableImporter.class),
+                mock(CutoffCsvImporter.class), "")).build()
+            .perform(post("/api/admin/reload").header("X-Admin-Token", ""))
+            .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Helper method to create a college with an OC boys cutoff.
+     *
+     * @param ocBoys The cutoff rank
+     * @return A new College object
+     */
+    private College college(int ocBoys) {
+        College college = new College();
+        college.setInstcode("C" + ocBoys);
+        college.setBranchCode("CSE");
+        college.setOcBoys(ocBoys);
+        return college;
+    }
+}
@@ -0,0 +1,89 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.data.DatabaseGate;
+import com.Eamcet.predictor.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the database concurrency gate.
+ * These tests verify that no more accesses run at once than the gate has permits, even with
+ * many virtual threads, and that callers waiting too long are rejected and counted.
+ */
+public class DatabaseGateTest {
+
+    /**
+     * Tests that concurrent accesses never exceed the number of permits.
+     */
+    @Test
+    public void testLimitsConcurrentAccesses() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DatabaseGate gate = new DatabaseGate(3, Duration.ofSeconds(30), registry);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                int value = i;
+                results.add(executor.submit(() -> gate.call(() -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    active.decrementAndGet();
+                    return value;
+                })));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).get());
+        }
+        assertTrue(maxActive.get() <= 3, "max concurrent accesses " + maxActive.get());
+        assertEquals(200, registry.get("predictor.db.gate.wait").timer().count());
+        assertEquals(0, registry.get("predictor.db.gate.active").gauge().value());
+    }
+
+    /**
+     * Tests that a caller is rejected when no permit frees up within the timeout.
+     */
+    @Test
+    public void testRejectsAfterTimeout() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DatabaseGate gate = new DatabaseGate(1, Duration.ofMillis(50), registry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = Thread.ofVirtual().start(() -> gate.call(() -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holding.await();
+
+        assertThrows(DatabaseBusyException.class, () -> gate.call(() -> "too late"));
+        assertEquals(1, registry.get("predictor.db.gate.rejected").counter().count());
+
+        release.countDown();
+        holder.join();
+        assertEquals("in time", gate.call(() -> "in time"));
+    }
+}
@@ -1,20 +1,15 @@
 package com.Eamcet.predictor;
 
 import com.Eamcet.predictor.model.College;
-import com.Eamcet.predictor.repository.CollegeRepository;
 import com.Eamcet.predictor.service.CollegePredictorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
-import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for filter independence in the College Predictor service.
@@ -28,35 +23,34 @@ import static org.mockito.Mockito.*;
  * - Placement quality filtering independence
  * 
  * Each test creates test data, mocks repository responses, applies a single filter,
- * and verifies that the repository is called correctly.
+ * and verifies that only matching rows are returned.
  */
 public class FilterIndependenceTest {
 
     /**
-     * Mock repository to simulate database operations without actual database access.
+     * College data served by a mock repository, without actual database access.
      */
-    @Mock
-    private CollegeRepository repo;
+    private CollegeDataFixture data;
 
     /**
-     * Service instance under test, injected with the mock repository.
+     * Service instance under test, reading a snapshot loaded from the mock repository.
      */
     private CollegePredictorService service;
 
     /**
      * Setup method executed before each test.
-     * Initializes mocks and creates the service instance with the mock repository.
+     * Creates the service instance over a data store backed by the mock repository.
      */
     @BeforeEach
     public void setUp() {
-        MockitoAnnotations.openMocks(this);
-        service = new CollegePredictorService(repo);
+        data = new CollegeDataFixture();
+        service = new CollegePredictorService(data.store(), new SimpleMeterRegistry());
     }
 
     /**
      * Tests that branch filtering works independently.
      * Creates test colleges with different branches, applies branch filter,
-     * and verifies repository interaction.
+     * and verifies that only matching rows are returned.
      */
     @Test
     public void testBranchFilterIndependently() {
@@ -70,7 +64,7 @@ public class FilterIndependenceTest {
         List<College> testData = Arrays.asList(college1, college2);
         
         // Mock repository response to return test data
-        when(repo.findAll(any(Specification.class))).thenReturn(testData);
+        data.colleges(testData);
         
         // Test branch filter only
         List<CollegePredictorService.CollegeResult> results = service.findColleges(
@@ -84,14 +78,16 @@ public class FilterIndependenceTest {
             "boys" // gender
         );
         
-        // Verify repository was called with specification
-        verify(repo).findAll(any(Specification.class));
+        // Verify the snapshot was loaded from the repository and the filter applied in memory
+        assertEquals(1, data.loads());
+        assertEquals(1, results.size());
+        assertEquals("CSE", results.get(0).getBranch());
     }
 
     /**
      * Tests that district filtering works independently.
      * Creates test colleges in different districts, applies district filter,
-     * and verifies repository interaction.
+     * and verifies that only matching rows are returned.
      */
     @Test
     public void testDistrictFilterIndependently() {
@@ -105,7 +101,7 @@ public class FilterIndependenceTest {
         List<College> testData = Arrays.asList(college1, college2);
         
         // Mock repository response to return test data
-        when(repo.findAll(any(Specification.class))).thenReturn(testData);
+        data.colleges(testData);
         
         // Test district filter only
         List<CollegePredictorService.CollegeResult> results = service.findColleges(
@@ -119,14 +115,16 @@ public class FilterIndependenceTest {
             "boys" // gender
         );
         
-        // Verify repository was called with specification
-        verify(repo).findAll(any(Specification.class));
+        // Verify the snapshot was loaded from the repository and the filter applied in memory
+        assertEquals(1, data.loads());
+        assertEquals(1, results.size());
+        assertEquals("Hyderabad", results.get(0).getDistrict());
     }
 
     /**
      * Tests that region filtering works independently.
      * Creates test colleges in different regions, applies region filter,
-     * and verifies repository interaction.
+     * and verifies that only matching rows are returned.
      */
     @Test
     public void testRegionFilterIndependently() {
@@ -140,7 +138,7 @@ public class FilterIndependenceTest {
         List<College> testData = Arrays.asList(college1, college2);
         
         // Mock repository response to return test data
-        when(repo.findAll(any(Specification.class))).thenReturn(testData);
+        data.colleges(testData);
         
         // Test region filter only
         List<CollegePredictorService.CollegeResult> results = service.findColleges(
@@ -154,14 +152,16 @@ public class FilterIndependenceTest {
             "boys" // gender
         );
         
-        // Verify repository was called with specification
-        verify(repo).findAll(any(Specification.class));
+        // Verify the snapshot was loaded from the repository and the filter applied in memory
+        assertEquals(1, data.loads());
+        assertEquals(1, results.size());
+        assertEquals("Telangana", results.get(0).getRegion());
     }
 
     /**
      * Tests that tier filtering works independently.
      * Creates test colleges with different tiers, applies tier filter,
-     * and verifies repository interaction.
+     * and verifies that only matching rows are returned.
      */
     @Test
     public void testTierFilterIndependently() {
@@ -175,7 +175,7 @@ public class FilterIndependenceTest {
         List<College> testData = Arrays.asList(college1, college2);
         
         // Mock repository response to return test data
-        when(repo.findAll(any(Specification.class))).thenReturn(testData);
+        data.colleges(testData);
         
         // Test tier filter only
         List<CollegePredictorService.CollegeResult> results = service.findColleges(
@@ -189,14 +189,16 @@ public class FilterIndependenceTest {
             "boys" // gender
         );
         
-        // Verify repository was called with specification
-        verify(repo).findAll(any(Specification.class));
+        // Verify the snapshot was loaded from the repository and the filter applied in memory
+        assertEquals(1, data.loads());
+        assertEquals(1, results.size());
+        assertEquals("Tier 1", results.get(0).getTier());
     }
 
     /**
      * Tests that placement quality filtering works independently.
      * Creates test colleges with different placement qualities, applies placement quality filter,
-     * and verifies repository interaction.
+     * and verifies that only matching rows are returned.
      */
     @Test
     public void testPlacementQualityFilterIndependently() {
@@ -210,7 +212,7 @@ public class FilterIndependenceTest {
         List<College> testData = Arrays.asList(college1, college2);
         
         // Mock repository response to return test data
-        when(repo.findAll(any(Specification.class))).thenReturn(testData);
+        data.colleges(testData);
         
         // Test placement quality filter only
         List<CollegePredictorService.CollegeResult> results = service.findColleges(
@@ -224,8 +226,10 @@ public class FilterIndependenceTest {
             "boys" // gender
         );
         
-        // Verify repository was called with specification
-        verify(repo).findAll(any(Specification.class));
+        // Verify the snapshot was loaded from the repository and the filter applied in memory
+        assertEquals(1, data.loads());
+        assertEquals(1, results.size());
+        assertEquals("Good", results.get(0).getPlacementDriveQuality());
     }
 
     /**
@@ -0,0 +1,121 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.controller.CollegePredictorController;
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.service.CollegePredictorService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the opt-in NDJSON streaming mode of predict-colleges.
+ * These tests verify that clients asking for application/x-ndjson receive one JSON object
+ * per line, and that other clients still receive a JSON array.
+ */
+public class NdjsonStreamingTest {
+
+    /**
+     * MockMvc instance for the controller under test.
+     */
+    private MockMvc mockMvc;
+
+    /**
+     * JSON mapper shared by the controller and the assertions.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Setup method executed before each test.
+     * Creates the controller over a data store holding a few colleges.
+     */
+    @BeforeEach
+    public void setUp() {
+        List<College> colleges = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            College college = new College();
+            college.setInstcode("C" + i);
+            college.setInstitution_name("College " + i);
+            college.setBranchCode(i % 2 == 0 ? "CSE" : "ECE");
+            college.setOcBoys(1000 * (i + 1));
+            colleges.add(college);
+        }
+        CollegeDataStore store = new CollegeDataFixture(colleges).store();
+        CollegePredictorService service = new CollegePredictorService(store, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new CollegePredictorController(service, store, objectMapper)).build();
+    }
+
+    /**
+     * Tests that the unfiltered request is streamed as one college per line.
+     */
+    @Test
+    public void testAllCollegesStreamedAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/predict-colleges")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content("{}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(5, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode college = objectMapper.readTree(lines[i]);
+            assertEquals("C" + i, college.get("instcode").asText());
+        }
+    }
+
+    /**
+     * Tests that filtered results are streamed as well when NDJSON is requested.
+     */
+    @Test
+    public void testFilteredResultsStreamedAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/predict-colleges")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content("{\"branch\":\"CSE\",\"category\":\"oc\",\"gender\":\"boys\"}"))
+            .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+            .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            assertEquals("CSE", objectMapper.readTree(line).get("branch").asText());
+        }
+    }
+
+    /**
+     * Tests that clients not asking for NDJSON still receive a single JSON array.
+     */
+    @Test
+    public void testDefaultResponseIsJsonArray() throws Exception {
+        String body = mockMvc.perform(post("/api/predict-colleges")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .content("{}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertEquals(5, objectMapper.readTree(body).size());
+    }
+}
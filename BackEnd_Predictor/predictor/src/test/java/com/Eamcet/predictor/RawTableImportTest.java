@@ -0,0 +1,191 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.data.CutoffHistory;
+import com.Eamcet.predictor.data.DataFingerprint;
+import com.Eamcet.predictor.data.DatabaseGate;
+import com.Eamcet.predictor.data.RawTableImporter;
+import com.Eamcet.predictor.data.SnapshotData;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.repository.CollegeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the import of raw_table into the normalized college schema, run against H2 in
+ * MySQL mode. These tests verify that the snapshot read from the normalized schema is identical
+ * to raw_table, that re-imports follow changes to raw_table, and that importing an older year
+ * leaves the current data alone.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrated;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+public class RawTableImportTest {
+
+    @Autowired
+    private CollegeRepository repo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RawTableImporter importer;
+
+    /**
+     * Fills raw_table with two institutions, one of them offering two branches, and sparse cutoffs.
+     */
+    @BeforeEach
+    public void setUp() {
+        importer = new RawTableImporter(jdbc, new TransactionTemplate(transactionManager),
+                new DatabaseGate(5, Duration.ofSeconds(30), new SimpleMeterRegistry()), 2024);
+
+        College cse = college("JNTU", "CSE", 1500);
+        cse.setInstitution_name("JNTU College of Engineering");
+        cse.setDistrict("Anantapur");
+        cse.setRegion("SVU");
+        cse.setTier("Tier 1");
+        cse.setAveragePackage(8.5);
+        cse.setPlacementDriveQuality("Excellent");
+        cse.setScGirls(9000);
+        cse.setOcEwsBoys(2500);
+        College ece = college("JNTU", "ECE", 4200);
+        ece.setInstitution_name("JNTU College of Engineering");
+        ece.setDistrict("Anantapur");
+        ece.setRegion("SVU");
+        ece.setTier("Tier 1");
+        ece.setAveragePackage(6.0);
+        College civ = college("AUCE", "CIV", null);
+        civ.setInstitution_name("Andhra University College of Engineering");
+        civ.setRegion("AU");
+        civ.setBcaBoys(30000);
+        repo.saveAllAndFlush(List.of(cse, ece, civ));
+    }
+
+    /**
+     * Tests that the snapshot read from the normalized schema has exactly the rows, values
+     * and order of raw_table.
+     */
+    @Test
+    public void testSnapshotMatchesRawTable() {
+        RawTableImporter.Result result = importer.importRawTable();
+        assertEquals(2024, result.year());
+        assertEquals(5, result.cutoffs());
+
+        assertEquals(contentHash(repo.findAll(Sort.by("sno"))), contentHash(repo.findAllForSnapshot()));
+    }
+
+    /**
+     * Tests that the raw_table fingerprint detects edited cutoffs, and that a re-import picks
+     * up corrected, added and removed rows.
+     */
+    @Test
+    public void testReimportFollowsRawTable() {
+        importer.importRawTable();
+        DataFingerprint before = repo.fingerprint();
+        DataFingerprint rawTable = importer.fingerprint();
+        assertEquals(3L, rawTable.rowCount());
+        assertEquals(rawTable, importer.fingerprint());
+
+        // A cutoff moved to another column of the same row is an edit as well
+        jdbc.update("update raw_table set oc_boys = null, oc_girls = 1500 where branch_code = 'CSE'");
+        assertNotEquals(rawTable, importer.fingerprint());
+
+        jdbc.update("update raw_table set oc_boys = 1600, institution_name = 'JNTU Anantapur' where branch_code = 'CSE'");
+        jdbc.update("delete from raw_table where branch_code = 'CIV'");
+        jdbc.update("insert into raw_table (instcode, branch_code, oc_girls) values ('SVEC', 'MEC', 12000)");
+        RawTableImporter.Result result = importer.importRawTable();
+        assertEquals(1, result.removedOfferings());
+        assertNotEquals(before, repo.fingerprint());
+
+        List<College> snapshot = repo.findAllForSnapshot();
+        assertEquals(List.of("JNTU", "JNTU", "SVEC"), snapshot.stream().map(College::getInstcode).toList());
+        assertEquals(1600, snapshot.get(0).getOcBoys());
+        assertEquals("JNTU Anantapur", snapshot.get(0).getInstitution_name());
+        assertEquals(12000, snapshot.get(2).getOcGirls());
+        assertEquals(0, jdbc.queryForObject("select count(*) from institution where instcode = 'AUCE'", Integer.class));
+    }
+
+    /**
+     * Tests that an older year only adds that year's cutoffs, that the snapshot keeps
+     * serving the latest year, and that the older year is read as its history.
+     */
+    @Test
+    public void testOlderYearKeepsCurrentData() {
+        importer.importRawTable();
+        List<College> current = repo.findAllForSnapshot();
+
+        jdbc.update("update raw_table set oc_boys = 1400");
+        jdbc.update("delete from raw_table where branch_code = 'ECE'");
+        RawTableImporter.Result result = importer.importRawTable(2023);
+        assertEquals(0, result.removedOfferings());
+        assertEquals(5, result.cutoffs());
+
+        assertEquals(contentHash(current), contentHash(repo.findAllForSnapshot()));
+        assertEquals(1400, jdbc.queryForObject("select closing_rank from cutoff where cutoff_year = 2023 "
+                + "and category = 'oc' and gender = 'boys' and offering_id = ?", Integer.class,
+                current.get(0).getSno()));
+
+        CutoffHistory history = repo.findHistoryForSnapshot();
+        assertEquals(2024, history.year());
+        assertEquals(5, history.points().size());
+        assertTrue(history.points().stream().allMatch(point -> point.year() == 2023));
+
+        // Loaded together, the rows, history and fingerprint agree with the separate reads
+        SnapshotData data = repo.loadSnapshotData();
+        assertEquals(contentHash(current), contentHash(data.colleges()));
+        assertEquals(history, data.history());
+        assertEquals(repo.fingerprint(), data.fingerprint());
+    }
+
+    /**
+     * Helper method to hash all fields of the given rows except the serial number, as the
+     * snapshot does. Serial numbers are left out because identity values are not rolled back
+     * between tests, so raw_table and branch_offering ids drift apart.
+     */
+    private String contentHash(List<College> colleges) {
+        List<College> copies = colleges.stream().map(college -> {
+            College copy = new College();
+            BeanUtils.copyProperties(college, copy);
+            copy.setSno(null);
+            return copy;
+        }).toList();
+        return new CollegeSnapshot(copies, 1, Instant.EPOCH).getContentHash();
+    }
+
+    /**
+     * Helper method to create a raw_table row with an OC boys cutoff.
+     */
+    private College college(String instcode, String branch, Integer ocBoys) {
+        College college = new College();
+        college.setInstcode(instcode);
+        college.setBranchCode(branch);
+        college.setOcBoys(ocBoys);
+        return college;
+    }
+}
@@ -0,0 +1,233 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.data.DataFingerprint;
+import com.Eamcet.predictor.data.DatabaseGate;
+import com.Eamcet.predictor.data.RawTableImporter;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.repository.CollegeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the schema migrations, run against H2 in MySQL mode as a stand-in for MySQL.
+ * These tests verify that an empty database is migrated to a schema matching the entities,
+ * that the filter indexes exist, that an existing raw_table is baselined, keeps its rows and
+ * is copied into the normalized schema, and that rows the indexes cannot hold are reported.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrated;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+public class SchemaMigrationTest {
+
+    /**
+     * Indexes added by the V2 migration.
+     */
+    private static final Set<String> FILTER_INDEXES = Set.of("ux_raw_table_instcode_branch",
+            "ix_raw_table_branch_region_tier", "ix_raw_table_dist_branch", "ix_raw_table_quality_branch");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private CollegeRepository repo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Tests that startup applied every migration to the empty database, and that Hibernate's
+     * schema validation and the snapshot queries work against the migrated schema.
+     */
+    @Test
+    public void testStartupMigratesEmptyDatabase() {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertEquals(List.of("1", "1.1", "2", "3", "4"), Arrays.stream(applied)
+                .map(migration -> migration.getVersion().getVersion()).toList());
+        assertEquals(0, flyway.info().pending().length);
+
+        College college = new College();
+        college.setInstcode("JNTU");
+        college.setBranchCode("CSE");
+        college.setOcBoys(1500);
+        repo.saveAndFlush(college);
+        new RawTableImporter(jdbc, new TransactionTemplate(transactionManager),
+                new DatabaseGate(5, Duration.ofSeconds(30), new SimpleMeterRegistry()), 2024).importRawTable();
+
+        College loaded = repo.findAllForSnapshot().get(0);
+        assertEquals("JNTU", loaded.getInstcode());
+        assertEquals(1500, loaded.getOcBoys());
+        DataFingerprint fingerprint = repo.fingerprint();
+        assertEquals(1L, fingerprint.rowCount());
+    }
+
+    /**
+     * Tests the filter indexes, including the unique (instcode, branch_code) key.
+     */
+    @Test
+    public void testFilterIndexesExist() throws SQLException {
+        String url = "jdbc:h2:mem:indexes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        flyway(url).load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+
+            assertTrue(indexes(connection).containsAll(FILTER_INDEXES));
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("insert into raw_table (instcode, branch_code) values ('JNTU', 'CSE')");
+                statement.executeUpdate("insert into raw_table (instcode, branch_code) values ('JNTU', 'ECE')");
+                assertThrows(SQLException.class, () -> statement.executeUpdate(
+                        "insert into raw_table (instcode, branch_code) values ('JNTU', 'CSE')"));
+            }
+        }
+    }
+
+    /**
+     * Tests that a database created before migrations existed is baselined at V1, keeps its
+     * rows, and receives the later migrations.
+     */
+    @Test
+    public void testExistingTableIsBaselined() throws SQLException {
+        String url = "jdbc:h2:mem:legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                createLegacyTable(statement);
+                statement.executeUpdate("insert into raw_table (instcode, branch_code, oc_boys) "
+                        + "values ('AUCE', 'CSE', 2100)");
+            }
+
+            MigrateResult result = flyway(url)
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+
+            assertEquals(4, result.migrationsExecuted);
+            assertEquals("4", result.targetSchemaVersion);
+            assertTrue(indexes(connection).containsAll(FILTER_INDEXES));
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("select instcode, oc_boys from raw_table")) {
+                assertTrue(rows.next());
+                assertEquals("AUCE", rows.getString(1));
+                assertEquals(2100, rows.getInt(2));
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("select i.instcode, o.branch_code, c.cutoff_year, "
+                         + "c.category, c.gender, c.closing_rank from cutoff c "
+                         + "join branch_offering o on o.id = c.offering_id join institution i on i.id = o.institution_id")) {
+                assertTrue(rows.next());
+                assertEquals(List.of("AUCE", "CSE", 2024, "oc", "boys", 2100), List.of(rows.getString(1),
+                        rows.getString(2), rows.getInt(3), rows.getString(4), rows.getString(5), rows.getInt(6)));
+                assertFalse(rows.next());
+            }
+        }
+    }
+
+    /**
+     * Tests that an existing raw_table with values too long for the narrowed columns or with
+     * repeated (instcode, branch_code) pairs stops the migration before V2, naming the rows,
+     * and is left unchanged.
+     */
+    @Test
+    public void testRowsThatCannotBeIndexedAreReported() throws SQLException {
+        String url = "jdbc:h2:mem:unindexable;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                createLegacyTable(statement);
+                statement.executeUpdate("insert into raw_table (instcode, branch_code) values "
+                        + "('AUCE', 'CSE'), ('AUCE', 'ECE'), ('AUCE', 'CSE'), (null, 'CSE'), (null, 'CSE')");
+                statement.executeUpdate("insert into raw_table (instcode, branch_code, dist) values "
+                        + "('JNTA', 'CSE', '" + "D".repeat(65) + "')");
+            }
+
+            // Flyway wraps the failure of a Java migration
+            Throwable failure = NestedExceptionUtils.getMostSpecificCause(assertThrows(FlywayException.class,
+                    () -> flyway(url).baselineOnMigrate(true).baselineVersion("1").load().migrate()));
+
+            assertTrue(failure.getMessage().contains("sno 6: dist '" + "D".repeat(65)
+                    + "' is longer than 64 characters"), failure.getMessage());
+            assertTrue(failure.getMessage().contains("sno 1, 3: duplicate instcode 'AUCE', branch_code 'CSE'"),
+                    failure.getMessage());
+            assertTrue(failure.getMessage().contains("2 problem(s)"), failure.getMessage());
+            assertFalse(indexes(connection).contains("ux_raw_table_instcode_branch"));
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("select count(*) from raw_table")) {
+                assertTrue(rows.next());
+                assertEquals(6, rows.getInt(1));
+            }
+        }
+    }
+
+    /**
+     * Helper method to create raw_table as it existed before migrations.
+     */
+    private void createLegacyTable(Statement statement) throws SQLException {
+        statement.executeUpdate("create table raw_table (sno int auto_increment primary key, "
+                + "instcode varchar(255), institution_name varchar(255), division varchar(255), "
+                + "region varchar(255), dist varchar(255), place varchar(255), affl varchar(255), "
+                + "branch_code varchar(255), tier varchar(255), highest_package double, "
+                + "average_package double, placement_drive_quality varchar(255), "
+                + "oc_boys int, oc_girls int, sc_boys int, sc_girls int, st_boys int, st_girls int, "
+                + "bca_boys int, bca_girls int, bcb_boys int, bcb_girls int, bcc_boys int, bcc_girls int, "
+                + "bcd_boys int, bcd_girls int, bce_boys int, bce_girls int, "
+                + "oc_ews_boys int, oc_ews_girls int)");
+    }
+
+    /**
+     * Helper method to configure Flyway for a database, with the placeholders set by the application.
+     */
+    private FluentConfiguration flyway(String url) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .placeholders(Map.of("raw_table_year", "2024"));
+    }
+
+    /**
+     * Helper method to list the index names of raw_table.
+     */
+    private Set<String> indexes(Connection connection) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (ResultSet info = connection.getMetaData().getIndexInfo(null, null, "raw_table", false, false)) {
+            while (info.next()) {
+                names.add(info.getString("INDEX_NAME").toLowerCase());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,141 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.data.CollegeSnapshot;
+import com.Eamcet.predictor.data.CutoffHistory;
+import com.Eamcet.predictor.data.CutoffPoint;
+import com.Eamcet.predictor.data.SnapshotFile;
+import com.Eamcet.predictor.model.College;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the on-disk copy of the college snapshot.
+ * These tests verify that a persisted snapshot reads back identically, that startup serves it
+ * while the database is down, and that damaged files are ignored.
+ */
+public class SnapshotFileTest {
+
+    /**
+     * Directory holding the snapshot file of each test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that the rows, version and load time survive a write and read, including nulls.
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        SnapshotFile file = new SnapshotFile(directory.resolve("snapshot.bin").toString());
+        CollegeSnapshot written = new CollegeSnapshot(colleges(), 7, Instant.ofEpochMilli(1_700_000_000_123L));
+        file.write(written);
+
+        CollegeSnapshot read = file.read().orElseThrow();
+        assertEquals(written.getContentHash(), read.getContentHash());
+        assertEquals(7, read.getVersion());
+        assertEquals(written.getLoadedAt(), read.getLoadedAt());
+        assertEquals(written.getColleges(), read.getColleges());
+        assertNull(read.college(1).getOcBoys());
+        assertNull(read.college(1).getAveragePackage());
+        assertEquals("Sri Venkateswara — ఇంజనీరింగ్", read.college(0).getInstitution_name());
+    }
+
+    /**
+     * Tests that the cutoffs of earlier years survive a write and read, and with them the trends.
+     */
+    @Test
+    public void testRoundTripWithHistory() throws Exception {
+        SnapshotFile file = new SnapshotFile(directory.resolve("snapshot.bin").toString());
+        CutoffHistory history = new CutoffHistory(2024, List.of(
+                new CutoffPoint(1, 2022, "oc", "boys", 10000),
+                new CutoffPoint(1, 2023, "oc", "boys", 11000),
+                new CutoffPoint(2, 2023, "sc", "girls", 80000)));
+        CollegeSnapshot written = new CollegeSnapshot(colleges(), history, 3, Instant.now());
+        file.write(written);
+
+        CollegeSnapshot read = file.read().orElseThrow();
+        assertEquals(written.getContentHash(), read.getContentHash());
+        assertEquals(history, read.getHistory());
+        assertNotEquals(new CollegeSnapshot(colleges(), 3, Instant.now()).getContentHash(), read.getContentHash());
+        int column = CollegeSnapshot.cutoffColumn("oc_boys");
+        assertEquals(written.getTrends().projected(column, 0), read.getTrends().projected(column, 0));
+        assertEquals(written.getTrends().volatility(column, 0), read.getTrends().volatility(column, 0));
+    }
+
+    /**
+     * Tests that a store starting while the database is down serves the persisted snapshot,
+     * and picks up the database once it is back.
+     */
+    @Test
+    public void testServesPersistedSnapshotWhileDatabaseIsDown() throws Exception {
+        String location = directory.resolve("snapshot.bin").toString();
+        CollegeSnapshot persisted = new CollegeDataFixture(colleges()).store(new SnapshotFile(location)).snapshot();
+        assertTrue(Files.exists(Path.of(location)));
+
+        CollegeDataFixture down = new CollegeDataFixture().failWith(new IllegalStateException("database down"));
+        CollegeDataStore restarted = down.store(new SnapshotFile(location));
+        CollegeSnapshot served = restarted.snapshot();
+        assertEquals(persisted.getContentHash(), served.getContentHash());
+        assertEquals(persisted.getVersion(), served.getVersion());
+
+        // The failed background reconciliation and refreshes keep the persisted snapshot
+        assertTrue(down.awaitLoads(1, Duration.ofSeconds(5)));
+        assertThrows(IllegalStateException.class, restarted::refresh);
+        assertSame(served, restarted.snapshot());
+
+        College added = new College();
+        added.setInstcode("NEW");
+        down.recover().colleges(List.of(added));
+        assertEquals(1, restarted.refresh().size());
+        assertEquals(persisted.getVersion() + 1, restarted.snapshot().getVersion());
+    }
+
+    /**
+     * Tests that a file with a damaged payload is ignored.
+     */
+    @Test
+    public void testCorruptedFileIgnored() throws Exception {
+        Path path = directory.resolve("snapshot.bin");
+        SnapshotFile file = new SnapshotFile(path.toString());
+        file.write(new CollegeSnapshot(colleges(), 1, Instant.now()));
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 3] ^= 0x55;
+        Files.write(path, bytes);
+        assertTrue(file.read().isEmpty());
+
+        Files.write(path, new byte[] {1, 2, 3});
+        assertTrue(file.read().isEmpty());
+        assertTrue(new SnapshotFile(directory.resolve("missing.bin").toString()).read().isEmpty());
+    }
+
+    /**
+     * Helper method to create colleges with a mix of present and missing values.
+     */
+    private List<College> colleges() {
+        College full = new College();
+        full.setSno(1);
+        full.setInstcode("SVEC");
+        full.setInstitution_name("Sri Venkateswara — ఇంజనీరింగ్");
+        full.setBranchCode("CSE");
+        full.setDistrict("Tirupati");
+        full.setOcBoys(12000);
+        full.setOcEwsGirls(34000);
+        full.setAveragePackage(4.5);
+        full.setHighestPackage(12.0);
+        College sparse = new College();
+        sparse.setSno(2);
+        sparse.setInstcode("SPRS");
+        sparse.setScGirls(90000);
+        return List.of(full, sparse);
+    }
+}
@@ -0,0 +1,61 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.util.TopK;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bounded top-K selection utility.
+ * These tests verify that TopK returns the same ids, in the same order, as a stable
+ * sort of all candidates followed by a limit.
+ */
+public class TopKTest {
+
+    /**
+     * Tests selection against sort-then-limit on random keys with many ties.
+     */
+    @Test
+    public void testMatchesStableSortAndLimit() {
+        Random random = new Random(7);
+        List<double[]> candidates = new ArrayList<>();
+        TopK top = new TopK(25);
+        for (int id = 0; id < 1000; id++) {
+            double primary = random.nextInt(20);
+            double secondary = random.nextInt(5);
+            candidates.add(new double[] {id, primary, secondary});
+            top.offer(id, primary, secondary);
+        }
+
+        List<Integer> expected = candidates.stream()
+                .sorted(Comparator.<double[]>comparingDouble(c -> -c[1]).thenComparingDouble(c -> -c[2]))
+                .limit(25)
+                .map(c -> (int) c[0])
+                .collect(Collectors.toList());
+
+        int[] actual = top.drain();
+        assertEquals(expected.size(), actual.length);
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals(expected.get(i), actual[i], "id at " + i);
+        }
+        assertEquals(0, top.size());
+    }
+
+    /**
+     * Tests that fewer candidates than the capacity are all returned in order.
+     */
+    @Test
+    public void testFewerCandidatesThanCapacity() {
+        TopK top = new TopK(10);
+        top.offer(0, 1.5);
+        top.offer(1, 3.0);
+        top.offer(2, 1.5);
+        assertArrayEquals(new int[] {1, 0, 2}, top.drain());
+    }
+}
@@ -0,0 +1,89 @@
+package com.Eamcet.predictor;
+
+import com.Eamcet.predictor.data.CollegeDataHealthIndicator;
+import com.Eamcet.predictor.data.CollegeDataStore;
+import com.Eamcet.predictor.model.College;
+import com.Eamcet.predictor.service.CollegePredictorService;
+import com.Eamcet.predictor.service.WarmUpRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the startup warm-up and the college data readiness indicator.
+ * These tests verify that the warm-up loads the data, opens a database connection and runs
+ * the configured number of predictions, and that readiness reflects whether data is loaded.
+ */
+public class WarmUpTest {
+
+    /**
+     * Tests that the warm-up loads the data and runs predictions, flipping the indicator to UP.
+     */
+    @Test
+    public void testWarmUpRunsPredictionsAndLoadsData() throws Exception {
+        List<College> colleges = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            College college = new College();
+            college.setInstcode("C" + i);
+            college.setBranchCode(i % 2 == 0 ? "CSE" : "ECE");
+            college.setOcBoys(1000 + 500 * i);
+            college.setScGirls(5000 + 900 * i);
+            colleges.add(college);
+        }
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CollegeDataStore store = new CollegeDataFixture(colleges).store(registry);
+        CollegePredictorService service = new CollegePredictorService(store, registry);
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        CollegeDataHealthIndicator indicator = new CollegeDataHealthIndicator(store);
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+        new WarmUpRunner(store, service, new ObjectMapper(), dataSource, mock(ApplicationContext.class),
+                true, 50, 3, Duration.ofSeconds(30))
+            .run(new DefaultApplicationArguments());
+
+        assertEquals(50, registry.get("predictor.find.stage").tag("stage", "filter").timer().count());
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertEquals(40, indicator.health().getDetails().get("rows"));
+        verify(connection, timeout(5000)).close();
+    }
+
+    /**
+     * Tests that a disabled warm-up does nothing, and that an unavailable database does not fail it.
+     */
+    @Test
+    public void testDisabledOrFailingWarmUpDoesNotThrow() throws Exception {
+        CollegeDataFixture data = new CollegeDataFixture().failWith(new IllegalStateException("database down"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CollegeDataStore store = data.store(registry);
+        CollegePredictorService service = new CollegePredictorService(store, registry);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("database down"));
+
+        new WarmUpRunner(store, service, new ObjectMapper(), dataSource, mock(ApplicationContext.class),
+                false, 50, 3, Duration.ofSeconds(30))
+            .run(new DefaultApplicationArguments());
+        assertEquals(0, data.loads());
+
+        new WarmUpRunner(store, service, new ObjectMapper(), dataSource, mock(ApplicationContext.class),
+                true, 50, 3, Duration.ofSeconds(30))
+            .run(new DefaultApplicationArguments());
+        assertNull(store.currentSnapshot());
+        assertEquals(Status.OUT_OF_SERVICE, new CollegeDataHealthIndicator(store).health().getStatus());
+    }
+}
@@ -57,7 +57,7 @@ document.addEventListener("DOMContentLoaded", function () {
             }
         }
         
-        fetch(`https://theeamcetcollegeprediction-2.onrender.com/api/analytics/summary?_=${new Date().getTime()}`)
+        fetch(`https://theeamcetcollegeprediction-2.onrender.com/api/analytics/summary`, { cache: 'no-cache' })
             .then(res => res.json())
             .then(data => {
                 try {
@@ -106,7 +106,7 @@ document.addEventListener("DOMContentLoaded", async function () {
                 }
             }
 
-            const response = await fetch(`https://theeamcetcollegeprediction-2.onrender.com/api/analytics/branches?_=${new Date().getTime()}`);
+            const response = await fetch(`https://theeamcetcollegeprediction-2.onrender.com/api/analytics/branches`, { cache: 'no-cache' });
             if (!response.ok) {
                 throw new Error(`Failed to load branches: ${response.status}`);
             }
@@ -203,7 +203,7 @@ document.addEventListener("DOMContentLoaded", function () {
     });
 
     function loadBranches(instcode) {
-        fetch(`https://theeamcetcollegeprediction-2.onrender.com/api/colleges/${instcode}/branches?_=${new Date().getTime()}`)
+        fetch(`https://theeamcetcollegeprediction-2.onrender.com/api/colleges/${instcode}/branches`, { cache: 'no-cache' })
             .then(res => res.json())
             .then(branches => {
                 branchSelect.innerHTML = '<option value="">Select Branch</option>' +